@@ -0,0 +1,33 @@
+package com.resumescreener.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Connect and read timeouts for the blocking HTTP client Spring AI builds its chat calls on.
+ *
+ * {@link com.resumescreener.service.ParallelMatchingService} gives up on a call after
+ * {@code matching.call-timeout-seconds} by interrupting its worker, but an interrupt does
+ * not abort a blocking socket read. Without these timeouts the abandoned request would
+ * keep its connection, and its place in the provider's concurrency limit, until the
+ * provider answered. Streamed calls read from a queue that the interrupt does wake, and
+ * closing the stream cancels the request.
+ */
+@Configuration
+public class LlmHttpClientConfig {
+
+    @Bean
+    public RestClientCustomizer llmCallTimeouts(@Value("${matching.call-timeout-seconds:60}") long callTimeoutSeconds) {
+        Duration timeout = Duration.ofSeconds(callTimeoutSeconds);
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.DEFAULTS
+                .withConnectTimeout(timeout)
+                .withReadTimeout(timeout);
+        return builder -> builder.requestFactory(ClientHttpRequestFactories.get(settings));
+    }
+}
@@ -1,38 +1,113 @@
 package com.resumescreener.controller;
 
 import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.MatchRun;
 import com.resumescreener.model.Resume;
 import com.resumescreener.repository.ResumeRepository;
+import com.resumescreener.service.BulkUploadReport;
+import com.resumescreener.service.BulkUploadService;
+import com.resumescreener.service.CandidateSelection;
+import com.resumescreener.service.CandidateSelectionService;
+import com.resumescreener.service.DuplicateDetectionService;
+import com.resumescreener.service.EmbeddingService;
 import com.resumescreener.service.LLMMatchingService;
+import com.resumescreener.service.MatchCacheService;
+import com.resumescreener.service.MatchJob;
+import com.resumescreener.service.MatchJobService;
+import com.resumescreener.service.MatchRanker;
+import com.resumescreener.service.MatchRunService;
 import com.resumescreener.service.PDFParserService;
+import com.resumescreener.service.ParseCacheService;
+import com.resumescreener.service.RateLimitedChatClient;
+import com.resumescreener.service.ResumeListingService;
+import com.resumescreener.service.ResumePage;
+import com.resumescreener.service.ResumeReextractionService;
+import com.resumescreener.service.ScoringService;
+import com.resumescreener.service.SkillIndexService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Controller
 public class ResumeController {
     
+    private static final Logger log = LoggerFactory.getLogger(ResumeController.class);
+    
     @Autowired
     private PDFParserService pdfParserService;
     
     @Autowired
     private LLMMatchingService llmMatchingService;
     
+    @Autowired
+    private RateLimitedChatClient rateLimitedChatClient;
+    
+    @Autowired
+    private ScoringService scoringService;
+    
+    @Autowired
+    private MatchCacheService matchCacheService;
+    
+    @Autowired
+    private MatchJobService matchJobService;
+    
+    @Autowired
+    private MatchRunService matchRunService;
+    
+    @Autowired
+    private CandidateSelectionService candidateSelectionService;
+    
+    @Autowired
+    private EmbeddingService embeddingService;
+    
+    @Autowired
+    private SkillIndexService skillIndexService;
+    
+    @Autowired
+    private BulkUploadService bulkUploadService;
+    
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+    
+    @Autowired
+    private ResumeListingService resumeListingService;
+    
+    @Autowired
+    private ParseCacheService parseCacheService;
+    
+    @Autowired
+    private ResumeReextractionService resumeReextractionService;
+    
     @Autowired
     private ResumeRepository resumeRepository;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${upload.max-pdf-size:10MB}")
+    private DataSize maxPdfSize;
+    
     @GetMapping("/")
     public String home(Model model) {
-        List<Resume> resumes = resumeRepository.findAll();
-        model.addAttribute("resumeCount", resumes.size());
+        model.addAttribute("resumeCount", resumeRepository.count());
         return "index";
     }
     
@@ -55,13 +130,63 @@ public class ResumeController {
                 return ResponseEntity.badRequest().body(response);
             }
             
+            if (file.getSize() > maxPdfSize.toBytes()) {
+                response.put("success", false);
+                response.put("error", "File exceeds the maximum PDF size of " + maxPdfSize.toMegabytes() + "MB");
+                return ResponseEntity.badRequest().body(response);
+            }
+            
             Resume resume = pdfParserService.parseResume(file);
-            resume = resumeRepository.save(resume);
+            duplicateDetectionService.fingerprint(resume);
+            
+            String contentHash = resume.getContentHash();
+            // Claimed before the save, so a concurrent upload of the same file cannot also pass
+            boolean reserved = duplicateDetectionService.reserve(contentHash);
+            if (!reserved) {
+                Long duplicateOf = duplicateDetectionService.exactDuplicateOf(contentHash);
+                if (duplicateOf == null) {
+                    response.put("success", false);
+                    response.put("error", "The same resume is being uploaded by another request");
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+                }
+                Optional<Resume> existing = resumeRepository.findById(duplicateOf);
+                if (existing.isPresent() && duplicateDetectionService.isMergeExactDuplicates()) {
+                    response.put("success", true);
+                    response.put("message", "Resume was already uploaded");
+                    response.put("resumeId", duplicateOf);
+                    response.put("candidateName", existing.get().getCandidateName());
+                    response.put("duplicateOf", duplicateOf);
+                    response.put("data", existing.get());
+                    return ResponseEntity.ok(response);
+                }
+                if (existing.isPresent()) {
+                    response.put("success", false);
+                    response.put("error", "Duplicate of already uploaded resume " + duplicateOf
+                            + " (" + existing.get().getCandidateName() + ")");
+                    response.put("duplicateOf", duplicateOf);
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+                }
+            }
+            
+            try {
+                duplicateDetectionService.assignGroup(resume);
+                resume.setEmbedding(embeddingService.encode(embeddingService.embedResume(resume)));
+                Resume unsaved = resume;
+                resume = meterRegistry.timer("resume.db.save", "entity", "resume", "mode", "single")
+                        .record(() -> resumeRepository.save(unsaved));
+                skillIndexService.add(resume);
+                duplicateDetectionService.add(resume);
+            } finally {
+                if (reserved) {
+                    duplicateDetectionService.release(contentHash);
+                }
+            }
             
             response.put("success", true);
             response.put("message", "Resume uploaded successfully");
             response.put("resumeId", resume.getId());
             response.put("candidateName", resume.getCandidateName());
+            response.put("duplicateGroupId", resume.getDuplicateGroupId());
             response.put("data", resume);
             
             return ResponseEntity.ok(response);
@@ -73,79 +198,111 @@ public class ResumeController {
         } catch (Exception e) {
             response.put("success", false);
             response.put("error", "Unexpected error: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Resume upload failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
     
-    @PostMapping("/api/match")
+    @PostMapping("/api/upload/bulk")
     @ResponseBody
-    public ResponseEntity<?> matchResumes(@RequestBody MatchRequest request) {
+    public ResponseEntity<?> uploadResumes(@RequestParam("files") List<MultipartFile> files) {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            // Validate input
-            if (request.getJobDescription() == null || request.getJobDescription().trim().isEmpty()) {
+            if (files.isEmpty()) {
                 response.put("success", false);
-                response.put("error", "Job description is required");
+                response.put("error", "Please select files to upload");
                 return ResponseEntity.badRequest().body(response);
             }
             
-            List<Resume> resumes = resumeRepository.findAll();
+            BulkUploadReport report = bulkUploadService.upload(files);
+            
+            response.put("success", report.getSucceeded() > 0 || report.getTotal() == 0);
+            response.put("total", report.getTotal());
+            response.put("succeeded", report.getSucceeded());
+            response.put("failed", report.getFailed());
+            response.put("elapsedMillis", report.getElapsedMillis());
+            response.put("filesPerSecond", report.getFilesPerSecond());
+            response.put("files", report.getFiles());
+            
+            return ResponseEntity.ok(response);
             
-            if (resumes.isEmpty()) {
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.put("success", false);
+            response.put("error", "Upload interrupted");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("error", "Unexpected error: " + e.getMessage());
+            log.error("Bulk upload failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    @PostMapping("/api/match")
+    @ResponseBody
+    public ResponseEntity<?> matchResumes(@RequestBody MatchRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            String validationError = validateMatchRequest(request);
+            if (validationError != null) {
                 response.put("success", false);
-                response.put("error", "No resumes found. Please upload resumes first.");
+                response.put("error", validationError);
                 return ResponseEntity.badRequest().body(response);
             }
             
-            List<MatchResult> results = new ArrayList<>();
-            
-            // Process each resume
-            for (Resume resume : resumes) {
-                try {
-                    MatchResult matchResult = llmMatchingService.matchResumeWithJob(
-                            resume, 
-                            request.getJobDescription()
-                    );
-                    results.add(matchResult);
-                } catch (Exception e) {
-                    System.err.println("Error matching resume " + resume.getId() + ": " + e.getMessage());
-                    e.printStackTrace();
-                    
-                    // Add a fallback result
-                    MatchResult fallbackResult = new MatchResult();
-                    fallbackResult.setResumeId(resume.getId());
-                    fallbackResult.setCandidateName(resume.getCandidateName());
-                    fallbackResult.setMatchScore(0.0);
-                    fallbackResult.setJustification("Error during matching: " + e.getMessage());
-                    fallbackResult.setSkills(resume.getSkills());
-                    fallbackResult.setExperience(resume.getExperience());
-                    fallbackResult.setEducation(resume.getEducation());
-                    fallbackResult.setEmail(resume.getEmail());
-                    fallbackResult.setPhone(resume.getPhone());
-                    results.add(fallbackResult);
-                }
+            if (resumeRepository.count() == 0) {
+                response.put("success", false);
+                response.put("error", "No resumes found. Please upload resumes first.");
+                return ResponseEntity.badRequest().body(response);
             }
             
-            // Sort by match score descending
-            results.sort(Comparator.comparing(MatchResult::getMatchScore).reversed());
+            CandidateSelection selection = candidateSelectionService.select(
+                    request.getJobDescription(), request.getFilter(), request.getTopK());
+            String engine = scoringService.engine(request.getEngine()).getName();
+            MatchRun run = matchRunService.newRun(request.getJobDescription(), engine, thresholdOf(request),
+                    request.getFilter(), request.getTopK(), selection);
             
-            // Filter by threshold
-            double threshold = request.getThreshold() != null ? request.getThreshold() : 6.0;
-            List<MatchResult> shortlisted = results.stream()
-                    .filter(r -> r.getMatchScore() >= threshold)
-                    .collect(Collectors.toList());
+            // Results are ranked and stored as they arrive: best first and filtered by threshold,
+            // keeping only the requested page, and saved in chunks
+            MatchRanker.Accumulator ranker = new MatchRanker.Accumulator(thresholdOf(request),
+                    offsetOf(request.getOffset()), limitOf(request.getLimit()));
+            MatchJobService.RunWriter writer = matchJobService.writer(run, selection);
+            scoringService.scoreAll(engine, selection.getCandidates(), request.getJobDescription(),
+                    thresholdOf(request), ranker.andThen(writer));
+            boolean stored = writer.close();
+            MatchRanker.Ranking ranking = ranker.ranking();
             
             response.put("success", true);
-            response.put("totalCandidates", results.size());
-            response.put("shortlistedCount", shortlisted.size());
-            response.put("results", shortlisted);
+            if (stored) {
+                response.put("runId", run.getId());
+            }
+            response.put("engine", engine);
+            response.put("totalCandidates", selection.getPoolSize());
+            response.put("scoredCandidates", ranking.getScoredCount());
+            response.put("shortlistedCount", ranking.getShortlistedCount());
+            response.put("rejectedCount", ranking.getRejectedCount());
+            response.put("timedOutCount", ranking.getTimedOutCount());
+            response.put("failedCount", ranking.getFailedCount());
+            response.put("cachedCount", ranking.getCachedCount());
+            response.put("removedByStage", selection.withThresholdStage(ranking.getRejectedCount()));
+            response.put("offset", offsetOf(request.getOffset()));
+            response.put("limit", request.getLimit());
+            response.put("results", ranking.getResults());
+            // Resumes that ran out of time or failed have no score and are reported separately, by id
+            response.put("timedOut", ranking.getTimedOutIds());
+            response.put("failed", ranking.getFailedIds());
             
             return ResponseEntity.ok(response);
             
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("error", "Invalid filter: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Matching resumes failed", e);
             response.put("success", false);
             response.put("error", "Error matching resumes: " + e.getMessage());
             response.put("details", e.getClass().getName());
@@ -153,12 +310,221 @@ public class ResumeController {
         }
     }
     
+    @PostMapping("/api/match/jobs")
+    @ResponseBody
+    public ResponseEntity<?> submitMatchJob(@RequestBody MatchRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        
+        String validationError = validateMatchRequest(request);
+        if (validationError != null) {
+            response.put("success", false);
+            response.put("error", validationError);
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        if (resumeRepository.count() == 0) {
+            response.put("success", false);
+            response.put("error", "No resumes found. Please upload resumes first.");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        CandidateSelection selection;
+        try {
+            selection = candidateSelectionService.select(
+                    request.getJobDescription(), request.getFilter(), request.getTopK());
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("error", "Invalid filter: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        MatchRun run = matchRunService.newRun(request.getJobDescription(),
+                scoringService.engine(request.getEngine()).getName(), thresholdOf(request),
+                request.getFilter(), request.getTopK(), selection);
+        MatchJob job = matchJobService.submit(run, selection);
+        response.put("success", true);
+        response.put("jobId", job.getId());
+        response.put("runId", job.getRunId());
+        response.put("engine", job.getEngine());
+        response.put("total", job.getTotal());
+        response.put("totalCandidates", selection.getPoolSize());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+    
+    @GetMapping("/api/match/jobs/{jobId}")
+    @ResponseBody
+    public ResponseEntity<?> getMatchJob(@PathVariable String jobId,
+                                         @RequestParam(required = false) Integer offset,
+                                         @RequestParam(required = false) Integer limit) {
+        String pagingError = validatePaging(offset, limit);
+        if (pagingError != null) {
+            return badRequest(pagingError);
+        }
+        MatchJob job = matchJobService.getJob(jobId);
+        if (job == null) {
+            // Evicted or from before a restart: answer from the saved run it created
+            MatchRun run = matchRunService.getRun(jobId);
+            if (run == null) {
+                return jobNotFound(jobId);
+            }
+            Map<String, Object> response = runResponse(run, run.getThreshold(), offset, limit);
+            response.put("jobId", jobId);
+            response.put("status", MatchJob.Status.COMPLETED);
+            response.put("stored", true);
+            return ResponseEntity.ok(response);
+        }
+        
+        Map<String, Object> response = new HashMap<>(matchJobService.summary(job));
+        response.put("success", true);
+        response.put("offset", offsetOf(offset));
+        response.put("limit", limit);
+        response.put("results", MatchRanker.rank(job.getResults(), job.getThreshold(),
+                offsetOf(offset), limitOf(limit)).getResults());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping(value = "/api/match/jobs/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMatchJob(@PathVariable String jobId) {
+        MatchJob job = matchJobService.getJob(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Match job not found: " + jobId);
+        }
+        return matchJobService.subscribe(job);
+    }
+    
+    @DeleteMapping("/api/match/jobs/{jobId}")
+    @ResponseBody
+    public ResponseEntity<?> cancelMatchJob(@PathVariable String jobId) {
+        MatchJob job = matchJobService.getJob(jobId);
+        if (job == null) {
+            return jobNotFound(jobId);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        boolean cancelled = matchJobService.cancel(jobId);
+        response.put("success", cancelled);
+        response.put("status", job.getStatus());
+        if (!cancelled) {
+            response.put("error", "Job has already finished");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+        response.put("message", "Job cancelled");
+        return ResponseEntity.ok(response);
+    }
+    
+    // Re-filters the stored ranking at any threshold (default: the run's own) without LLM calls.
+    // Candidates below the threshold the run was scored with may carry a shortened justification.
+    @GetMapping("/api/match/runs/{runId}")
+    @ResponseBody
+    public ResponseEntity<?> getMatchRun(@PathVariable String runId,
+                                         @RequestParam(required = false) Double threshold,
+                                         @RequestParam(required = false) Integer offset,
+                                         @RequestParam(required = false) Integer limit) {
+        String pagingError = validatePaging(offset, limit);
+        if (pagingError != null) {
+            return badRequest(pagingError);
+        }
+        MatchRun run = matchRunService.getRun(runId);
+        if (run == null) {
+            return runNotFound(runId);
+        }
+        return ResponseEntity.ok(runResponse(run, threshold != null ? threshold : run.getThreshold(), offset, limit));
+    }
+    
+    // Scores only resumes added or re-parsed since the run (and any that timed out) with the
+    // run's job description and parameters, and merges them into its ranking
+    @PostMapping("/api/match/runs/{runId}/delta")
+    @ResponseBody
+    public ResponseEntity<?> deltaMatchRun(@PathVariable String runId) {
+        MatchRun run = matchRunService.getRun(runId);
+        if (run == null) {
+            return runNotFound(runId);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        if (!scoringService.hasEngine(run.getEngine())) {
+            response.put("success", false);
+            response.put("error", "Scoring engine '" + run.getEngine() + "' of this run is no longer available");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        CandidateSelection selection;
+        try {
+            selection = matchRunService.selectChanged(run);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("error", "Invalid filter: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        response.put("success", true);
+        response.put("runId", runId);
+        response.put("removedByStage", selection.getRemovedByStage());
+        if (selection.getCandidates().isEmpty()) {
+            response.put("total", 0);
+            response.put("message", "No new or changed resumes to score");
+            return ResponseEntity.ok(response);
+        }
+        
+        MatchJob job = matchJobService.submitDelta(run, selection);
+        response.put("jobId", job.getId());
+        response.put("engine", job.getEngine());
+        response.put("total", job.getTotal());
+        response.put("totalCandidates", selection.getPoolSize());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+    
+    @GetMapping("/api/match/stats")
+    @ResponseBody
+    public ResponseEntity<?> getMatchStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("batching", llmMatchingService.getBatchStats());
+        stats.put("streaming", llmMatchingService.getStreamingStats());
+        stats.put("prompt", llmMatchingService.getPromptStats());
+        stats.put("parsing", llmMatchingService.getParseStats());
+        stats.put("provider", rateLimitedChatClient.getStats());
+        return ResponseEntity.ok(stats);
+    }
+    
+    @GetMapping("/api/match/cache")
+    @ResponseBody
+    public ResponseEntity<?> getMatchCacheStats() {
+        return ResponseEntity.ok(matchCacheService.getStats());
+    }
+    
+    @DeleteMapping("/api/match/cache")
+    @ResponseBody
+    public ResponseEntity<?> clearMatchCache() {
+        Map<String, Object> response = new HashMap<>();
+        matchCacheService.clear();
+        response.put("success", true);
+        response.put("message", "Match cache cleared");
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/api/resumes")
     @ResponseBody
-    public ResponseEntity<?> getAllResumes() {
+    public ResponseEntity<?> getAllResumes(@RequestParam(value = "sort", required = false) String sort,
+                                           @RequestParam(value = "cursor", required = false) String cursor,
+                                           @RequestParam(value = "size", defaultValue = "" + ResumeListingService.DEFAULT_PAGE_SIZE) int size,
+                                           @RequestParam(value = "name", required = false) String name,
+                                           @RequestParam(value = "skill", required = false) String skill,
+                                           @RequestParam(value = "uploadedFrom", required = false) String uploadedFrom,
+                                           @RequestParam(value = "uploadedTo", required = false) String uploadedTo) {
         try {
-            List<Resume> resumes = resumeRepository.findAll();
-            return ResponseEntity.ok(resumes);
+            ResumePage page = resumeListingService.list(ResumeListingService.parseSort(sort), cursor, size,
+                    name, skill, parseTime(uploadedFrom, "uploadedFrom"), parseTime(uploadedTo, "uploadedTo"));
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("success", true);
+            response.put("resumes", page.getResumes());
+            response.put("nextCursor", page.getNextCursor());
+            if (page.getTotal() != null) {
+                response.put("total", page.getTotal());
+            }
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -167,12 +533,33 @@ public class ResumeController {
         }
     }
     
+    @GetMapping("/api/resumes/search")
+    @ResponseBody
+    public ResponseEntity<?> searchResumes(@RequestParam("q") String query) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            long[] ids = skillIndexService.query(query);
+            response.put("success", true);
+            response.put("query", query);
+            response.put("count", ids.length);
+            response.put("ids", ids);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("error", "Invalid query: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
     @DeleteMapping("/api/resumes/{id}")
     @ResponseBody
     public ResponseEntity<?> deleteResume(@PathVariable Long id) {
         Map<String, Object> response = new HashMap<>();
         try {
             resumeRepository.deleteById(id);
+            skillIndexService.remove(id);
+            duplicateDetectionService.remove(id);
+            matchRunService.forget(id);
             response.put("success", true);
             response.put("message", "Resume deleted successfully");
             return ResponseEntity.ok(response);
@@ -189,6 +576,9 @@ public class ResumeController {
         Map<String, Object> response = new HashMap<>();
         try {
             resumeRepository.deleteAll();
+            skillIndexService.clear();
+            duplicateDetectionService.clear();
+            matchRunService.forgetAll();
             response.put("success", true);
             response.put("message", "All resumes deleted successfully");
             return ResponseEntity.ok(response);
@@ -199,10 +589,134 @@ public class ResumeController {
         }
     }
     
+    // Runs the current field extractors over every stored resume's text (no PDFs needed);
+    // resumes whose fields change are re-scored by the next delta match of each run
+    @PostMapping("/api/resumes/reextract")
+    @ResponseBody
+    public ResponseEntity<?> reextractResumes() {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.putAll(resumeReextractionService.reextractAll());
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Re-extracting resumes failed", e);
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    @GetMapping("/api/resumes/parse-cache")
+    @ResponseBody
+    public ResponseEntity<?> getParseCacheStats() {
+        return ResponseEntity.ok(parseCacheService.getStats());
+    }
+    
+    // Accepts an ISO date (start of that day) or date-time
+    private static LocalDateTime parseTime(String value, String parameter) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return value.length() <= 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(parameter + " must be an ISO date or date-time, e.g. 2024-05-01");
+        }
+    }
+    
+    private String validateMatchRequest(MatchRequest request) {
+        if (request.getJobDescription() == null || request.getJobDescription().trim().isEmpty()) {
+            return "Job description is required";
+        }
+        if (!scoringService.hasEngine(request.getEngine())) {
+            return "Unknown scoring engine '" + request.getEngine() + "', expected one of "
+                    + scoringService.getEngineNames();
+        }
+        return validatePaging(request.getOffset(), request.getLimit());
+    }
+    
+    private String validatePaging(Integer offset, Integer limit) {
+        if (offset != null && offset < 0) {
+            return "offset must not be negative";
+        }
+        if (limit != null && limit < 0) {
+            return "limit must not be negative";
+        }
+        return null;
+    }
+    
+    private double thresholdOf(MatchRequest request) {
+        return request.getThreshold() != null ? request.getThreshold() : MatchRanker.DEFAULT_THRESHOLD;
+    }
+    
+    private int offsetOf(Integer offset) {
+        return offset != null ? offset : 0;
+    }
+    
+    // No limit returns the whole shortlist from the offset on
+    private int limitOf(Integer limit) {
+        return limit != null ? limit : Integer.MAX_VALUE;
+    }
+    
+    private Map<String, Object> runResponse(MatchRun run, double threshold, Integer offset, Integer limit) {
+        List<MatchResult> results = matchRunService.getResults(run.getId());
+        MatchRanker.Ranking ranking = MatchRanker.rank(results, threshold, offsetOf(offset), limitOf(limit));
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("runId", run.getId());
+        response.put("jobDescriptionHash", run.getJobDescriptionHash());
+        response.put("engine", run.getEngine());
+        response.put("threshold", threshold);
+        response.put("filter", run.getSkillFilter());
+        response.put("topK", run.getTopK());
+        response.put("createdAt", run.getCreatedAt());
+        response.put("updatedAt", run.getUpdatedAt());
+        response.put("totalCandidates", run.getPoolSize());
+        response.put("scoredCandidates", ranking.getScoredCount());
+        response.put("shortlistedCount", ranking.getShortlistedCount());
+        response.put("rejectedCount", ranking.getRejectedCount());
+        response.put("timedOutCount", ranking.getTimedOutCount());
+        response.put("failedCount", ranking.getFailedCount());
+        response.put("offset", offsetOf(offset));
+        response.put("limit", limit);
+        response.put("results", ranking.getResults());
+        response.put("timedOut", ranking.getTimedOutIds());
+        response.put("failed", ranking.getFailedIds());
+        return response;
+    }
+    
+    private ResponseEntity<?> badRequest(String error) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", error);
+        return ResponseEntity.badRequest().body(response);
+    }
+    
+    private ResponseEntity<?> runNotFound(String runId) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", "Match run not found: " + runId);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+    
+    private ResponseEntity<?> jobNotFound(String jobId) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", "Match job not found: " + jobId);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+    
     // Inner class for request body
     public static class MatchRequest {
         private String jobDescription;
         private Double threshold;
+        private Integer topK;
+        private String filter;
+        private String engine;
+        private Integer offset;
+        private Integer limit;
         
         public String getJobDescription() {
             return jobDescription;
@@ -219,5 +733,45 @@ public class ResumeController {
         public void setThreshold(Double threshold) {
             this.threshold = threshold;
         }
+        
+        public Integer getTopK() {
+            return topK;
+        }
+        
+        public void setTopK(Integer topK) {
+            this.topK = topK;
+        }
+        
+        public String getFilter() {
+            return filter;
+        }
+        
+        public void setFilter(String filter) {
+            this.filter = filter;
+        }
+        
+        public String getEngine() {
+            return engine;
+        }
+        
+        public void setEngine(String engine) {
+            this.engine = engine;
+        }
+        
+        public Integer getOffset() {
+            return offset;
+        }
+        
+        public void setOffset(Integer offset) {
+            this.offset = offset;
+        }
+        
+        public Integer getLimit() {
+            return limit;
+        }
+        
+        public void setLimit(Integer limit) {
+            this.limit = limit;
+        }
     }
 }
@@ -1,5 +1,7 @@
 package com.resumescreener.model;
 
+import java.util.List;
+
 public class MatchResult {
     
     private Long resumeId;
@@ -11,6 +13,12 @@ public class MatchResult {
     private String education;
     private String email;
     private String phone;
+    private MatchStatus status = MatchStatus.SCORED;
+    private boolean fromCache;
+    private String engine;
+    private boolean justificationComplete = true;
+    private List<String> skillMatches;
+    private List<String> gaps;
     
     public MatchResult() {
     }
@@ -54,4 +62,26 @@ public class MatchResult {
     
     public String getPhone() { return phone; }
     public void setPhone(String phone) { this.phone = phone; }
+    
+    public MatchStatus getStatus() { return status; }
+    public void setStatus(MatchStatus status) { this.status = status; }
+    
+    public boolean isFromCache() { return fromCache; }
+    public void setFromCache(boolean fromCache) { this.fromCache = fromCache; }
+    
+    /** Name of the scoring engine that produced the score, see ScoringEngine. */
+    public String getEngine() { return engine; }
+    public void setEngine(String engine) { this.engine = engine; }
+    
+    /** False when the LLM was stopped after the score because it fell below the threshold. */
+    public boolean isJustificationComplete() { return justificationComplete; }
+    public void setJustificationComplete(boolean justificationComplete) { this.justificationComplete = justificationComplete; }
+    
+    /** Required skills the LLM found in the resume; null when the response did not list them. */
+    public List<String> getSkillMatches() { return skillMatches; }
+    public void setSkillMatches(List<String> skillMatches) { this.skillMatches = skillMatches; }
+    
+    /** Requirements the LLM found missing; null when the response did not list them. */
+    public List<String> getGaps() { return gaps; }
+    public void setGaps(List<String> gaps) { this.gaps = gaps; }
 }
@@ -0,0 +1,110 @@
+package com.resumescreener.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One match of a job description against the resume pool, with the parameters it ran
+ * with. Its per-resume results are {@link StoredMatchResult}s under the same id (the id
+ * of the match job that created it). A delta match scores resumes added or re-parsed
+ * since and merges them into the same run; changing the threshold only re-filters the
+ * stored results.
+ */
+@Entity
+@Table(name = "match_runs", indexes = @Index(name = "idx_match_runs_job_description_hash", columnList = "jobDescriptionHash"))
+public class MatchRun {
+    
+    @Id
+    @Column(length = 36)
+    private String id;
+    
+    // Same key as the job's JobBrief: SHA-256 of the normalized description
+    @Column(nullable = false, length = 64)
+    private String jobDescriptionHash;
+    
+    @Lob
+    @Column(nullable = false)
+    private String jobDescription;
+    
+    @Column(nullable = false, length = 20)
+    private String engine;
+    
+    @Column(nullable = false)
+    private double threshold;
+    
+    @Column(length = 2000)
+    private String skillFilter;
+    
+    private Integer topK;
+    
+    // Lowest embedding similarity that made the top K, if the pool had to be cut
+    private Double minSimilarity;
+    
+    @Column(nullable = false)
+    private int poolSize;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public MatchRun() {
+    }
+    
+    public MatchRun(String id, String jobDescriptionHash, String jobDescription, String engine, double threshold,
+                    String skillFilter, Integer topK) {
+        this.id = id;
+        this.jobDescriptionHash = jobDescriptionHash;
+        this.jobDescription = jobDescription;
+        this.engine = engine;
+        this.threshold = threshold;
+        this.skillFilter = skillFilter;
+        this.topK = topK;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getJobDescriptionHash() { return jobDescriptionHash; }
+    public void setJobDescriptionHash(String jobDescriptionHash) { this.jobDescriptionHash = jobDescriptionHash; }
+    
+    public String getJobDescription() { return jobDescription; }
+    public void setJobDescription(String jobDescription) { this.jobDescription = jobDescription; }
+    
+    public String getEngine() { return engine; }
+    public void setEngine(String engine) { this.engine = engine; }
+    
+    public double getThreshold() { return threshold; }
+    public void setThreshold(double threshold) { this.threshold = threshold; }
+    
+    public String getSkillFilter() { return skillFilter; }
+    public void setSkillFilter(String skillFilter) { this.skillFilter = skillFilter; }
+    
+    public Integer getTopK() { return topK; }
+    public void setTopK(Integer topK) { this.topK = topK; }
+    
+    public Double getMinSimilarity() { return minSimilarity; }
+    public void setMinSimilarity(Double minSimilarity) { this.minSimilarity = minSimilarity; }
+    
+    public int getPoolSize() { return poolSize; }
+    public void setPoolSize(int poolSize) { this.poolSize = poolSize; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,7 @@
+package com.resumescreener.model;
+
+public enum MatchStatus {
+    SCORED,
+    FAILED,
+    TIMED_OUT
+}
@@ -1,20 +1,32 @@
 package com.resumescreener.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "resumes")
+@Table(name = "resumes", indexes = {
+        @Index(name = "idx_resumes_content_hash", columnList = "contentHash"),
+        @Index(name = "idx_resumes_candidate_name", columnList = "candidateName, id"),
+        @Index(name = "idx_resumes_email", columnList = "email"),
+        @Index(name = "idx_resumes_uploaded_at", columnList = "uploadedAt, id")
+})
 public class Resume {
     
+    // Sequence ids (fetched 50 at a time) let Hibernate batch inserts; IDENTITY forces one
+    // round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resume_seq")
+    @SequenceGenerator(name = "resume_seq", sequenceName = "resumes_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
     private String candidateName;
     
-    @Column(length = 5000)
+    // Only read when indexing or fingerprinting; lazy with Hibernate bytecode enhancement (see pom.xml),
+    // and listing and matching queries select projections without it
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
     private String extractedText;
     
     @Column(length = 2000)
@@ -34,9 +46,38 @@ public class Resume {
     
     private String fileName;
     
+    // Hashed n-gram vector from EmbeddingService, stored as little-endian floats
+    @JsonIgnore
+    @Column(length = 4096)
+    private byte[] embedding;
+    
+    // SHA-256 of the normalized text and MinHash signature, see DuplicateDetectionService
+    @Column(length = 64)
+    private String contentHash;
+    
+    @JsonIgnore
+    @Column(length = 512)
+    private byte[] minHash;
+    
+    // Id of the first resume in this resume's near-duplicate group; null if it has none
+    private Long duplicateGroupId;
+    
     public Resume() {
     }
     
+    // Detached copy carrying only the fields matching reads, see ResumeRepository#findForMatchingByIdIn
+    public Resume(Long id, String candidateName, String skills, String experience, String education,
+                  String email, String phone, String contentHash) {
+        this.id = id;
+        this.candidateName = candidateName;
+        this.skills = skills;
+        this.experience = experience;
+        this.education = education;
+        this.email = email;
+        this.phone = phone;
+        this.contentHash = contentHash;
+    }
+    
     @PrePersist
     protected void onCreate() {
         uploadedAt = LocalDateTime.now();
@@ -72,4 +113,16 @@ public class Resume {
     
     public String getFileName() { return fileName; }
     public void setFileName(String fileName) { this.fileName = fileName; }
+    
+    public byte[] getEmbedding() { return embedding; }
+    public void setEmbedding(byte[] embedding) { this.embedding = embedding; }
+    
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    
+    public byte[] getMinHash() { return minHash; }
+    public void setMinHash(byte[] minHash) { this.minHash = minHash; }
+    
+    public Long getDuplicateGroupId() { return duplicateGroupId; }
+    public void setDuplicateGroupId(Long duplicateGroupId) { this.duplicateGroupId = duplicateGroupId; }
 }
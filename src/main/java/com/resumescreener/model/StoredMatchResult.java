@@ -0,0 +1,202 @@
+package com.resumescreener.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link MatchResult} saved under the id of its {@link MatchRun} (the id of the match
+ * job that created the run), so a finished job's results outlive the in-memory job and
+ * restarts. The resume's content hash at scoring time tells a delta match whether the
+ * resume was re-parsed since.
+ */
+@Entity
+@Table(name = "match_results", indexes = @Index(name = "idx_match_results_job_id", columnList = "jobId"))
+public class StoredMatchResult {
+    
+    static final int MAX_JUSTIFICATION_LENGTH = 4000;
+    static final int MAX_LIST_LENGTH = 2000;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_result_seq")
+    @SequenceGenerator(name = "match_result_seq", sequenceName = "match_results_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(nullable = false, length = 36)
+    private String jobId;
+    
+    private Long resumeId;
+    private String candidateName;
+    private String email;
+    private String phone;
+    private Double matchScore;
+    
+    @Column(length = MAX_JUSTIFICATION_LENGTH)
+    private String justification;
+    
+    @Column(length = 20)
+    private String status;
+    
+    @Column(length = 20)
+    private String engine;
+    
+    private boolean fromCache;
+    private boolean justificationComplete;
+    
+    @Column(length = 64)
+    private String contentHash;
+    
+    // One item per line
+    @Column(length = MAX_LIST_LENGTH)
+    private String skillMatches;
+    
+    @Column(length = MAX_LIST_LENGTH)
+    private String gaps;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    public StoredMatchResult() {
+    }
+    
+    public StoredMatchResult(String jobId, MatchResult result, String contentHash) {
+        this.jobId = jobId;
+        this.resumeId = result.getResumeId();
+        this.candidateName = result.getCandidateName();
+        this.email = result.getEmail();
+        this.phone = result.getPhone();
+        this.matchScore = result.getMatchScore();
+        this.justification = truncate(result.getJustification(), MAX_JUSTIFICATION_LENGTH);
+        this.status = result.getStatus().name();
+        this.engine = result.getEngine();
+        this.fromCache = result.isFromCache();
+        this.justificationComplete = result.isJustificationComplete();
+        this.contentHash = contentHash;
+        this.skillMatches = join(result.getSkillMatches());
+        this.gaps = join(result.getGaps());
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    public MatchResult toMatchResult() {
+        MatchResult result = new MatchResult();
+        result.setResumeId(resumeId);
+        result.setCandidateName(candidateName);
+        result.setEmail(email);
+        result.setPhone(phone);
+        result.setMatchScore(matchScore);
+        result.setJustification(justification);
+        result.setStatus(MatchStatus.valueOf(status));
+        result.setEngine(engine);
+        result.setFromCache(fromCache);
+        result.setJustificationComplete(justificationComplete);
+        result.setSkillMatches(split(skillMatches));
+        result.setGaps(split(gaps));
+        return result;
+    }
+    
+    /**
+     * One item per line, with backslashes and line breaks inside an item escaped. Items
+     * that no longer fit the column are dropped whole.
+     */
+    static String join(List<String> items) {
+        if (items == null) {
+            return null;
+        }
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < items.size(); i++) {
+            String escaped = items.get(i).replace("\\", "\\\\").replace("\r", "\\r").replace("\n", "\\n");
+            int separator = i > 0 ? 1 : 0;
+            if (joined.length() + separator + escaped.length() > MAX_LIST_LENGTH) {
+                break;
+            }
+            if (separator > 0) {
+                joined.append('\n');
+            }
+            joined.append(escaped);
+        }
+        return joined.toString();
+    }
+    
+    static List<String> split(String items) {
+        if (items == null) {
+            return null;
+        }
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        List<String> split = new ArrayList<>();
+        StringBuilder item = new StringBuilder();
+        for (int i = 0; i < items.length(); i++) {
+            char c = items.charAt(i);
+            if (c == '\n') {
+                split.add(item.toString());
+                item.setLength(0);
+            } else if (c == '\\' && i + 1 < items.length()) {
+                char escaped = items.charAt(++i);
+                item.append(escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+            } else {
+                item.append(c);
+            }
+        }
+        split.add(item.toString());
+        return split;
+    }
+    
+    private static String truncate(String text, int length) {
+        return text == null || text.length() <= length ? text : text.substring(0, length);
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+    
+    public Long getResumeId() { return resumeId; }
+    public void setResumeId(Long resumeId) { this.resumeId = resumeId; }
+    
+    public String getCandidateName() { return candidateName; }
+    public void setCandidateName(String candidateName) { this.candidateName = candidateName; }
+    
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = phone; }
+    
+    public Double getMatchScore() { return matchScore; }
+    public void setMatchScore(Double matchScore) { this.matchScore = matchScore; }
+    
+    public String getJustification() { return justification; }
+    public void setJustification(String justification) { this.justification = justification; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public String getEngine() { return engine; }
+    public void setEngine(String engine) { this.engine = engine; }
+    
+    public boolean isFromCache() { return fromCache; }
+    public void setFromCache(boolean fromCache) { this.fromCache = fromCache; }
+    
+    public boolean isJustificationComplete() { return justificationComplete; }
+    public void setJustificationComplete(boolean justificationComplete) { this.justificationComplete = justificationComplete; }
+    
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    
+    public String getSkillMatches() { return skillMatches; }
+    public void setSkillMatches(String skillMatches) { this.skillMatches = skillMatches; }
+    
+    public String getGaps() { return gaps; }
+    public void setGaps(String gaps) { this.gaps = gaps; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
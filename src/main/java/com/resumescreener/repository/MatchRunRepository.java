@@ -0,0 +1,9 @@
+package com.resumescreener.repository;
+
+import com.resumescreener.model.MatchRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MatchRunRepository extends JpaRepository<MatchRun, String> {
+}
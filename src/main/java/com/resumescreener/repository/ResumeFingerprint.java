@@ -0,0 +1,15 @@
+package com.resumescreener.repository;
+
+/**
+ * What duplicate detection keeps in memory for a stored resume.
+ */
+public interface ResumeFingerprint {
+
+    Long getId();
+
+    String getContentHash();
+
+    byte[] getMinHash();
+
+    Long getDuplicateGroupId();
+}
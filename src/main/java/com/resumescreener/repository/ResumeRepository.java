@@ -1,11 +1,83 @@
 package com.resumescreener.repository;
 
 import com.resumescreener.model.Resume;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ResumeRepository extends JpaRepository<Resume, Long> {
     List<Resume> findByCandidateNameContainingIgnoreCase(String name);
+    
+    // Keyset pages of summaries: each page starts after the last (sort key, id) of the previous
+    // one, so deep pages cost the same as the first. Null filters match everything; name and
+    // skill are lowercase LIKE patterns with '\' as the escape character.
+    String SUMMARY_COLUMNS = "select r.id as id, r.candidateName as candidateName, r.email as email, "
+            + "r.phone as phone, r.skills as skills, r.education as education, r.fileName as fileName, "
+            + "r.uploadedAt as uploadedAt, r.duplicateGroupId as duplicateGroupId from Resume r ";
+    String SUMMARY_FILTERS = "r.uploadedAt >= :from and r.uploadedAt < :to "
+            + "and (:name is null or lower(r.candidateName) like :name escape '\\') "
+            + "and (:skill is null or lower(r.skills) like :skill escape '\\') ";
+    
+    @Query(SUMMARY_COLUMNS + "where " + SUMMARY_FILTERS
+            + "and (r.uploadedAt < :afterUploadedAt or (r.uploadedAt = :afterUploadedAt and r.id < :afterId)) "
+            + "order by r.uploadedAt desc, r.id desc")
+    List<ResumeSummary> findNewestSummaries(@Param("afterUploadedAt") LocalDateTime afterUploadedAt,
+                                            @Param("afterId") long afterId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to,
+                                            @Param("name") String name,
+                                            @Param("skill") String skill,
+                                            Pageable page);
+    
+    @Query(SUMMARY_COLUMNS + "where " + SUMMARY_FILTERS
+            + "and (r.candidateName > :afterName or (r.candidateName = :afterName and r.id > :afterId)) "
+            + "order by r.candidateName asc, r.id asc")
+    List<ResumeSummary> findSummariesByName(@Param("afterName") String afterName,
+                                            @Param("afterId") long afterId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to,
+                                            @Param("name") String name,
+                                            @Param("skill") String skill,
+                                            Pageable page);
+    
+    @Query("select count(r) from Resume r where " + SUMMARY_FILTERS)
+    long countSummaries(@Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to,
+                        @Param("name") String name,
+                        @Param("skill") String skill);
+    
+    @Query("select r.id as id, r.duplicateGroupId as duplicateGroupId, r.contentHash as contentHash, "
+            + "r.embedding as embedding from Resume r where r.id > :afterId order by r.id")
+    List<ResumeVector> findVectorsAfter(@Param("afterId") long afterId, Pageable page);
+    
+    @Query("select r.id as id, r.duplicateGroupId as duplicateGroupId, r.contentHash as contentHash, "
+            + "r.embedding as embedding from Resume r where r.id in :ids order by r.id")
+    List<ResumeVector> findVectorsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("select r.id as id, r.skills as skills, r.extractedText as extractedText "
+            + "from Resume r where r.id > :afterId order by r.id")
+    List<ResumeText> findTextsAfter(@Param("afterId") long afterId, Pageable page);
+    
+    @Query("select r.id as id, r.skills as skills, r.extractedText as extractedText "
+            + "from Resume r where r.id in :ids")
+    List<ResumeText> findTextsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    List<Resume> findByIdGreaterThanOrderById(long afterId, Pageable page);
+    
+    @Query("select r.id as id, r.contentHash as contentHash, r.minHash as minHash, "
+            + "r.duplicateGroupId as duplicateGroupId from Resume r where r.id > :afterId order by r.id")
+    List<ResumeFingerprint> findFingerprintsAfter(@Param("afterId") long afterId, Pageable page);
+    
+    // Detached copies with only the fields scoring reads (no extracted text or vectors), plus
+    // the content hash a match run records to tell later whether the resume changed
+    @Query("select new com.resumescreener.model.Resume(r.id, r.candidateName, r.skills, r.experience, "
+            + "r.education, r.email, r.phone, r.contentHash) from Resume r where r.id in :ids")
+    List<Resume> findForMatchingByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,28 @@
+package com.resumescreener.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of a resume. Leaves out the extracted text, experience and stored vectors,
+ * so listing pages of resumes does not read the large columns.
+ */
+public interface ResumeSummary {
+
+    Long getId();
+
+    String getCandidateName();
+
+    String getEmail();
+
+    String getPhone();
+
+    String getSkills();
+
+    String getEducation();
+
+    String getFileName();
+
+    LocalDateTime getUploadedAt();
+
+    Long getDuplicateGroupId();
+}
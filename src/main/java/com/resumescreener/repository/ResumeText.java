@@ -0,0 +1,14 @@
+package com.resumescreener.repository;
+
+/**
+ * The text of a resume, selected explicitly so that the lazy {@code extractedText}
+ * column can be read in bulk without loading entities.
+ */
+public interface ResumeText {
+
+    Long getId();
+
+    String getSkills();
+
+    String getExtractedText();
+}
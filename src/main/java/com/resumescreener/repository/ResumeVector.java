@@ -0,0 +1,17 @@
+package com.resumescreener.repository;
+
+/**
+ * What candidate selection needs to rank a resume before it is scored: its
+ * near-duplicate group, content hash (to skip resumes a match run already scored
+ * unchanged) and stored embedding.
+ */
+public interface ResumeVector {
+
+    Long getId();
+
+    Long getDuplicateGroupId();
+
+    String getContentHash();
+
+    byte[] getEmbedding();
+}
@@ -0,0 +1,29 @@
+package com.resumescreener.repository;
+
+import com.resumescreener.model.StoredMatchResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StoredMatchResultRepository extends JpaRepository<StoredMatchResult, Long> {
+    List<StoredMatchResult> findByJobId(String jobId);
+    
+    @Modifying
+    @Query("delete from StoredMatchResult r where r.jobId = :jobId and r.resumeId in :resumeIds")
+    int deleteByJobIdAndResumeIdIn(@Param("jobId") String jobId, @Param("resumeIds") Collection<Long> resumeIds);
+    
+    // A result without a content hash never matches the resume's, so a delta match re-scores it
+    @Modifying
+    @Query("update StoredMatchResult r set r.contentHash = null where r.resumeId in :resumeIds")
+    int clearContentHashByResumeIdIn(@Param("resumeIds") Collection<Long> resumeIds);
+    
+    @Modifying
+    @Query("delete from StoredMatchResult r where r.resumeId = :resumeId")
+    int deleteByResumeId(@Param("resumeId") Long resumeId);
+}
@@ -0,0 +1,143 @@
+package com.resumescreener.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over a fixed set of patterns. Built once, then scans any text
+ * in a single pass regardless of how many patterns there are.
+ *
+ * Patterns and text are expected to be normalized by the caller (see
+ * {@link SkillExtractor#normalize}). A match is only reported on word boundaries: a
+ * pattern that starts (or ends) with a letter or digit must not be preceded (or followed)
+ * by one, so "java" does not match inside "javascript" and "git" not inside "digital".
+ */
+final class AhoCorasickMatcher {
+
+    interface MatchListener {
+        void onMatch(int patternId, int start, int end);
+    }
+
+    // Per-state outgoing edges: sorted labels and matching target states
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] fail;
+    private final int[] output;
+    private final int[] outputLink;
+    private final char[][] patterns;
+
+    AhoCorasickMatcher(List<String> patternList) {
+        this.patterns = new char[patternList.size()][];
+
+        List<Map<Character, Integer>> edges = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        edges.add(new HashMap<>());
+        outputs.add(-1);
+
+        for (int id = 0; id < patternList.size(); id++) {
+            char[] pattern = patternList.get(id).toCharArray();
+            patterns[id] = pattern;
+            int state = 0;
+            for (char c : pattern) {
+                Integer next = edges.get(state).get(c);
+                if (next == null) {
+                    next = edges.size();
+                    edges.add(new HashMap<>());
+                    outputs.add(-1);
+                    edges.get(state).put(c, next);
+                }
+                state = next;
+            }
+            if (outputs.get(state) < 0) {
+                outputs.set(state, id);
+            }
+        }
+
+        int stateCount = edges.size();
+        labels = new char[stateCount][];
+        targets = new int[stateCount][];
+        output = new int[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            Character[] keys = edges.get(state).keySet().toArray(new Character[0]);
+            Arrays.sort(keys);
+            labels[state] = new char[keys.length];
+            targets[state] = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                labels[state][i] = keys[i];
+                targets[state][i] = edges.get(state).get(keys[i]);
+            }
+            output[state] = outputs.get(state);
+        }
+
+        // Breadth-first construction of failure and dictionary-suffix links
+        fail = new int[stateCount];
+        outputLink = new int[stateCount];
+        Arrays.fill(outputLink, -1);
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            for (int i = 0; i < labels[state].length; i++) {
+                char c = labels[state][i];
+                int child = targets[state][i];
+                int f = fail[state];
+                while (f != 0 && next(f, c) < 0) {
+                    f = fail[f];
+                }
+                int failTarget = next(f, c);
+                fail[child] = failTarget >= 0 && failTarget != child ? failTarget : 0;
+                outputLink[child] = output[fail[child]] >= 0 ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    int stateCount() {
+        return fail.length;
+    }
+
+    void scan(char[] text, int length, MatchListener listener) {
+        int state = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text[i];
+            int next;
+            while ((next = next(state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = Math.max(next, 0);
+
+            for (int s = output[state] >= 0 ? state : outputLink[state]; s >= 0; s = outputLink[s]) {
+                int id = output[s];
+                int end = i + 1;
+                int start = end - patterns[id].length;
+                if (onWordBoundary(text, length, id, start, end)) {
+                    listener.onMatch(id, start, end);
+                }
+            }
+        }
+    }
+
+    private boolean onWordBoundary(char[] text, int length, int id, int start, int end) {
+        char[] pattern = patterns[id];
+        if (start > 0 && isWordChar(pattern[0]) && isWordChar(text[start - 1])) {
+            return false;
+        }
+        return end >= length || !isWordChar(pattern[pattern.length - 1]) || !isWordChar(text[end]);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    private int next(int state, char c) {
+        int index = Arrays.binarySearch(labels[state], c);
+        return index >= 0 ? targets[state][index] : -1;
+    }
+}
@@ -0,0 +1,86 @@
+package com.resumescreener.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of one bulk upload: a line per file, in the order the files were received.
+ */
+public class BulkUploadReport {
+
+    public static class FileResult {
+        private final String fileName;
+        private boolean success;
+        private Long resumeId;
+        private String candidateName;
+        private String error;
+        private Long duplicateOf;
+
+        FileResult(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getFileName() { return fileName; }
+
+        public boolean isSuccess() { return success; }
+
+        public Long getResumeId() { return resumeId; }
+
+        public String getCandidateName() { return candidateName; }
+
+        public String getError() { return error; }
+
+        /** Id of the stored resume this file is an exact copy of, if any. */
+        public Long getDuplicateOf() { return duplicateOf; }
+
+        void duplicateOf(Long resumeId) {
+            this.duplicateOf = resumeId;
+        }
+
+        void succeeded(Long resumeId, String candidateName) {
+            this.success = true;
+            this.resumeId = resumeId;
+            this.candidateName = candidateName;
+        }
+
+        void failed(String error) {
+            this.success = false;
+            this.error = error;
+        }
+    }
+
+    private final List<FileResult> files = new ArrayList<>();
+    private long elapsedMillis;
+
+    FileResult add(String fileName) {
+        FileResult result = new FileResult(fileName);
+        files.add(result);
+        return result;
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<FileResult> getFiles() { return files; }
+
+    public int getTotal() { return files.size(); }
+
+    public int getSucceeded() {
+        int succeeded = 0;
+        for (FileResult file : files) {
+            if (file.success) {
+                succeeded++;
+            }
+        }
+        return succeeded;
+    }
+
+    public int getFailed() { return getTotal() - getSucceeded(); }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    public double getFilesPerSecond() {
+        return elapsedMillis > 0 ? getTotal() * 1000.0 / elapsedMillis : getTotal();
+    }
+}
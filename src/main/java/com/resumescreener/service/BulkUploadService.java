@@ -0,0 +1,356 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.Resume;
+import com.resumescreener.repository.ResumeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Imports many resumes in one request: plain PDFs and ZIP archives of PDFs.
+ *
+ * ZIP archives are read entry by entry from the upload stream and each PDF is spooled to
+ * a temp file, so neither the archive nor its PDFs are held in memory. Parsing runs on a
+ * bounded worker pool (one thread per core by default) while the request thread saves
+ * finished resumes in batches of {@code upload.bulk.batch-size}, which Hibernate sends as
+ * JDBC batch inserts (timed as {@code resume.db.save}). A file that cannot be read, parsed
+ * or saved is reported and does not stop the others.
+ */
+@Service
+public class BulkUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkUploadService.class);
+
+    private final PDFParserService pdfParserService;
+    private final EmbeddingService embeddingService;
+    private final SkillIndexService skillIndexService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final ResumeRepository resumeRepository;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final int batchSize;
+    private final long maxPdfBytes;
+    private final Timer batchSaveTimer;
+    private final Timer singleSaveTimer;
+
+    @Autowired
+    public BulkUploadService(PDFParserService pdfParserService,
+                             EmbeddingService embeddingService,
+                             SkillIndexService skillIndexService,
+                             DuplicateDetectionService duplicateDetectionService,
+                             ResumeRepository resumeRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${upload.bulk.concurrency:0}") int concurrency,
+                             @Value("${upload.bulk.batch-size:50}") int batchSize,
+                             @Value("${upload.max-pdf-size:10MB}") DataSize maxPdfSize,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.pdfParserService = pdfParserService;
+        this.embeddingService = embeddingService;
+        this.skillIndexService = skillIndexService;
+        this.duplicateDetectionService = duplicateDetectionService;
+        this.resumeRepository = resumeRepository;
+        int threads = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+        this.executor = WorkerExecutors.newExecutor("resume-parse-", threads, virtualThreads);
+        // Two queued PDFs per worker keep every core busy without spooling the archive ahead
+        this.maxInFlight = threads * 2;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPdfBytes = maxPdfSize.toBytes();
+        this.batchSaveTimer = meterRegistry.timer("resume.db.save", "entity", "resume", "mode", "batch");
+        this.singleSaveTimer = meterRegistry.timer("resume.db.save", "entity", "resume", "mode", "single");
+    }
+
+    /**
+     * Parses and saves every PDF in {@code files}, expanding ZIP archives. The report lists
+     * each PDF (and each rejected file or archive entry) in upload order.
+     */
+    public BulkUploadReport upload(List<MultipartFile> files) throws InterruptedException {
+        long start = System.nanoTime();
+        Run run = new Run();
+        try {
+            for (MultipartFile file : files) {
+                String name = file.getOriginalFilename() != null ? file.getOriginalFilename() : "unnamed";
+                String lowerName = name.toLowerCase();
+                if (lowerName.endsWith(".zip")) {
+                    run.submitArchive(name, file);
+                } else if (!lowerName.endsWith(".pdf")) {
+                    run.report.add(name).failed("Only PDF and ZIP files are supported");
+                } else if (file.getSize() > maxPdfBytes) {
+                    run.report.add(name).failed("File exceeds the maximum PDF size of " + maxPdfBytes + " bytes");
+                } else {
+                    run.submit(run.report.add(name), () -> pdfParserService.parseResume(file));
+                }
+            }
+            run.finish();
+        } finally {
+            // Only left over when the upload was interrupted
+            run.releaseReservations();
+        }
+
+        BulkUploadReport report = run.report;
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        log.info("Bulk upload: {} files, {} saved, {} failed in {} ms ({} files/s)", report.getTotal(),
+                report.getSucceeded(), report.getFailed(), report.getElapsedMillis(),
+                String.format("%.1f", report.getFilesPerSecond()));
+        return report;
+    }
+
+    private interface ResumeSource {
+        Resume parse() throws IOException;
+    }
+
+    private static final class Parsed {
+        private final BulkUploadReport.FileResult file;
+        private final Resume resume;
+        private final String error;
+
+        private Parsed(BulkUploadReport.FileResult file, Resume resume, String error) {
+            this.file = file;
+            this.resume = resume;
+            this.error = error;
+        }
+    }
+
+    /** State of one upload request; only used from the request thread. */
+    private final class Run {
+        private final BulkUploadReport report = new BulkUploadReport();
+        private final CompletionService<Parsed> completion = new ExecutorCompletionService<>(executor);
+        private final Semaphore slots = new Semaphore(maxInFlight);
+        private final List<Parsed> batch = new ArrayList<>();
+        private final Map<String, String> fileNamesByHash = new HashMap<>();
+        private int inFlight;
+
+        private void submitArchive(String archiveName, MultipartFile archive) throws InterruptedException {
+            try (ZipInputStream zip = new ZipInputStream(archive.getInputStream())) {
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    String name = entry.getName();
+                    if (entry.isDirectory() || isMetadataEntry(name)) {
+                        continue;
+                    }
+                    BulkUploadReport.FileResult file = report.add(name);
+                    if (!name.toLowerCase().endsWith(".pdf")) {
+                        file.failed("Only PDF files are supported");
+                        continue;
+                    }
+                    Path pdf = spoolBounded(zip);
+                    if (pdf == null) {
+                        file.failed("File exceeds the maximum PDF size of " + maxPdfBytes + " bytes");
+                        continue;
+                    }
+                    submit(file, () -> {
+                        try {
+                            return pdfParserService.parseResume(file.getFileName(), pdf);
+                        } finally {
+                            Files.deleteIfExists(pdf);
+                        }
+                    });
+                }
+            } catch (IOException e) {
+                report.add(archiveName).failed("Error reading archive: " + e.getMessage());
+            }
+        }
+
+        private void submit(BulkUploadReport.FileResult file, ResumeSource source) throws InterruptedException {
+            // Blocks the reader while all workers are busy, so the archive is not read ahead
+            while (!slots.tryAcquire()) {
+                collect(completion.take());
+            }
+            inFlight++;
+            completion.submit(() -> {
+                try {
+                    Resume resume = source.parse();
+                    resume.setEmbedding(embeddingService.encode(embeddingService.embedResume(resume)));
+                    duplicateDetectionService.fingerprint(resume);
+                    return new Parsed(file, resume, null);
+                } catch (Exception e) {
+                    return new Parsed(file, null, "Error processing resume: " + e.getMessage());
+                } finally {
+                    slots.release();
+                }
+            });
+            Future<Parsed> done;
+            while ((done = completion.poll()) != null) {
+                collect(done);
+            }
+        }
+
+        private void finish() throws InterruptedException {
+            while (inFlight > 0) {
+                collect(completion.take());
+            }
+            flush();
+        }
+
+        private void collect(Future<Parsed> done) {
+            inFlight--;
+            Parsed parsed;
+            try {
+                parsed = done.get();
+            } catch (ExecutionException | InterruptedException e) {
+                // Tasks catch their own exceptions and the future is already complete
+                throw new IllegalStateException(e);
+            }
+            if (parsed.resume == null) {
+                parsed.file.failed(parsed.error);
+                return;
+            }
+            if (isDuplicate(parsed)) {
+                return;
+            }
+            if (hasPendingNearDuplicate(parsed.resume)) {
+                // Its group is named after a resume of this batch that has no id yet
+                flush();
+            }
+            duplicateDetectionService.assignGroup(parsed.resume);
+            batch.add(parsed);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Resume> resumes = new ArrayList<>(batch.size());
+            for (Parsed parsed : batch) {
+                resumes.add(parsed.resume);
+            }
+            try {
+                List<Resume> saved = batchSaveTimer.record(() -> resumeRepository.saveAll(resumes));
+                for (int i = 0; i < saved.size(); i++) {
+                    recordSaved(batch.get(i), saved.get(i));
+                }
+            } catch (RuntimeException e) {
+                // One bad row fails the whole batch; retry individually to find it
+                log.warn("Batch insert of {} resumes failed, saving one by one: {}", batch.size(), e.getMessage());
+                for (Parsed parsed : batch) {
+                    parsed.resume.setId(null);
+                    try {
+                        recordSaved(parsed, singleSaveTimer.record(() -> resumeRepository.save(parsed.resume)));
+                    } catch (RuntimeException single) {
+                        parsed.file.failed("Error saving resume: " + single.getMessage());
+                    }
+                }
+            }
+            releaseReservations();
+        }
+
+        private boolean isDuplicate(Parsed parsed) {
+            String hash = parsed.resume.getContentHash();
+            Long duplicateOf = duplicateDetectionService.exactDuplicateOf(hash);
+            if (duplicateOf == null) {
+                // Copies within one upload: the first one is saved, the others are reported
+                String firstFile = hash != null ? fileNamesByHash.putIfAbsent(hash, parsed.file.getFileName()) : null;
+                if (firstFile != null) {
+                    parsed.file.failed("Duplicate of " + firstFile + " in this upload");
+                    return true;
+                }
+                // Held until the batch is flushed, so a concurrent upload cannot store it too
+                if (duplicateDetectionService.reserve(hash)) {
+                    return false;
+                }
+                duplicateOf = duplicateDetectionService.exactDuplicateOf(hash);
+                if (duplicateOf == null) {
+                    parsed.file.failed("The same resume is being uploaded by another request");
+                    return true;
+                }
+            }
+            parsed.file.duplicateOf(duplicateOf);
+            if (duplicateDetectionService.isMergeExactDuplicates()) {
+                parsed.file.succeeded(duplicateOf, parsed.resume.getCandidateName());
+            } else {
+                parsed.file.failed("Duplicate of already uploaded resume " + duplicateOf);
+            }
+            return true;
+        }
+
+        /** Empties the batch and gives up its content hashes; saved resumes are indexed by now. */
+        private void releaseReservations() {
+            for (Parsed parsed : batch) {
+                duplicateDetectionService.release(parsed.resume.getContentHash());
+            }
+            batch.clear();
+        }
+
+        /** Whether the unsaved batch holds a near-duplicate; the batch is small enough to scan. */
+        private boolean hasPendingNearDuplicate(Resume resume) {
+            for (Parsed pending : batch) {
+                if (duplicateDetectionService.isNearDuplicate(resume, pending.resume)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void recordSaved(Parsed parsed, Resume saved) {
+            skillIndexService.add(saved);
+            duplicateDetectionService.add(saved);
+            parsed.file.succeeded(saved.getId(), saved.getCandidateName());
+        }
+    }
+
+    // Finder/Explorer droppings such as __MACOSX/._resume.pdf are not resumes
+    private static boolean isMetadataEntry(String name) {
+        String baseName = name.substring(name.lastIndexOf('/') + 1);
+        return name.startsWith("__MACOSX/") || baseName.startsWith(".");
+    }
+
+    /**
+     * Copies the current entry to a temp file, or returns null (and deletes the file) once
+     * it grows past the PDF size limit.
+     */
+    private Path spoolBounded(InputStream in) throws IOException {
+        Path pdf = Files.createTempFile("resume-", ".pdf");
+        try (OutputStream out = Files.newOutputStream(pdf)) {
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > maxPdfBytes) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+            }
+            if (total <= maxPdfBytes) {
+                return pdf;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(pdf);
+            throw e;
+        }
+        Files.deleteIfExists(pdf);
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
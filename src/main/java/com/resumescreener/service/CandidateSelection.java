@@ -0,0 +1,50 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.Resume;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumes that survived the pre-LLM stages, plus how many candidates each stage removed.
+ */
+public class CandidateSelection {
+
+    private final int poolSize;
+    private final List<Resume> candidates;
+    private final Map<String, Integer> removedByStage;
+    private final Double minSimilarity;
+
+    public CandidateSelection(int poolSize, List<Resume> candidates, Map<String, Integer> removedByStage) {
+        this(poolSize, candidates, removedByStage, null);
+    }
+
+    public CandidateSelection(int poolSize, List<Resume> candidates, Map<String, Integer> removedByStage,
+                              Double minSimilarity) {
+        this.poolSize = poolSize;
+        this.candidates = candidates;
+        this.removedByStage = removedByStage;
+        this.minSimilarity = minSimilarity;
+    }
+
+    public int getPoolSize() { return poolSize; }
+
+    public List<Resume> getCandidates() { return candidates; }
+
+    /** Stage name to number of candidates it removed, in pipeline order. */
+    public Map<String, Integer> getRemovedByStage() { return removedByStage; }
+
+    /**
+     * Similarity of the last candidate the embedding stage admitted when it had to cut the
+     * pool down to its top K; null if that stage was off or kept every candidate.
+     */
+    public Double getMinSimilarity() { return minSimilarity; }
+
+    /** Stage counts with the post-LLM threshold stage appended. */
+    public Map<String, Integer> withThresholdStage(int removedByThreshold) {
+        Map<String, Integer> stages = new LinkedHashMap<>(removedByStage);
+        stages.put("threshold", removedByThreshold);
+        return stages;
+    }
+}
@@ -0,0 +1,253 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.Resume;
+import com.resumescreener.repository.ResumeRepository;
+import com.resumescreener.repository.ResumeText;
+import com.resumescreener.repository.ResumeVector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Cheap in-process stages that narrow the resume pool before anything is sent to the LLM.
+ *
+ * The pool is read in chunks of {@code matching.selection.chunk-size} as {@link ResumeVector}
+ * projections (id, duplicate group, content hash, stored embedding), so selecting candidates
+ * never loads resume text. Only the survivors are then loaded, as detached copies holding
+ * just the fields scoring reads.
+ */
+@Service
+public class CandidateSelectionService {
+
+    private final ResumeRepository resumeRepository;
+    private final SkillIndexService skillIndexService;
+    private final EmbeddingService embeddingService;
+    private final int defaultTopK;
+    private final int chunkSize;
+
+    @Autowired
+    public CandidateSelectionService(ResumeRepository resumeRepository,
+                                     SkillIndexService skillIndexService,
+                                     EmbeddingService embeddingService,
+                                     @Value("${matching.prefilter.top-k:50}") int defaultTopK,
+                                     @Value("${matching.selection.chunk-size:500}") int chunkSize) {
+        this.resumeRepository = resumeRepository;
+        this.skillIndexService = skillIndexService;
+        this.embeddingService = embeddingService;
+        this.defaultTopK = defaultTopK;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * @param filter optional boolean skill query (see {@link SkillIndexService#query}); when set,
+     *               only the matching resumes are read from the database
+     * @param topK   overrides {@code matching.prefilter.top-k} when not null; 0 disables the stage
+     * @throws IllegalArgumentException if {@code filter} cannot be parsed
+     */
+    public CandidateSelection select(String jobDescription, String filter, Integer topK) {
+        int k = topK != null ? topK : defaultTopK;
+        return select(jobDescription, filter, k, null, null);
+    }
+
+    /**
+     * Selection for a delta match on a stored run: the same skill filter and duplicate
+     * grouping, but only resumes the run has no result for, or whose content hash changed
+     * since it was scored. Instead of a fixed top K, the embedding stage (if the run used
+     * one) keeps every such resume at least {@code minSimilarity} similar, so a resume
+     * that would have made the original cut is scored and one that would not is skipped.
+     *
+     * @param scoredHashes resume id to content hash at the time the run scored it
+     */
+    public CandidateSelection selectChanged(String jobDescription, String filter, Integer topK,
+                                            Double minSimilarity, Map<Long, String> scoredHashes) {
+        int k = topK != null ? topK : defaultTopK;
+        return select(jobDescription, filter, k > 0 ? Integer.MAX_VALUE : 0, minSimilarity, scoredHashes);
+    }
+
+    private CandidateSelection select(String jobDescription, String filter, int k, Double minSimilarity,
+                                      Map<Long, String> scoredHashes) {
+        Map<String, Integer> removedByStage = new LinkedHashMap<>();
+        Selector selector = new Selector(k > 0 ? embeddingService.embed(jobDescription) : null, k,
+                minSimilarity, scoredHashes);
+
+        int poolSize;
+        if (filter != null && !filter.isBlank()) {
+            long[] ids = skillIndexService.query(filter);
+            poolSize = skillIndexService.size();
+            for (int from = 0; from < ids.length; from += chunkSize) {
+                List<Long> chunk = new ArrayList<>(Math.min(chunkSize, ids.length - from));
+                for (int i = from; i < Math.min(from + chunkSize, ids.length); i++) {
+                    chunk.add(ids[i]);
+                }
+                selector.accept(resumeRepository.findVectorsByIdIn(chunk));
+            }
+            removedByStage.put("skillFilter", poolSize - selector.scanned);
+        } else {
+            forEachChunk(selector);
+            poolSize = selector.scanned;
+        }
+
+        removedByStage.put("duplicates", selector.duplicates);
+        if (scoredHashes != null) {
+            removedByStage.put("unchanged", selector.unchanged);
+        }
+        Double cutoff = selector.cutoff();
+        List<Long> selectedIds = selector.selectedIds();
+        removedByStage.put("embeddingPrefilter",
+                selector.scanned - selector.duplicates - selector.unchanged - selectedIds.size());
+
+        return new CandidateSelection(poolSize, loadForMatching(selectedIds), removedByStage, cutoff);
+    }
+
+    /** Hands the whole pool to {@code consumer} in id order, one keyset chunk at a time. */
+    private void forEachChunk(Consumer<List<ResumeVector>> consumer) {
+        long afterId = Long.MIN_VALUE;
+        while (true) {
+            List<ResumeVector> chunk = resumeRepository.findVectorsAfter(afterId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                return;
+            }
+            consumer.accept(chunk);
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+
+    /** Loads the selected resumes chunk by chunk, in selection order. */
+    private List<Resume> loadForMatching(List<Long> ids) {
+        Map<Long, Resume> byId = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            for (Resume resume : resumeRepository.findForMatchingByIdIn(
+                    ids.subList(from, Math.min(from + chunkSize, ids.size())))) {
+                byId.put(resume.getId(), resume);
+            }
+        }
+        List<Resume> candidates = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Resume resume = byId.get(id);
+            if (resume != null) {
+                candidates.add(resume);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Keeps one resume per near-duplicate group (the first seen, i.e. the lowest id), drops
+     * those already scored unchanged and, when a query vector is set, keeps only the
+     * {@code k} most similar of the rest (at least {@code minSimilarity}) in a min-heap.
+     */
+    private final class Selector implements Consumer<List<ResumeVector>> {
+        private final float[] query;
+        private final int k;
+        private final Double minSimilarity;
+        private final Map<Long, String> scoredHashes;
+        private final Set<Long> seenGroups = new HashSet<>();
+        private final PriorityQueue<ScoredId> best;
+        private final List<Long> all = new ArrayList<>();
+        private int scanned;
+        private int duplicates;
+        private int unchanged;
+
+        private Selector(float[] query, int k, Double minSimilarity, Map<Long, String> scoredHashes) {
+            this.query = query;
+            this.k = k;
+            this.minSimilarity = minSimilarity;
+            this.scoredHashes = scoredHashes;
+            this.best = query != null
+                    ? new PriorityQueue<>(Math.min(k, chunkSize) + 1, (a, b) -> Double.compare(a.similarity, b.similarity))
+                    : null;
+        }
+
+        @Override
+        public void accept(List<ResumeVector> chunk) {
+            List<ResumeVector> unique = new ArrayList<>(chunk.size());
+            List<Long> unembedded = new ArrayList<>();
+            for (ResumeVector vector : chunk) {
+                scanned++;
+                Long group = vector.getDuplicateGroupId() != null ? vector.getDuplicateGroupId() : vector.getId();
+                if (!seenGroups.add(group)) {
+                    duplicates++;
+                    continue;
+                }
+                if (scoredHashes != null && scoredHashes.containsKey(vector.getId())
+                        && Objects.equals(scoredHashes.get(vector.getId()), vector.getContentHash())) {
+                    unchanged++;
+                    continue;
+                }
+                unique.add(vector);
+                if (query != null && vector.getEmbedding() == null) {
+                    unembedded.add(vector.getId());
+                }
+            }
+            if (query == null) {
+                unique.forEach(vector -> all.add(vector.getId()));
+                return;
+            }
+
+            // Resumes stored before vectors existed are embedded on the fly from their text
+            Map<Long, float[]> embedded = new HashMap<>();
+            if (!unembedded.isEmpty()) {
+                for (ResumeText text : resumeRepository.findTextsByIdIn(unembedded)) {
+                    embedded.put(text.getId(), embeddingService.embedResume(text.getSkills(), text.getExtractedText()));
+                }
+            }
+            for (ResumeVector vector : unique) {
+                float[] values = vector.getEmbedding() != null
+                        ? embeddingService.decode(vector.getEmbedding()) : embedded.get(vector.getId());
+                if (values == null) {
+                    continue;
+                }
+                double similarity = EmbeddingService.cosine(query, values);
+                if (minSimilarity != null && similarity < minSimilarity) {
+                    continue;
+                }
+                best.offer(new ScoredId(vector.getId(), similarity));
+                if (best.size() > k) {
+                    best.poll();
+                }
+            }
+        }
+
+        /** Lowest admitted similarity if the top K was full, otherwise null; call before {@link #selectedIds}. */
+        private Double cutoff() {
+            return best != null && best.size() == k && !best.isEmpty() ? best.peek().similarity : null;
+        }
+
+        /** Selected ids, most similar first when ranked by the embedding stage. */
+        private List<Long> selectedIds() {
+            if (query == null) {
+                return all;
+            }
+            Long[] ids = new Long[best.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = best.poll().id;
+            }
+            return List.of(ids);
+        }
+    }
+
+    private static final class ScoredId {
+        private final long id;
+        private final double similarity;
+
+        private ScoredId(long id, double similarity) {
+            this.id = id;
+            this.similarity = similarity;
+        }
+    }
+}
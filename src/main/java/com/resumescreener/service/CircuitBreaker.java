@@ -0,0 +1,110 @@
+package com.resumescreener.service;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker.
+ *
+ * After {@code failureThreshold} failures in a row the circuit opens and calls are
+ * refused for {@code openDuration}. Then a single probe call is let through
+ * (half-open): success closes the circuit, failure opens it again.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean probeInFlight;
+    private long timesOpened;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /** Returns false if the call must not be made. A true return must be followed by onSuccess or onFailure. */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nanoClock.getAsLong() - openUntil < 0) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            open(openNanos);
+        }
+    }
+
+    /** Ends a call without judging the provider's health, e.g. after a 429 or a bad request. */
+    public synchronized void release() {
+        probeInFlight = false;
+    }
+
+    /** Opens the circuit for at least {@code duration}, e.g. when the provider says when to come back. */
+    public synchronized void openFor(Duration duration) {
+        probeInFlight = false;
+        long nanos = duration.toNanos();
+        if (state != State.OPEN || nanoClock.getAsLong() + nanos - openUntil > 0) {
+            open(nanos);
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openUntil >= 0) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /** Time until the next probe is allowed; zero unless open. */
+    public synchronized Duration remainingOpen() {
+        long remaining = state == State.OPEN ? openUntil - nanoClock.getAsLong() : 0;
+        return Duration.ofNanos(Math.max(0, remaining));
+    }
+
+    public synchronized long getTimesOpened() {
+        return timesOpened;
+    }
+
+    private void open(long nanos) {
+        if (state != State.OPEN) {
+            timesOpened++;
+        }
+        state = State.OPEN;
+        openUntil = nanoClock.getAsLong() + nanos;
+    }
+}
@@ -0,0 +1,449 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.Resume;
+import com.resumescreener.repository.ResumeFingerprint;
+import com.resumescreener.repository.ResumeRepository;
+import com.resumescreener.repository.ResumeText;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Finds re-uploads of resumes that are already stored.
+ *
+ * Every resume is fingerprinted twice: a SHA-256 of its whitespace- and case-normalized
+ * text catches exact copies (the same PDF, or a re-export of it), and a 128-value MinHash
+ * signature over word 3-grams estimates how much text two resumes share. Signatures are
+ * bucketed with LSH (16 bands of 8 rows), so a lookup only compares against the few
+ * resumes that share a band instead of the whole pool. Resumes whose estimated similarity
+ * reaches {@code dedup.near-duplicate-threshold}, such as the same CV with a new phone
+ * number, are put in one group and only one resume per group is scored.
+ */
+@Service
+public class DuplicateDetectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateDetectionService.class);
+
+    /** Changing these invalidates stored signatures. */
+    static final int SIGNATURE_SIZE = 128;
+    static final int BANDS = 16;
+    static final int ROWS = SIGNATURE_SIZE / BANDS;
+    private static final int SHINGLE_WORDS = 3;
+    private static final int REBUILD_CHUNK = 1000;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long[] SEEDS = new long[SIGNATURE_SIZE];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SEEDS.length; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final ResumeRepository resumeRepository;
+    private final double nearDuplicateThreshold;
+    private final boolean mergeExactDuplicates;
+
+    private final Map<String, Long> idsByHash = new HashMap<>();
+    private final Map<Long, String> hashesById = new HashMap<>();
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    private final Map<Long, Long> groups = new HashMap<>();
+    private final Set<String> reservedHashes = new HashSet<>();
+    private final List<Map<Long, IdPostings>> bands = new ArrayList<>(BANDS);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public DuplicateDetectionService(ResumeRepository resumeRepository,
+                                     @Value("${dedup.near-duplicate-threshold:0.85}") double nearDuplicateThreshold,
+                                     @Value("${dedup.on-exact-duplicate:reject}") String onExactDuplicate) {
+        this.resumeRepository = resumeRepository;
+        this.nearDuplicateThreshold = nearDuplicateThreshold;
+        this.mergeExactDuplicates = "merge".equalsIgnoreCase(onExactDuplicate.trim());
+        for (int band = 0; band < BANDS; band++) {
+            bands.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * True when an exact re-upload should be answered with the stored resume; false
+     * when it should be rejected.
+     */
+    public boolean isMergeExactDuplicates() {
+        return mergeExactDuplicates;
+    }
+
+    /**
+     * Reloads the stored fingerprints, {@value #REBUILD_CHUNK} resumes at a time. Only
+     * resumes stored before fingerprints existed have their text read to compute one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        clear();
+        int loaded = 0;
+        long afterId = Long.MIN_VALUE;
+        List<ResumeFingerprint> chunk;
+        do {
+            chunk = resumeRepository.findFingerprintsAfter(afterId, PageRequest.of(0, REBUILD_CHUNK));
+            List<Resume> resumes = new ArrayList<>(chunk.size());
+            List<Long> unfingerprinted = new ArrayList<>();
+            for (ResumeFingerprint fingerprint : chunk) {
+                Resume resume = new Resume();
+                resume.setId(fingerprint.getId());
+                resume.setContentHash(fingerprint.getContentHash());
+                resume.setMinHash(fingerprint.getMinHash());
+                resume.setDuplicateGroupId(fingerprint.getDuplicateGroupId());
+                resumes.add(resume);
+                if (fingerprint.getMinHash() == null) {
+                    unfingerprinted.add(fingerprint.getId());
+                }
+            }
+            if (!unfingerprinted.isEmpty()) {
+                Map<Long, String> texts = new HashMap<>();
+                for (ResumeText text : resumeRepository.findTextsByIdIn(unfingerprinted)) {
+                    if (text.getExtractedText() != null) {
+                        texts.put(text.getId(), text.getExtractedText());
+                    }
+                }
+                for (Resume resume : resumes) {
+                    if (resume.getMinHash() == null && texts.containsKey(resume.getId())) {
+                        resume.setExtractedText(texts.get(resume.getId()));
+                        fingerprint(resume);
+                    }
+                }
+            }
+            lock.writeLock().lock();
+            try {
+                for (Resume resume : resumes) {
+                    addLocked(resume);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loaded += chunk.size();
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == REBUILD_CHUNK);
+        log.info("Fingerprinted {} resumes in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Sets the content hash and MinHash signature of a freshly parsed resume. Resumes
+     * without text (e.g. scanned images) are left unfingerprinted, so they are never
+     * taken for duplicates of each other.
+     */
+    public void fingerprint(Resume resume) {
+        String text = resume.getExtractedText();
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        resume.setContentHash(contentHash(text));
+        resume.setMinHash(encode(signature(text)));
+    }
+
+    /** Id of a stored resume with exactly the same content, or null. */
+    public Long exactDuplicateOf(String contentHash) {
+        if (contentHash == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            return idsByHash.get(contentHash);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Claims {@code contentHash} for an upload that is about to be stored, so two concurrent
+     * uploads of the same resume cannot both pass {@link #exactDuplicateOf}. False if a stored
+     * resume or another upload already has it. The claim is held until {@link #release}, which
+     * is safe to call once the resume has been {@link #add added}. Resumes without a hash are
+     * never duplicates and always get a claim.
+     */
+    public boolean reserve(String contentHash) {
+        if (contentHash == null) {
+            return true;
+        }
+        lock.writeLock().lock();
+        try {
+            return !idsByHash.containsKey(contentHash) && reservedHashes.add(contentHash);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void release(String contentHash) {
+        if (contentHash == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            reservedHashes.remove(contentHash);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Puts a fingerprinted, not yet stored resume in the group of its most similar stored
+     * resume, if any is similar enough. Returns the group id, or null.
+     */
+    public Long assignGroup(Resume resume) {
+        if (resume.getMinHash() == null) {
+            return null;
+        }
+        int[] signature = decode(resume.getMinHash());
+        lock.readLock().lock();
+        try {
+            Long bestId = null;
+            double bestSimilarity = nearDuplicateThreshold;
+            for (long candidate : candidatesLocked(signature)) {
+                double similarity = similarity(signature, signatures.get(candidate));
+                if (similarity >= bestSimilarity) {
+                    bestId = candidate;
+                    bestSimilarity = similarity;
+                }
+            }
+            Long group = bestId != null ? groups.get(bestId) : null;
+            resume.setDuplicateGroupId(group);
+            return group;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Whether two fingerprinted resumes are similar enough to share a group. */
+    public boolean isNearDuplicate(Resume a, Resume b) {
+        if (a.getMinHash() == null || b.getMinHash() == null) {
+            return false;
+        }
+        return similarity(decode(a.getMinHash()), decode(b.getMinHash())) >= nearDuplicateThreshold;
+    }
+
+    public void add(Resume resume) {
+        lock.writeLock().lock();
+        try {
+            addLocked(resume);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long resumeId) {
+        lock.writeLock().lock();
+        try {
+            int[] signature = signatures.remove(resumeId);
+            if (signature == null) {
+                return;
+            }
+            groups.remove(resumeId);
+            String hash = hashesById.remove(resumeId);
+            if (hash != null) {
+                idsByHash.remove(hash, resumeId);
+            }
+            for (int band = 0; band < BANDS; band++) {
+                long key = bandKey(signature, band);
+                IdPostings ids = bands.get(band).get(key);
+                if (ids != null && ids.remove(resumeId) && ids.isEmpty()) {
+                    bands.get(band).remove(key);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Keeps the first resume of each near-duplicate group, preserving order. */
+    public List<Resume> representatives(List<Resume> resumes) {
+        Set<Long> seenGroups = new HashSet<>();
+        List<Resume> representatives = new ArrayList<>(resumes.size());
+        for (Resume resume : resumes) {
+            Long group = groupOf(resume);
+            if (group == null || seenGroups.add(group)) {
+                representatives.add(resume);
+            }
+        }
+        return representatives;
+    }
+
+    static Long groupOf(Resume resume) {
+        return resume.getDuplicateGroupId() != null ? resume.getDuplicateGroupId() : resume.getId();
+    }
+
+    private void addLocked(Resume resume) {
+        if (resume.getId() == null || resume.getMinHash() == null) {
+            return;
+        }
+        long id = resume.getId();
+        int[] signature = decode(resume.getMinHash());
+        signatures.put(id, signature);
+        groups.put(id, groupOf(resume));
+        if (resume.getContentHash() != null) {
+            idsByHash.putIfAbsent(resume.getContentHash(), id);
+            hashesById.put(id, resume.getContentHash());
+        }
+        for (int band = 0; band < BANDS; band++) {
+            bands.get(band).computeIfAbsent(bandKey(signature, band), key -> new IdPostings()).add(id);
+        }
+    }
+
+    private void clearLocked() {
+        idsByHash.clear();
+        hashesById.clear();
+        signatures.clear();
+        groups.clear();
+        for (Map<Long, IdPostings> band : bands) {
+            band.clear();
+        }
+    }
+
+    private Set<Long> candidatesLocked(int[] signature) {
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            IdPostings ids = bands.get(band).get(bandKey(signature, band));
+            if (ids != null) {
+                for (long id : ids.toArray()) {
+                    candidates.add(id);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /** Fraction of equal signature positions, an estimate of the Jaccard similarity. */
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    static String contentHash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(SkillIndexService.normalize(text).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** MinHash over hashed word 3-grams; texts shorter than three words use single words. */
+    static int[] signature(CharSequence text) {
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        long[] window = new long[SHINGLE_WORDS];
+        int words = 0;
+        long hash = FNV_OFFSET;
+        int tokenLength = 0;
+
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                hash = (hash ^ c) * FNV_PRIME;
+                tokenLength++;
+                continue;
+            }
+            if (tokenLength > 0) {
+                window[words % SHINGLE_WORDS] = hash;
+                words++;
+                if (words >= SHINGLE_WORDS) {
+                    long shingle = FNV_OFFSET;
+                    for (int w = words - SHINGLE_WORDS; w < words; w++) {
+                        shingle = (shingle ^ window[w % SHINGLE_WORDS]) * FNV_PRIME;
+                    }
+                    addShingle(signature, shingle);
+                }
+                hash = FNV_OFFSET;
+                tokenLength = 0;
+            }
+        }
+        for (int w = 0; words < SHINGLE_WORDS && w < words; w++) {
+            addShingle(signature, window[w]);
+        }
+        return signature;
+    }
+
+    private static void addShingle(int[] signature, long shingle) {
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            int value = (int) (mix(shingle ^ SEEDS[i]) >>> 32);
+            if (value < signature[i]) {
+                signature[i] = value;
+            }
+        }
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = mix(key * 31 + signature[row]);
+        }
+        return key;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    static byte[] encode(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    static int[] decode(byte[] bytes) {
+        int[] signature = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(signature);
+        return signature;
+    }
+}
@@ -0,0 +1,118 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.Resume;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * In-process text vectors used as a cheap first matching stage.
+ *
+ * Text is tokenized into lowercase words, and every word and adjacent word pair is
+ * hashed into a fixed number of signed buckets (the "hashing trick"). Counts are
+ * log-scaled and the vector is L2-normalized, so the cosine similarity of two vectors
+ * is just their dot product. No model server or vocabulary is needed, and a resume's
+ * vector is computed once at upload time and stored with the entity.
+ */
+@Service
+public class EmbeddingService {
+
+    /** Changing the dimension or features invalidates stored vectors. */
+    public static final int DIMENSIONS = 512;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public float[] embedResume(Resume resume) {
+        return embedResume(resume.getSkills(), resume.getExtractedText());
+    }
+
+    public float[] embedResume(String skills, String extractedText) {
+        StringBuilder text = new StringBuilder();
+        if (skills != null) {
+            text.append(skills).append('\n');
+        }
+        if (extractedText != null) {
+            text.append(extractedText);
+        }
+        return embed(text);
+    }
+
+    public float[] embed(CharSequence text) {
+        float[] vector = new float[DIMENSIONS];
+        long previous = 0;
+        boolean hasPrevious = false;
+        long hash = FNV_OFFSET;
+        int tokenLength = 0;
+
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c) || c == '+' || c == '#') {
+                hash = (hash ^ c) * FNV_PRIME;
+                tokenLength++;
+                continue;
+            }
+            if (tokenLength > 0) {
+                addFeature(vector, hash);
+                if (hasPrevious) {
+                    addFeature(vector, (previous * 31 + hash) * FNV_PRIME);
+                }
+                previous = hash;
+                hasPrevious = true;
+                hash = FNV_OFFSET;
+                tokenLength = 0;
+            }
+        }
+
+        normalize(vector);
+        return vector;
+    }
+
+    /** Dot product of two normalized vectors. */
+    public static double cosine(float[] a, float[] b) {
+        double dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+
+    public byte[] encode(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    public float[] decode(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    private static void addFeature(float[] vector, long hash) {
+        long mixed = hash ^ (hash >>> 33);
+        int bucket = (int) ((mixed >>> 1) % DIMENSIONS);
+        vector[bucket] += (mixed & 1) == 0 ? 1f : -1f;
+    }
+
+    private static void normalize(float[] vector) {
+        double norm = 0;
+        for (int i = 0; i < vector.length; i++) {
+            // Sublinear term frequency so repeated words do not dominate
+            float v = vector[i];
+            if (v != 0) {
+                v = (float) (Math.signum(v) * (1 + Math.log(Math.abs(v))));
+                vector[i] = v;
+                norm += v * v;
+            }
+        }
+        if (norm == 0) {
+            return;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+    }
+}
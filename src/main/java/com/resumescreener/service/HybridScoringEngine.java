@@ -0,0 +1,88 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.MatchStatus;
+import com.resumescreener.model.Resume;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Ranks with the local score and spends LLM calls only on the shortlist.
+ *
+ * Every resume is scored locally first. Results below the threshold, or outside the
+ * best {@code scoring.hybrid.llm-top-n}, are final straight away. The shortlisted ones
+ * go to the LLM, whose justification replaces the local one; the score, and so the
+ * ranking, stays local. If the LLM call fails or times out the local justification is kept.
+ */
+@Service
+public class HybridScoringEngine implements ScoringEngine {
+
+    public static final String NAME = "hybrid";
+
+    private final LocalScoringEngine localScoringEngine;
+    private final ParallelMatchingService parallelMatchingService;
+    private final int llmTopN;
+
+    @Autowired
+    public HybridScoringEngine(LocalScoringEngine localScoringEngine,
+                               ParallelMatchingService parallelMatchingService,
+                               @Value("${scoring.hybrid.llm-top-n:10}") int llmTopN) {
+        this.localScoringEngine = localScoringEngine;
+        this.parallelMatchingService = parallelMatchingService;
+        this.llmTopN = llmTopN;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<MatchResult> scoreAll(List<Resume> resumes, String jobDescription, double threshold,
+                                      Consumer<MatchResult> onResult) throws InterruptedException {
+        List<MatchResult> results = localScoringEngine.scoreAll(resumes, jobDescription, threshold, result -> {
+        });
+        for (MatchResult result : results) {
+            result.setEngine(NAME);
+        }
+
+        List<MatchResult> shortlist = MatchRanker.rank(results, threshold, 0, Math.max(0, llmTopN)).getResults();
+        Map<Long, MatchResult> shortlistById = new HashMap<>();
+        for (MatchResult result : shortlist) {
+            shortlistById.put(result.getResumeId(), result);
+        }
+        for (MatchResult result : results) {
+            if (!shortlistById.containsKey(result.getResumeId())) {
+                onResult.accept(result);
+            }
+        }
+        if (shortlist.isEmpty()) {
+            return results;
+        }
+
+        // Best first, so the top of the shortlist gets its justification first
+        Map<Long, Resume> resumesById = new HashMap<>();
+        for (Resume resume : resumes) {
+            resumesById.put(resume.getId(), resume);
+        }
+        List<Resume> shortlistedResumes = new ArrayList<>(shortlist.size());
+        for (MatchResult result : shortlist) {
+            shortlistedResumes.add(resumesById.get(result.getResumeId()));
+        }
+        parallelMatchingService.matchAll(shortlistedResumes, jobDescription, llmResult -> {
+            MatchResult result = shortlistById.get(llmResult.getResumeId());
+            if (llmResult.getStatus() == MatchStatus.SCORED && llmResult.getJustification() != null) {
+                result.setJustification(llmResult.getJustification());
+            }
+            onResult.accept(result);
+        });
+        return results;
+    }
+}
@@ -0,0 +1,60 @@
+package com.resumescreener.service;
+
+import java.util.List;
+
+/**
+ * A job description condensed once per match run: the role line, must-have and
+ * nice-to-have requirements, and a little context, with boilerplate (company blurb,
+ * benefits, equal-opportunity text) dropped. Built and cached by {@link JobBriefService}
+ * together with the job-specific part of the single-resume prompt, so each per-resume
+ * prompt only appends the candidate's fields.
+ */
+public class JobBrief {
+
+    private final String key;
+    private final String role;
+    private final List<String> mustHaves;
+    private final List<String> niceToHaves;
+    private final List<String> context;
+    private final String text;
+    private final String promptPrefix;
+    private final long rawTokens;
+    private final long condensedTokens;
+
+    JobBrief(String key, String role, List<String> mustHaves, List<String> niceToHaves, List<String> context,
+             String text, String promptPrefix, long rawTokens) {
+        this.key = key;
+        this.role = role;
+        this.mustHaves = List.copyOf(mustHaves);
+        this.niceToHaves = List.copyOf(niceToHaves);
+        this.context = List.copyOf(context);
+        this.text = text;
+        this.promptPrefix = promptPrefix;
+        this.rawTokens = rawTokens;
+        this.condensedTokens = RateLimitedChatClient.estimateTokens(text);
+    }
+
+    /** Hex SHA-256 of the normalized job description. */
+    public String getKey() { return key; }
+
+    /** First line of the description when it reads like a title, otherwise null. */
+    public String getRole() { return role; }
+
+    public List<String> getMustHaves() { return mustHaves; }
+
+    public List<String> getNiceToHaves() { return niceToHaves; }
+
+    public List<String> getContext() { return context; }
+
+    /** The condensed requirements as they appear in prompts. */
+    public String getText() { return text; }
+
+    /** Everything in a single-resume prompt before the candidate's fields. */
+    public String getPromptPrefix() { return promptPrefix; }
+
+    /** Estimated tokens of the job description as submitted. */
+    public long getRawTokens() { return rawTokens; }
+
+    /** Estimated tokens of {@link #getText()}. */
+    public long getCondensedTokens() { return condensedTokens; }
+}
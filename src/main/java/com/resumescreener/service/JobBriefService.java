@@ -0,0 +1,288 @@
+package com.resumescreener.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Condenses job descriptions into {@link JobBrief}s and caches them, so a match run
+ * normalizes, hashes and condenses its job description once instead of re-rendering
+ * it into every per-resume prompt.
+ *
+ * Condensing is rule-based. Lines are sorted into must-haves and nice-to-haves by the
+ * heading they sit under ("Requirements", "Preferred qualifications", ...) or by their
+ * own wording ("... is a plus"). Sections such as "About us", "Benefits" or
+ * equal-opportunity statements are dropped, bullets and repeated lines are removed,
+ * and under a structured description only the first few other lines (usually
+ * responsibilities) are kept as context. A description with no headings keeps all of
+ * its lines. If condensing would not make the text shorter the whitespace-normalized
+ * original is used.
+ *
+ * Briefs are keyed by the SHA-256 of the normalized description (the same
+ * normalization as the match cache) and LRU-bounded by {@code matching.job-brief.cache-size}.
+ */
+@Service
+public class JobBriefService {
+
+    static final String PROMPT_HEADER =
+            "You are an expert resume screening AI assistant. Score one candidate against these job requirements.\n\n";
+    static final String INSTRUCTIONS = """
+            INSTRUCTIONS: Compare the candidate's skills, experience and education with the requirements. \
+            Rate the fit from 1 to 10 (10 is a perfect match). A missing must-have counts more than a missing \
+            nice-to-have. Justify the score in detail.
+            """;
+
+    /** Responsibility and other lines kept from a description that has headings. */
+    private static final int MAX_CONTEXT_LINES = 6;
+    /** Lines longer than this are split into sentences before they are classified. */
+    private static final int SENTENCE_SPLIT_CHARS = 200;
+    private static final int MAX_ROLE_CHARS = 80;
+
+    private static final Pattern BULLET = Pattern.compile("^(?:[-*+>\\u2022\\u00B7\\u25AA\\u25CF\\u25E6]+|\\(?\\d{1,2}[.)])\\s*");
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.;!?])\\s+(?=[A-Z0-9])");
+    private static final Pattern SPACES = Pattern.compile("[ \\t\\u00A0]+");
+
+    private static final String[] SKIP_HEADINGS = {"about us", "about the company", "who we are", "our company",
+            "benefits", "perks", "what we offer", "we offer", "compensation", "salary", "equal opportunity",
+            "how to apply", "why join", "our culture", "life at"};
+    private static final String[] NICE_MARKERS = {"nice to have", "nice-to-have", "preferred", "bonus",
+            "desirable", "good to have", "a plus", "advantage"};
+    private static final String[] MUST_HEADINGS = {"requirement", "qualification", "must have", "must-have",
+            "what you need", "what you'll need", "what you will need", "looking for", "about you", "you have",
+            "skills", "minimum", "required", "essential"};
+    private static final String[] CONTEXT_HEADINGS = {"responsibilities", "what you'll do", "what you will do",
+            "duties", "the role", "about the role", "overview", "job description", "role"};
+    private static final String[] MUST_MARKERS = {"must", "required", "requirement", "minimum", "mandatory",
+            "essential", "at least"};
+    private static final String[] BOILERPLATE_LINES = {"equal opportunity", "equal employment", "apply now",
+            "click apply", "send your cv", "send your resume"};
+
+    private enum Section { CONTEXT, MUST, NICE, SKIP }
+
+    private final Map<String, JobBrief> briefs;
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong built = new AtomicLong();
+    private final AtomicLong rawTokensBuilt = new AtomicLong();
+    private final AtomicLong condensedTokensBuilt = new AtomicLong();
+    // Fast path for the common case of one run asking for the same description per resume
+    private volatile LastLookup lastLookup = new LastLookup(null, null);
+
+    @Autowired
+    public JobBriefService(@Value("${matching.job-brief.cache-size:64}") int cacheSize) {
+        int maxEntries = Math.max(1, cacheSize);
+        this.briefs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JobBrief> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public JobBrief brief(String jobDescription) {
+        lookups.incrementAndGet();
+        LastLookup last = lastLookup;
+        if (jobDescription.equals(last.jobDescription)) {
+            return last.brief;
+        }
+
+        String key = keyOf(jobDescription);
+        JobBrief brief;
+        synchronized (briefs) {
+            brief = briefs.get(key);
+        }
+        if (brief == null) {
+            brief = condense(key, jobDescription);
+            built.incrementAndGet();
+            rawTokensBuilt.addAndGet(brief.getRawTokens());
+            condensedTokensBuilt.addAndGet(brief.getCondensedTokens());
+            synchronized (briefs) {
+                briefs.put(key, brief);
+            }
+        }
+        lastLookup = new LastLookup(jobDescription, brief);
+        return brief;
+    }
+
+    public Map<String, Object> getStats() {
+        long lookupCount = lookups.get();
+        long builtCount = built.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("lookups", lookupCount);
+        stats.put("built", builtCount);
+        stats.put("hitRate", lookupCount == 0 ? 0.0 : (double) (lookupCount - builtCount) / lookupCount);
+        stats.put("averageRawTokens", builtCount == 0 ? 0 : rawTokensBuilt.get() / builtCount);
+        stats.put("averageCondensedTokens", builtCount == 0 ? 0 : condensedTokensBuilt.get() / builtCount);
+        synchronized (briefs) {
+            stats.put("entries", briefs.size());
+        }
+        return stats;
+    }
+
+    /** Hex SHA-256 of the normalized description; also identifies the job of a stored match run. */
+    static String keyOf(String jobDescription) {
+        return sha256(MatchCacheService.normalize(jobDescription));
+    }
+
+    static JobBrief condense(String key, String jobDescription) {
+        List<String> lines = lines(jobDescription);
+
+        String role = null;
+        List<String> mustHaves = new ArrayList<>();
+        List<String> niceToHaves = new ArrayList<>();
+        List<String> context = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        Section section = Section.CONTEXT;
+        boolean structured = false;
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            String lower = line.toLowerCase(Locale.ROOT);
+            Section heading = headingSection(line, lower);
+            if (heading != null) {
+                section = heading;
+                structured = true;
+                continue;
+            }
+            if (i == 0 && line.length() <= MAX_ROLE_CHARS && !line.endsWith(".")) {
+                role = line;
+                continue;
+            }
+            if (section == Section.SKIP || containsAny(lower, BOILERPLATE_LINES) || !seen.add(lower)) {
+                continue;
+            }
+            if (containsAny(lower, NICE_MARKERS)) {
+                niceToHaves.add(line);
+            } else if (section == Section.MUST || section == Section.CONTEXT && containsAny(lower, MUST_MARKERS)) {
+                mustHaves.add(line);
+            } else if (section == Section.NICE) {
+                niceToHaves.add(line);
+            } else {
+                context.add(line);
+            }
+        }
+        if (structured && context.size() > MAX_CONTEXT_LINES) {
+            context = context.subList(0, MAX_CONTEXT_LINES);
+        }
+
+        StringBuilder text = new StringBuilder(jobDescription.length());
+        if (role != null) {
+            text.append("Role: ").append(role).append('\n');
+        }
+        appendList(text, "Must have:", mustHaves);
+        appendList(text, "Nice to have:", niceToHaves);
+        appendList(text, "Context:", context);
+
+        String normalized = SPACES.matcher(jobDescription.trim()).replaceAll(" ");
+        String condensed = text.length() > 0 && text.length() < normalized.length()
+                ? text.toString().stripTrailing() : normalized;
+
+        String prefix = PROMPT_HEADER + "JOB REQUIREMENTS:\n" + condensed + "\n\n" + INSTRUCTIONS + "\n"
+                + MatchResponseParser.SINGLE_FORMAT + "\nCANDIDATE:\n";
+        return new JobBrief(key, role, mustHaves, niceToHaves, context, condensed, prefix,
+                RateLimitedChatClient.estimateTokens(jobDescription));
+    }
+
+    /** Trimmed, de-bulleted, non-empty lines; long lines are split into sentences. */
+    private static List<String> lines(String text) {
+        List<String> lines = new ArrayList<>();
+        for (String raw : text.split("\\R")) {
+            String line = BULLET.matcher(SPACES.matcher(raw.strip()).replaceAll(" ")).replaceFirst("").strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.length() > SENTENCE_SPLIT_CHARS) {
+                for (String sentence : SENTENCE_END.split(line)) {
+                    lines.add(sentence);
+                }
+            } else {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * The section a heading line opens, or null if the line is not a heading. A line
+     * ending in a colon is a heading; without one, only a short line that starts with a
+     * known heading ("Requirements", "Nice to have") is, so "Strong Java skills" stays content.
+     */
+    private static Section headingSection(String line, String lower) {
+        boolean colon = line.endsWith(":");
+        if (colon ? line.length() > 60 : lower.split(" ").length > 3 || !startsWithAny(lower)) {
+            return null;
+        }
+        if (containsAny(lower, SKIP_HEADINGS)) {
+            return Section.SKIP;
+        }
+        if (containsAny(lower, NICE_MARKERS)) {
+            return Section.NICE;
+        }
+        if (containsAny(lower, MUST_HEADINGS)) {
+            return Section.MUST;
+        }
+        return Section.CONTEXT;
+    }
+
+    private static boolean startsWithAny(String lower) {
+        for (String[] headings : new String[][] {SKIP_HEADINGS, NICE_MARKERS, MUST_HEADINGS, CONTEXT_HEADINGS}) {
+            for (String heading : headings) {
+                if (lower.startsWith(heading)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsAny(String text, String[] needles) {
+        for (String needle : needles) {
+            if (text.contains(needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendList(StringBuilder text, String title, List<String> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        text.append(title).append('\n');
+        for (String item : items) {
+            text.append("- ").append(item).append('\n');
+        }
+    }
+
+    private static final class LastLookup {
+        private final String jobDescription;
+        private final JobBrief brief;
+
+        private LastLookup(String jobDescription, JobBrief brief) {
+            this.jobDescription = jobDescription;
+            this.brief = brief;
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
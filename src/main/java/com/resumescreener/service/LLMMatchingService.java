@@ -1,129 +1,413 @@
 package com.resumescreener.service;
 
 import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.MatchStatus;
 import com.resumescreener.model.Resume;
-import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.chat.prompt.PromptTemplate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
+/**
+ * Scores resumes against a job description with the LLM. Prompt building and response
+ * parsing are timed as {@code resume.match.prompt} and {@code resume.match.parse} (tagged
+ * single, stream or batch); results that fail with a 0 score are counted in
+ * {@code resume.match.failed} by reason, and candidates a batch response left out in
+ * {@code resume.match.batch.rescored}. Prompts and responses are logged at TRACE.
+ */
 @Service
 public class LLMMatchingService {
     
-    private final ChatClient chatClient;
+    private static final Logger log = LoggerFactory.getLogger(LLMMatchingService.class);
+    
+    /** Bump whenever the prompt or response parsing changes so cached scores are not reused. */
+    public static final String PROMPT_VERSION = "3";
+    
+    private final RateLimitedChatClient chatClient;
+    private final MatchResponseParser responseParser;
+    private final JobBriefService jobBriefService;
+    
+    private final AtomicLong promptCalls = new AtomicLong();
+    private final AtomicLong promptTokens = new AtomicLong();
+    private final AtomicLong uncondensedPromptTokens = new AtomicLong();
+    
+    private final AtomicLong streamedCalls = new AtomicLong();
+    private final AtomicLong stoppedAfterScore = new AtomicLong();
+    private final LatencyStat timeToScore = new LatencyStat();
+    private final LatencyStat timeToFullResponse = new LatencyStat();
+    
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong batchTokensSaved = new AtomicLong();
+    private volatile long lastBatchTokensSaved;
+    
+    private final Timer singlePromptTimer;
+    private final Timer batchPromptTimer;
+    private final Timer singleParseTimer;
+    private final Timer streamParseTimer;
+    private final Timer batchParseTimer;
+    private final Counter errorFailures;
+    private final Counter unparseableFailures;
+    private final Counter batchRescored;
     
     @Autowired
-    public LLMMatchingService(ChatClient.Builder chatClientBuilder) {
-        this.chatClient = chatClientBuilder.build();
+    public LLMMatchingService(RateLimitedChatClient chatClient, MatchResponseParser responseParser,
+                              JobBriefService jobBriefService, MeterRegistry meterRegistry) {
+        this.chatClient = chatClient;
+        this.responseParser = responseParser;
+        this.jobBriefService = jobBriefService;
+        this.singlePromptTimer = promptTimer(meterRegistry, "single");
+        this.batchPromptTimer = promptTimer(meterRegistry, "batch");
+        this.singleParseTimer = parseTimer(meterRegistry, "single");
+        this.streamParseTimer = parseTimer(meterRegistry, "stream");
+        this.batchParseTimer = parseTimer(meterRegistry, "batch");
+        this.errorFailures = failureCounter(meterRegistry, "error");
+        this.unparseableFailures = failureCounter(meterRegistry, "unparseable");
+        this.batchRescored = Counter.builder("resume.match.batch.rescored")
+                .description("Candidates re-scored one by one after a batch response missed them")
+                .register(meterRegistry);
+    }
+    
+    private static Timer promptTimer(MeterRegistry meterRegistry, String type) {
+        return Timer.builder("resume.match.prompt").description("Building an LLM prompt").tag("type", type)
+                .register(meterRegistry);
+    }
+    
+    private static Timer parseTimer(MeterRegistry meterRegistry, String type) {
+        return Timer.builder("resume.match.parse").description("Parsing an LLM response").tag("type", type)
+                .register(meterRegistry);
+    }
+    
+    private static Counter failureCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("resume.match.failed").description("LLM results that failed, with no score")
+                .tag("reason", reason).register(meterRegistry);
+    }
+    
+    /** Calls worth having in flight at once when each may take up to {@code callTimeout}; see {@link RateLimitedChatClient#callsWithin}. */
+    public int quotaConcurrency(Duration callTimeout) {
+        return chatClient.callsWithin(callTimeout);
     }
     
     public MatchResult matchResumeWithJob(Resume resume, String jobDescription) {
         try {
-            String prompt = buildMatchingPrompt(resume, jobDescription);
-            
-            System.out.println("Sending prompt to OpenAI...");
+            JobBrief brief = jobBriefService.brief(jobDescription);
+            String prompt = singlePromptTimer.record(() -> buildMatchingPrompt(resume, brief));
+            recordPromptTokens(prompt, brief);
             
-            String llmResponse = chatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .content();
+            log.debug("Scoring resume {} with the LLM", resume.getId());
+            log.trace("LLM prompt for resume {}:\n{}", resume.getId(), prompt);
             
-            System.out.println("Received response: " + llmResponse);
+            String llmResponse = chatClient.call(prompt);
             
-            Double matchScore = extractScore(llmResponse);
-            String justification = extractJustification(llmResponse);
+            log.trace("LLM response for resume {}:\n{}", resume.getId(), llmResponse);
             
-            return new MatchResult(resume, matchScore, justification);
+            return toResult(resume, singleParseTimer.record(() -> responseParser.parse(llmResponse)));
             
         } catch (Exception e) {
-            System.err.println("Error in LLM matching: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("LLM matching failed for resume {}: {}", resume.getId(), e.getMessage());
+            log.debug("LLM matching failure for resume {}", resume.getId(), e);
+            return fallback(resume, e);
+        }
+    }
+    
+    private MatchResult fallback(Resume resume, Exception e) {
+        errorFailures.increment();
+        MatchResult fallback = new MatchResult(resume, null, "Error: " + e.getMessage());
+        fallback.setStatus(MatchStatus.FAILED);
+        return fallback;
+    }
+    
+    /**
+     * Streaming variant of {@link #matchResumeWithJob}. The score line comes first in the
+     * response format, so it is parsed as soon as it has arrived. If it is below
+     * {@code threshold} the stream is cancelled there and the result carries the score
+     * without a justification; otherwise the rest of the response is read as usual.
+     */
+    public MatchResult matchResumeStreaming(Resume resume, String jobDescription, double threshold) {
+        long start = System.nanoTime();
+        try {
+            JobBrief brief = jobBriefService.brief(jobDescription);
+            String prompt = singlePromptTimer.record(() -> buildMatchingPrompt(resume, brief));
+            recordPromptTokens(prompt, brief);
+            log.trace("LLM prompt for resume {}:\n{}", resume.getId(), prompt);
+            ScoreWatcher watcher = new ScoreWatcher(threshold, responseParser);
+            streamedCalls.incrementAndGet();
+            
+            chatClient.stream(prompt, watcher);
+            
+            long end = System.nanoTime();
+            if (watcher.scoreAt != 0) {
+                timeToScore.record(watcher.scoreAt - start);
+            }
+            if (watcher.stopped) {
+                watcher.reader.stopAfterScore();
+                streamParseTimer.record(watcher.parseNanos, TimeUnit.NANOSECONDS);
+                stoppedAfterScore.incrementAndGet();
+                MatchResult result = new MatchResult(resume, watcher.score, String.format(
+                        "Score %.1f is below the threshold of %.1f; justification was not generated.",
+                        watcher.score, threshold));
+                result.setJustificationComplete(false);
+                return result;
+            }
+            timeToFullResponse.record(end - start);
+            
+            long parseStart = System.nanoTime();
+            MatchResponseParser.ParsedMatch match = watcher.reader.finish();
+            streamParseTimer.record(watcher.parseNanos + System.nanoTime() - parseStart, TimeUnit.NANOSECONDS);
+            return toResult(resume, match);
             
-            // Return fallback result
-            return new MatchResult(resume, 0.0, "Error: " + e.getMessage());
+        } catch (Exception e) {
+            log.warn("Streaming LLM matching failed for resume {}: {}", resume.getId(), e.getMessage());
+            log.debug("Streaming LLM matching failure for resume {}", resume.getId(), e);
+            return fallback(resume, e);
         }
     }
     
-    private String buildMatchingPrompt(Resume resume, String jobDescription) {
-        String template = """
-                You are an expert resume screening AI assistant. Analyze the following resume against the job description.
-                
-                RESUME DETAILS:
-                Candidate Name: {candidateName}
-                Skills: {skills}
-                Experience: {experience}
-                Education: {education}
-                
-                JOB DESCRIPTION:
-                {jobDescription}
-                
-                INSTRUCTIONS:
-                1. Compare the candidate's skills, experience, and education with the job requirements.
-                2. Rate the fit on a scale of 1-10 (where 10 is perfect match).
-                3. Provide a detailed justification for the score.
-                
-                RESPONSE FORMAT:
-                Score: [number between 1-10]
-                Justification: [detailed explanation covering skills match, experience relevance, education fit, strengths, and gaps]
-                
-                Now analyze and respond:
-                """;
+    public Map<String, Object> getStreamingStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("streamedCalls", streamedCalls.get());
+        stats.put("stoppedAfterScore", stoppedAfterScore.get());
+        stats.put("timeToScore", timeToScore.snapshot());
+        stats.put("timeToFullResponse", timeToFullResponse.snapshot());
+        return stats;
+    }
+    
+    /**
+     * Estimated prompt tokens per single-resume call, as sent and as they would have been
+     * with the full job description in place of its condensed brief.
+     */
+    public Map<String, Object> getPromptStats() {
+        long calls = promptCalls.get();
+        long sent = promptTokens.get();
+        long uncondensed = uncondensedPromptTokens.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("calls", calls);
+        stats.put("averagePromptTokens", calls == 0 ? 0 : sent / calls);
+        stats.put("averagePromptTokensUncondensed", calls == 0 ? 0 : uncondensed / calls);
+        stats.put("estimatedTokensSaved", uncondensed - sent);
+        stats.put("jobBriefs", jobBriefService.getStats());
+        return stats;
+    }
+    
+    public Map<String, Object> getParseStats() {
+        return responseParser.getStats();
+    }
+    
+    /**
+     * Scores several resumes with a single LLM round-trip. Each candidate is tagged with
+     * a stable ID in the prompt and the response is parsed back into per-candidate matches.
+     * Candidates that are missing or have no parseable score, or every candidate if
+     * the batch call itself fails, are re-scored with {@link #matchResumeWithJob}.
+     *
+     * @return results in the same order as {@code resumes}
+     */
+    public List<MatchResult> matchBatch(List<Resume> resumes, String jobDescription) {
+        List<MatchResult> results = new ArrayList<>(Collections.nCopies(resumes.size(), null));
         
-        PromptTemplate promptTemplate = new PromptTemplate(template);
-        Prompt prompt = promptTemplate.create(Map.of(
-                "candidateName", resume.getCandidateName(),
-                "skills", resume.getSkills(),
-                "experience", resume.getExperience(),
-                "education", resume.getEducation(),
-                "jobDescription", jobDescription
-        ));
+        try {
+            JobBrief brief = jobBriefService.brief(jobDescription);
+            String prompt = batchPromptTimer.record(() -> buildBatchPrompt(resumes, brief));
+            recordTokensSaved(resumes, brief, prompt);
+            
+            log.debug("Scoring a batch of {} resumes with the LLM", resumes.size());
+            log.trace("LLM batch prompt:\n{}", prompt);
+            
+            String llmResponse = chatClient.call(prompt);
+            
+            log.trace("LLM batch response:\n{}", llmResponse);
+            
+            Map<String, MatchResponseParser.ParsedMatch> matches =
+                    batchParseTimer.record(() -> responseParser.parseBatch(llmResponse));
+            for (int i = 0; i < resumes.size(); i++) {
+                MatchResponseParser.ParsedMatch match = matches.get(candidateId(resumes.get(i), i));
+                if (match != null) {
+                    results.set(i, toResult(resumes.get(i), match));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Batch LLM matching of {} resumes failed, scoring them one by one: {}",
+                    resumes.size(), e.getMessage());
+        }
         
-        return prompt.getContents();
+        // Fall back to one call per candidate the batch response did not cover
+        for (int i = 0; i < resumes.size(); i++) {
+            if (results.get(i) == null) {
+                batchRescored.increment();
+                results.set(i, matchResumeWithJob(resumes.get(i), jobDescription));
+            }
+        }
+        return results;
+    }
+    
+    public Map<String, Object> getBatchStats() {
+        long batches = batchCount.get();
+        long saved = batchTokensSaved.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("batches", batches);
+        stats.put("estimatedTokensSaved", saved);
+        stats.put("averageTokensSavedPerBatch", batches == 0 ? 0 : saved / batches);
+        stats.put("lastBatchTokensSaved", lastBatchTokensSaved);
+        return stats;
     }
     
-    private Double extractScore(String llmResponse) {
-        // Extract score from response
-        Pattern scorePattern = Pattern.compile("Score:\\s*(\\d+\\.?\\d*)");
-        Matcher matcher = scorePattern.matcher(llmResponse);
+    /** Feeds a streamed response to the parser and stops reading once the score is below the threshold. */
+    private static final class ScoreWatcher implements Predicate<CharSequence> {
+        private final double threshold;
+        private final MatchResponseParser responseParser;
+        private MatchResponseParser.Reader reader;
+        private int fed;
+        private Double score;
+        private long scoreAt;
+        private long parseNanos;
+        private boolean stopped;
         
-        if (matcher.find()) {
-            try {
-                return Double.parseDouble(matcher.group(1));
-            } catch (NumberFormatException e) {
-                return 5.0; // Default score
-            }
+        private ScoreWatcher(double threshold, MatchResponseParser responseParser) {
+            this.threshold = threshold;
+            this.responseParser = responseParser;
+            this.reader = responseParser.single();
         }
         
-        // Fallback: look for any number between 1-10
-        Pattern fallbackPattern = Pattern.compile("(\\d+\\.?\\d*)/10|rating.*?(\\d+\\.?\\d*)");
-        matcher = fallbackPattern.matcher(llmResponse);
-        if (matcher.find()) {
-            String scoreStr = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-            try {
-                return Double.parseDouble(scoreStr);
-            } catch (NumberFormatException e) {
-                return 5.0;
+        @Override
+        public boolean test(CharSequence text) {
+            if (text.length() < fed) {
+                // A retried call starts the response over
+                reader = responseParser.single();
+                fed = 0;
+            }
+            long start = System.nanoTime();
+            reader.feed(text.subSequence(fed, text.length()));
+            fed = text.length();
+            parseNanos += System.nanoTime() - start;
+            if (score == null) {
+                score = reader.score();
+                if (score == null) {
+                    return true;
+                }
+                scoreAt = System.nanoTime();
+                stopped = score < threshold;
             }
+            return !stopped;
+        }
+    }
+    
+    private MatchResult toResult(Resume resume, MatchResponseParser.ParsedMatch match) {
+        if (match == null) {
+            unparseableFailures.increment();
+            MatchResult failed = new MatchResult(resume, null, "Error: could not parse a score from the LLM response");
+            failed.setStatus(MatchStatus.FAILED);
+            return failed;
+        }
+        MatchResult result = new MatchResult(resume, match.getScore(), match.getJustification());
+        result.setSkillMatches(match.getSkillMatches());
+        result.setGaps(match.getGaps());
+        return result;
+    }
+    
+    /** Count, mean and max of a latency, in milliseconds when reported. */
+    private static final class LatencyStat {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        
+        void record(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
         }
         
-        return 5.0; // Default fallback
+        Map<String, Object> snapshot() {
+            long n = count.get();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("count", n);
+            snapshot.put("averageMillis", n == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.get() / n));
+            snapshot.put("maxMillis", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+            return snapshot;
+        }
     }
     
-    private String extractJustification(String llmResponse) {
-        // Extract justification from response
-        Pattern justificationPattern = Pattern.compile("Justification:\\s*(.+)", Pattern.DOTALL);
-        Matcher matcher = justificationPattern.matcher(llmResponse);
+    private String buildBatchPrompt(List<Resume> resumes, JobBrief brief) {
+        StringBuilder prompt = new StringBuilder(1024 + brief.getText().length() + resumes.size() * 1024);
+        prompt.append("You are an expert resume screening AI assistant. ")
+                .append("Analyze each of the following candidates against the job requirements independently.\n\n")
+                .append("JOB REQUIREMENTS:\n")
+                .append(brief.getText())
+                .append("\n\nCANDIDATES:\n");
         
-        if (matcher.find()) {
-            return matcher.group(1).trim();
+        for (int i = 0; i < resumes.size(); i++) {
+            Resume resume = resumes.get(i);
+            prompt.append("\nCandidate ID: ").append(candidateId(resume, i)).append('\n')
+                    .append("Candidate Name: ").append(resume.getCandidateName()).append('\n')
+                    .append("Skills: ").append(resume.getSkills()).append('\n')
+                    .append("Experience: ").append(resume.getExperience()).append('\n')
+                    .append("Education: ").append(resume.getEducation()).append('\n');
         }
         
-        // If no explicit justification section, return the whole response
-        return llmResponse;
+        prompt.append("""
+                
+                INSTRUCTIONS:
+                1. Compare each candidate's skills, experience, and education with the job requirements.
+                2. Rate each candidate's fit on a scale of 1-10 (where 10 is perfect match). Do not rank candidates against each other.
+                3. Provide a detailed justification for each score.
+                
+                """)
+                .append(MatchResponseParser.BATCH_FORMAT)
+                .append("\nNow analyze and respond:\n");
+        return prompt.toString();
+    }
+    
+    private static String candidateId(Resume resume, int position) {
+        return resume.getId() != null ? "R" + resume.getId() : "C" + (position + 1);
+    }
+    
+    // Rough estimate (about four characters per token) of the prompt tokens batching avoided
+    private void recordTokensSaved(List<Resume> resumes, JobBrief brief, String batchPrompt) {
+        long singlePromptChars = 0;
+        for (Resume resume : resumes) {
+            singlePromptChars += buildMatchingPrompt(resume, brief).length();
+        }
+        long saved = Math.max(0, (singlePromptChars - batchPrompt.length()) / 4);
+        lastBatchTokensSaved = saved;
+        batchCount.incrementAndGet();
+        batchTokensSaved.addAndGet(saved);
+    }
+    
+    /**
+     * The job-specific part comes pre-rendered from the brief, so per resume this only
+     * appends the candidate's fields.
+     */
+    public String buildMatchingPrompt(Resume resume, JobBrief brief) {
+        String prefix = brief.getPromptPrefix();
+        StringBuilder prompt = new StringBuilder(prefix.length() + 512 + length(resume.getSkills())
+                + length(resume.getExperience()) + length(resume.getEducation()));
+        prompt.append(prefix)
+                .append("Name: ").append(resume.getCandidateName()).append('\n')
+                .append("Skills: ").append(resume.getSkills()).append('\n')
+                .append("Experience: ").append(resume.getExperience()).append('\n')
+                .append("Education: ").append(resume.getEducation()).append('\n')
+                .append("\nNow analyze and respond:\n");
+        return prompt.toString();
+    }
+    
+    private void recordPromptTokens(String prompt, JobBrief brief) {
+        long tokens = RateLimitedChatClient.estimateTokens(prompt);
+        promptCalls.incrementAndGet();
+        promptTokens.addAndGet(tokens);
+        uncondensedPromptTokens.addAndGet(tokens - brief.getCondensedTokens() + brief.getRawTokens());
+    }
+    
+    private static int length(String field) {
+        return field == null ? 4 : field.length();
     }
 }
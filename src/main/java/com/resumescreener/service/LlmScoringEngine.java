@@ -0,0 +1,98 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.MatchStatus;
+import com.resumescreener.model.Resume;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Scores every resume with the LLM through {@link ParallelMatchingService}.
+ *
+ * With {@code scoring.llm-fallback} (the default) a resume whose LLM call failed, for
+ * example because the provider is rate-limiting or down, gets the local score instead
+ * of none. Its justification says so and {@link MatchResult#getEngine()} is
+ * {@code "local"} (counted in {@code resume.match.fallback}). Without it the resume is
+ * reported as failed, with no score. Timed-out resumes are still reported as timed out.
+ */
+@Service
+public class LlmScoringEngine implements ScoringEngine {
+
+    public static final String NAME = "llm";
+
+    private static final Logger log = LoggerFactory.getLogger(LlmScoringEngine.class);
+
+    private final ParallelMatchingService parallelMatchingService;
+    private final LocalScoringEngine localScoringEngine;
+    private final boolean fallbackToLocal;
+    private final Counter fallbackScores;
+
+    @Autowired
+    public LlmScoringEngine(ParallelMatchingService parallelMatchingService,
+                            LocalScoringEngine localScoringEngine,
+                            MeterRegistry meterRegistry,
+                            @Value("${scoring.llm-fallback:true}") boolean fallbackToLocal) {
+        this.parallelMatchingService = parallelMatchingService;
+        this.localScoringEngine = localScoringEngine;
+        this.fallbackToLocal = fallbackToLocal;
+        this.fallbackScores = Counter.builder("resume.match.fallback")
+                .description("Failed LLM results given the local score instead").tag("engine", LocalScoringEngine.NAME)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<MatchResult> scoreAll(List<Resume> resumes, String jobDescription, double threshold,
+                                      Consumer<MatchResult> onResult) throws InterruptedException {
+        if (!fallbackToLocal) {
+            return parallelMatchingService.matchAll(resumes, jobDescription, threshold, result -> {
+                result.setEngine(NAME);
+                onResult.accept(result);
+            });
+        }
+        LocalScoringEngine.JobProfile profile = localScoringEngine.profile(jobDescription);
+        Map<Long, Resume> resumesById = new HashMap<>();
+        for (Resume resume : resumes) {
+            resumesById.put(resume.getId(), resume);
+        }
+        // Results are patched in place before they are published, so the returned list
+        // (which holds the same instances) carries the fallback scores too
+        return parallelMatchingService.matchAll(resumes, jobDescription, threshold, result -> {
+            if (result.getStatus() == MatchStatus.FAILED) {
+                applyFallback(result, resumesById.get(result.getResumeId()), profile);
+            } else {
+                result.setEngine(NAME);
+            }
+            onResult.accept(result);
+        });
+    }
+
+    private void applyFallback(MatchResult failed, Resume resume, LocalScoringEngine.JobProfile profile) {
+        if (resume == null) {
+            return;
+        }
+        log.warn("LLM scoring failed for resume {}, using local score: {}", failed.getResumeId(),
+                failed.getJustification());
+        fallbackScores.increment();
+        MatchResult local = localScoringEngine.score(resume, profile);
+        failed.setMatchScore(local.getMatchScore());
+        failed.setJustification("LLM scoring failed (" + failed.getJustification() + "); "
+                + local.getJustification());
+        failed.setStatus(MatchStatus.SCORED);
+        failed.setEngine(LocalScoringEngine.NAME);
+    }
+}
@@ -0,0 +1,384 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.Resume;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Deterministic in-process scorer. No network, no model: the same resume and job
+ * description always get the same score.
+ *
+ * The job description is analysed once into a {@link JobProfile}: the skills the
+ * {@link SkillExtractor} finds in it, up to 64 other keywords, and the highest degree it
+ * mentions. Each resume is then scored on
+ * <ul>
+ *   <li>skill overlap - share of the job's skills in the resume's skills (weight 0.6),</li>
+ *   <li>experience keywords - job keywords found in the experience section (0.25),</li>
+ *   <li>education - whether the resume's degree meets the job's (0.15),</li>
+ * </ul>
+ * mapped onto 1-10. Resume fields are scanned with hashed words against primitive tables,
+ * so scoring a resume allocates little beyond its justification text.
+ */
+@Service
+public class LocalScoringEngine implements ScoringEngine {
+
+    public static final String NAME = "local";
+
+    private static final double SKILL_WEIGHT = 0.6;
+    private static final double KEYWORD_WEIGHT = 0.25;
+    private static final double EDUCATION_WEIGHT = 0.15;
+    /** Matching this many job keywords counts as full experience coverage. */
+    private static final int KEYWORD_TARGET = 10;
+    /** Terms are tracked in a 64-bit mask per resume. */
+    private static final int MAX_TERMS = 64;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    /** Lowercased ASCII word characters; 0 for separators. */
+    private static final char[] ASCII_WORD_CHARS = new char[128];
+
+    static {
+        for (char c = 0; c < 128; c++) {
+            char lower = Character.toLowerCase(c);
+            if (Character.isLetterOrDigit(lower) || lower == '+' || lower == '#' || lower == '.') {
+                ASCII_WORD_CHARS[c] = lower;
+            }
+        }
+    }
+
+    private static final String[] EDUCATION_LEVELS = {"none", "diploma", "bachelor", "master", "doctorate"};
+    // Only dotted or unambiguous abbreviations: bare "ms" and "ba" are as often MS Office or BA (Hons) pending
+    private static final HashedTerms DEGREES = new HashedTerms(new String[][] {
+            {"diploma", "associate"},
+            {"bachelor", "bachelors", "b.tech", "b.e", "b.sc", "bsc", "b.s", "b.a", "undergraduate"},
+            {"master", "masters", "m.tech", "m.sc", "msc", "m.s", "mba", "m.e", "postgraduate"},
+            {"phd", "ph.d", "doctorate", "doctoral"}
+    });
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "the", "and", "for", "with", "you", "your", "our", "are", "will", "who", "that", "this",
+            "have", "has", "from", "into", "able", "strong", "good", "excellent", "experience",
+            "experienced", "years", "year", "work", "working", "team", "role", "job", "candidate",
+            "looking", "must", "should", "plus", "including", "etc", "knowledge", "skills",
+            "ability", "required", "preferred", "responsibilities", "requirements", "we", "is", "of",
+            "in", "to", "a", "an", "or", "on", "as", "be", "at", "by", "its", "their", "they"));
+
+    private final SkillExtractor skillExtractor;
+
+    @Autowired
+    public LocalScoringEngine(SkillExtractor skillExtractor) {
+        this.skillExtractor = skillExtractor;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<MatchResult> scoreAll(List<Resume> resumes, String jobDescription, double threshold,
+                                      Consumer<MatchResult> onResult) {
+        JobProfile profile = profile(jobDescription);
+        List<MatchResult> results = new ArrayList<>(resumes.size());
+        for (Resume resume : resumes) {
+            MatchResult result = score(resume, profile);
+            results.add(result);
+            onResult.accept(result);
+        }
+        return results;
+    }
+
+    /** What the scorer needs from a job description; build once per request. */
+    public static final class JobProfile {
+        private final String[] skills;
+        private final HashedTerms skillTerms;
+        private final HashedTerms keywordTerms;
+        private final int keywordCount;
+        private final int requiredEducation;
+
+        private JobProfile(String[] skills, String[] keywords, int requiredEducation) {
+            this.skills = skills;
+            this.skillTerms = new HashedTerms(singletons(skills));
+            this.keywordTerms = new HashedTerms(singletons(keywords));
+            this.keywordCount = keywords.length;
+            this.requiredEducation = requiredEducation;
+        }
+
+        public int getSkillCount() { return skills.length; }
+
+        public int getKeywordCount() { return keywordCount; }
+
+        public String getRequiredEducation() { return EDUCATION_LEVELS[requiredEducation]; }
+
+        private static String[][] singletons(String[] terms) {
+            String[][] groups = new String[terms.length][];
+            for (int i = 0; i < terms.length; i++) {
+                groups[i] = new String[] {terms[i]};
+            }
+            return groups;
+        }
+    }
+
+    public JobProfile profile(String jobDescription) {
+        List<String> skills = new ArrayList<>();
+        Set<Long> skillWords = new HashSet<>();
+        for (String skill : skillExtractor.extract(jobDescription).keySet()) {
+            if (skills.size() == MAX_TERMS) {
+                break;
+            }
+            skills.add(skill);
+            forEachWordHash(skill, hash -> skillWords.add(hash));
+        }
+
+        // Keywords: distinct content words that are not already counted as skills
+        List<String> keywords = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int requiredEducation = 0;
+        for (String word : SkillIndexService.tokenize(jobDescription)) {
+            long hash = hash(word);
+            int degree = DEGREES.get(hash);
+            requiredEducation = Math.max(requiredEducation, degree);
+            if (keywords.size() < MAX_TERMS && degree == 0 && word.length() > 2 && !STOP_WORDS.contains(word)
+                    && !skillWords.contains(hash) && seen.add(word)) {
+                keywords.add(word);
+            }
+        }
+        return new JobProfile(skills.toArray(new String[0]), keywords.toArray(new String[0]), requiredEducation);
+    }
+
+    public MatchResult score(Resume resume, JobProfile profile) {
+        long skillMask = matchSkills(resume.getSkills(), profile.skillTerms);
+        long keywordMask = matchWords(resume.getExperience(), profile.keywordTerms);
+        int education = educationLevel(resume.getEducation());
+
+        int matchedSkills = Long.bitCount(skillMask);
+        int matchedKeywords = Long.bitCount(keywordMask);
+        double weighted = 0;
+        double weights = EDUCATION_WEIGHT;
+        if (profile.skills.length > 0) {
+            weighted += SKILL_WEIGHT * matchedSkills / profile.skills.length;
+            weights += SKILL_WEIGHT;
+        }
+        if (profile.keywordCount > 0) {
+            weighted += KEYWORD_WEIGHT * Math.min(1.0,
+                    (double) matchedKeywords / Math.min(profile.keywordCount, KEYWORD_TARGET));
+            weights += KEYWORD_WEIGHT;
+        }
+        double educationFit = profile.requiredEducation == 0 ? 1.0
+                : Math.min(1.0, (double) education / profile.requiredEducation);
+        weighted += EDUCATION_WEIGHT * educationFit;
+
+        double score = Math.round((1 + 9 * weighted / weights) * 10) / 10.0;
+        MatchResult result = new MatchResult(resume, score,
+                justification(profile, skillMask, matchedKeywords, education));
+        result.setEngine(NAME);
+        return result;
+    }
+
+    private static String justification(JobProfile profile, long skillMask, int matchedKeywords, int education) {
+        StringBuilder text = new StringBuilder(160);
+        text.append("Local score. Skills: ").append(Long.bitCount(skillMask)).append('/')
+                .append(profile.skills.length).append(" required skills matched");
+        appendSkills(text, "; matched: ", profile.skills, skillMask);
+        appendSkills(text, "; missing: ", profile.skills, ~skillMask);
+        text.append(". Experience: ").append(matchedKeywords).append(" of ")
+                .append(profile.keywordCount).append(" job keywords. Education: ")
+                .append(EDUCATION_LEVELS[education]);
+        if (profile.requiredEducation > 0) {
+            text.append(" (job asks for ").append(EDUCATION_LEVELS[profile.requiredEducation]).append(')');
+        }
+        return text.append('.').toString();
+    }
+
+    private static void appendSkills(StringBuilder text, String label, String[] skills, long mask) {
+        boolean first = true;
+        for (int i = 0; i < skills.length; i++) {
+            if ((mask & (1L << i)) != 0) {
+                text.append(first ? label : ", ").append(skills[i]);
+                first = false;
+            }
+        }
+    }
+
+    /** Matches whole comma-separated skill entries, case- and whitespace-insensitively. */
+    private static long matchSkills(String skills, HashedTerms terms) {
+        if (skills == null) {
+            return 0;
+        }
+        long mask = 0;
+        long hash = FNV_OFFSET;
+        boolean pendingSpace = false;
+        int length = 0;
+        for (int i = 0, n = skills.length(); i <= n; i++) {
+            char c = i < n ? skills.charAt(i) : ',';
+            if (c == ',') {
+                if (length > 0) {
+                    mask |= bit(terms.get(hash));
+                }
+                hash = FNV_OFFSET;
+                pendingSpace = false;
+                length = 0;
+            } else if (Character.isWhitespace(c)) {
+                pendingSpace = length > 0;
+            } else {
+                if (pendingSpace) {
+                    hash = (hash ^ ' ') * FNV_PRIME;
+                    pendingSpace = false;
+                }
+                hash = (hash ^ Character.toLowerCase(c)) * FNV_PRIME;
+                length++;
+            }
+        }
+        return mask;
+    }
+
+    private static long matchWords(String text, HashedTerms terms) {
+        return text == null ? 0 : scanWords(text, terms, false);
+    }
+
+    private static int educationLevel(String education) {
+        return education == null ? 0 : (int) scanWords(education, DEGREES, true);
+    }
+
+    private static long bit(int index) {
+        return index > 0 ? 1L << (index - 1) : 0;
+    }
+
+    private interface HashConsumer {
+        void accept(long hash);
+    }
+
+    /**
+     * Looks up every word of {@code text} in {@code terms} and returns either the bit mask
+     * of the matched terms or, with {@code max}, the largest value found. This is the hot
+     * loop of {@link #score}, so it is kept free of lambdas and classifies ASCII characters
+     * with one table load instead of a chain of comparisons.
+     */
+    private static long scanWords(String text, HashedTerms terms, boolean max) {
+        long result = 0;
+        long hash = FNV_OFFSET;
+        long hashBeforeDots = FNV_OFFSET;
+        boolean inWord = false;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? text.charAt(i) : ' ';
+            boolean wordChar;
+            if (c < 128) {
+                c = ASCII_WORD_CHARS[c];
+                wordChar = c != 0;
+            } else {
+                c = Character.toLowerCase(c);
+                wordChar = Character.isLetterOrDigit(c);
+            }
+            if (wordChar) {
+                hash = (hash ^ c) * FNV_PRIME;
+                if (c != '.') {
+                    hashBeforeDots = hash;
+                    inWord = true;
+                }
+                continue;
+            }
+            if (inWord) {
+                int value = terms.get(hashBeforeDots);
+                result = max ? Math.max(result, value) : result | bit(value);
+            }
+            hash = FNV_OFFSET;
+            hashBeforeDots = FNV_OFFSET;
+            inWord = false;
+        }
+        return result;
+    }
+
+    /**
+     * Hashes each lowercase word of {@code text} the way {@link #hash(String)} hashes a
+     * token from {@link SkillIndexService#tokenize}: letters, digits, '+', '#' and '.'
+     * inside a word are kept, trailing dots are not. Must agree with {@link #scanWords}.
+     */
+    private static void forEachWordHash(CharSequence text, HashConsumer consumer) {
+        long hash = FNV_OFFSET;
+        long hashBeforeDots = FNV_OFFSET;
+        int length = 0;
+        int lengthBeforeDots = 0;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c) || c == '+' || c == '#' || c == '.') {
+                hash = (hash ^ c) * FNV_PRIME;
+                length++;
+                if (c != '.') {
+                    hashBeforeDots = hash;
+                    lengthBeforeDots = length;
+                }
+                continue;
+            }
+            if (lengthBeforeDots > 0) {
+                consumer.accept(hashBeforeDots);
+            }
+            hash = FNV_OFFSET;
+            hashBeforeDots = FNV_OFFSET;
+            length = 0;
+            lengthBeforeDots = 0;
+        }
+    }
+
+    private static long hash(String term) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < term.length(); i++) {
+            hash = (hash ^ Character.toLowerCase(term.charAt(i))) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Open-addressing map from a term hash to a small positive value; 0 means absent.
+     * Every term in group {@code g} of the constructor argument maps to {@code g + 1}.
+     */
+    private static final class HashedTerms {
+        private final long[] keys;
+        private final int[] values;
+        private final int mask;
+
+        private HashedTerms(String[][] groups) {
+            int count = 0;
+            for (String[] group : groups) {
+                count += group.length;
+            }
+            int capacity = Integer.highestOneBit(Math.max(4, count * 4) - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+            for (int g = 0; g < groups.length; g++) {
+                for (String term : groups[g]) {
+                    put(hash(term), g + 1);
+                }
+            }
+        }
+
+        private void put(long key, int value) {
+            int slot = (int) (key ^ (key >>> 32)) & mask;
+            while (values[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (values[slot] == 0) {
+                keys[slot] = key;
+                values[slot] = value;
+            }
+        }
+
+        private int get(long key) {
+            int slot = (int) (key ^ (key >>> 32)) & mask;
+            while (values[slot] != 0) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.resumescreener.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.Resume;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache of LLM match results.
+ *
+ * Entries are keyed by a SHA-256 over the resume's structured fields plus a job key
+ * (normalized job description, model name and prompt version), so editing any of
+ * those naturally misses. The cache is LRU-bounded, entries expire after a TTL, and
+ * it can optionally be written to disk on shutdown and reloaded on startup. Lookups are
+ * counted in {@code resume.match.cache} tagged hit or miss.
+ */
+@Service
+public class MatchCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchCacheService.class);
+
+    private final ObjectMapper objectMapper;
+    private final String modelName;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final String persistenceFile;
+
+    private final LinkedHashMap<String, CachedMatch> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    // Unlike the stats above these are never reset, as Prometheus counters must not go down
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Autowired
+    public MatchCacheService(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${spring.ai.openai.chat.options.model:unknown}") String modelName,
+                             @Value("${match.cache.max-entries:10000}") int maxEntries,
+                             @Value("${match.cache.ttl:24h}") Duration ttl,
+                             @Value("${match.cache.file:}") String persistenceFile) {
+        this.objectMapper = objectMapper;
+        this.modelName = modelName;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.persistenceFile = persistenceFile;
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedMatch> eldest) {
+                return size() > MatchCacheService.this.maxEntries;
+            }
+        };
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("resume.match.cache").description("Match cache lookups").tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Digest of everything on the job side of the key. Compute once per match run
+     * and pass to {@link #get} / {@link #put} for each resume.
+     */
+    public String jobKey(String jobDescription) {
+        return sha256(normalize(jobDescription), modelName, LLMMatchingService.PROMPT_VERSION);
+    }
+
+    public MatchResult get(Resume resume, String jobKey) {
+        String key = resumeKey(resume, jobKey);
+        CachedMatch cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+            if (cached != null && isExpired(cached)) {
+                entries.remove(key);
+                cached = null;
+            }
+        }
+        if (cached == null) {
+            misses.incrementAndGet();
+            missCounter.increment();
+            return null;
+        }
+        hits.incrementAndGet();
+        hitCounter.increment();
+        MatchResult result = new MatchResult(resume, cached.getScore(), cached.getJustification());
+        result.setFromCache(true);
+        result.setJustificationComplete(cached.isJustificationComplete());
+        result.setSkillMatches(cached.getSkillMatches());
+        result.setGaps(cached.getGaps());
+        return result;
+    }
+
+    public void put(Resume resume, String jobKey, MatchResult result) {
+        CachedMatch cached = new CachedMatch(result.getMatchScore(), result.getJustification(), System.currentTimeMillis());
+        cached.setJustificationComplete(result.isJustificationComplete());
+        cached.setSkillMatches(result.getSkillMatches());
+        cached.setGaps(result.getGaps());
+        synchronized (entries) {
+            entries.put(resumeKey(resume, jobKey), cached);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        return stats;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (persistenceFile.isBlank()) {
+            return;
+        }
+        Path path = Paths.get(persistenceFile);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            Map<String, CachedMatch> stored = objectMapper.readValue(path.toFile(),
+                    new TypeReference<Map<String, CachedMatch>>() {});
+            synchronized (entries) {
+                stored.forEach((key, cached) -> {
+                    if (!isExpired(cached)) {
+                        entries.put(key, cached);
+                    }
+                });
+            }
+            log.info("Loaded {} cached match results from {}", entries.size(), path);
+        } catch (IOException e) {
+            log.warn("Could not load match cache from {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void save() {
+        if (persistenceFile.isBlank()) {
+            return;
+        }
+        Path path = Paths.get(persistenceFile);
+        try {
+            Map<String, CachedMatch> snapshot;
+            synchronized (entries) {
+                snapshot = new HashMap<>(entries);
+            }
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), snapshot);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not persist match cache to {}: {}", path, e.getMessage());
+        }
+    }
+
+    private boolean isExpired(CachedMatch cached) {
+        return System.currentTimeMillis() - cached.getCreatedAt() > ttlMillis;
+    }
+
+    private String resumeKey(Resume resume, String jobKey) {
+        return sha256(resume.getCandidateName(), resume.getSkills(), resume.getExperience(),
+                resume.getEducation(), jobKey);
+    }
+
+    static String normalize(String jobDescription) {
+        return jobDescription.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String sha256(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                // Separator so ("ab", "c") and ("a", "bc") hash differently
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static class CachedMatch {
+        private Double score;
+        private String justification;
+        private long createdAt;
+        // Entries written before streaming had full justifications
+        private boolean justificationComplete = true;
+        private List<String> skillMatches;
+        private List<String> gaps;
+
+        public CachedMatch() {
+        }
+
+        public CachedMatch(Double score, String justification, long createdAt) {
+            this.score = score;
+            this.justification = justification;
+            this.createdAt = createdAt;
+        }
+
+        public Double getScore() { return score; }
+        public void setScore(Double score) { this.score = score; }
+
+        public String getJustification() { return justification; }
+        public void setJustification(String justification) { this.justification = justification; }
+
+        public long getCreatedAt() { return createdAt; }
+        public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+
+        public boolean isJustificationComplete() { return justificationComplete; }
+        public void setJustificationComplete(boolean justificationComplete) { this.justificationComplete = justificationComplete; }
+
+        public List<String> getSkillMatches() { return skillMatches; }
+        public void setSkillMatches(List<String> skillMatches) { this.skillMatches = skillMatches; }
+
+        public List<String> getGaps() { return gaps; }
+        public void setGaps(List<String> gaps) { this.gaps = gaps; }
+    }
+}
@@ -0,0 +1,116 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.MatchRun;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory state of one asynchronous match: either a full run, whose {@link MatchRun}
+ * shares the job's id, or a delta match adding to an earlier run. All mutation goes
+ * through {@link MatchJobService} under the job's {@link #lock()}. That is a
+ * {@link ReentrantLock} rather than the job's monitor because SSE events are written
+ * while it is held, and a virtual thread blocked on I/O inside {@code synchronized}
+ * would pin its carrier thread.
+ */
+public class MatchJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    private final String id;
+    private final MatchRun run;
+    private final CandidateSelection selection;
+    private final Instant createdAt = Instant.now();
+
+    private final List<MatchResult> results = new ArrayList<>();
+    private final List<SseEmitter> emitters = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile Boolean stored;
+    private Future<?> task;
+
+    public MatchJob(String id, MatchRun run, CandidateSelection selection) {
+        this.id = id;
+        this.run = run;
+        this.selection = selection;
+    }
+
+    public String getId() { return id; }
+
+    /** The run this job's results are saved to. */
+    public MatchRun getRun() { return run; }
+
+    public String getRunId() { return run.getId(); }
+
+    /** True for a delta match, which only scores resumes its run has not scored yet. */
+    public boolean isDelta() { return !id.equals(run.getId()); }
+
+    /** Number of resumes sent to scoring, after pre-filtering. */
+    public int getTotal() { return selection.getCandidates().size(); }
+
+    public CandidateSelection getSelection() { return selection; }
+
+    public double getThreshold() { return run.getThreshold(); }
+
+    /** Name of the {@link ScoringEngine} scoring this job. */
+    public String getEngine() { return run.getEngine(); }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    public Status getStatus() { return status; }
+    void setStatus(Status status) { this.status = status; }
+
+    public Instant getFinishedAt() { return finishedAt; }
+    void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getError() { return error; }
+    void setError(String error) { this.error = error; }
+
+    /** Whether the results were saved to the run; null until the job has completed. */
+    public Boolean getStored() { return stored; }
+    void setStored(Boolean stored) { this.stored = stored; }
+
+    public boolean isFinished() { return status != Status.RUNNING; }
+
+    public int getCompleted() {
+        lock.lock();
+        try {
+            return results.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Snapshot of the results received so far, in completion order. */
+    public List<MatchResult> getResults() {
+        lock.lock();
+        try {
+            return new ArrayList<>(results);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Lock lock() { return lock; }
+
+    List<MatchResult> results() { return results; }
+
+    List<SseEmitter> emitters() { return emitters; }
+
+    Future<?> getTask() { return task; }
+    void setTask(Future<?> task) { this.task = task; }
+}
@@ -0,0 +1,381 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.MatchRun;
+import com.resumescreener.model.Resume;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Runs /api/match in the background. A job scores its resumes with the requested
+ * {@link ScoringEngine} and pushes every result to subscribed
+ * Server-Sent Event streams as soon as it is available. Finished jobs are kept
+ * for {@code match.jobs.retention} so late pollers can still read them. Results are
+ * also saved to a {@link MatchRun} through {@link MatchRunService} while they arrive, so
+ * a completed job stays readable by run id after that and across restarts; a job whose
+ * results could not be saved reports {@code "stored": false} in its summary.
+ */
+@Service
+public class MatchJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchJobService.class);
+
+    // Rows built and saved per transaction; a multiple of hibernate.jdbc.batch_size
+    static final int STORE_CHUNK = 500;
+
+    private final ScoringService scoringService;
+    private final MatchRunService matchRunService;
+    private final ExecutorService jobExecutor;
+    private final Duration retention;
+    private final long streamTimeoutMillis;
+    private final Timer saveTimer;
+
+    private final Map<String, MatchJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MatchJobService(ScoringService scoringService,
+                           MatchRunService matchRunService,
+                           MeterRegistry meterRegistry,
+                           @Value("${match.jobs.max-running:4}") int maxRunning,
+                           @Value("${match.jobs.retention:30m}") Duration retention,
+                           @Value("${match.jobs.stream-timeout:30m}") Duration streamTimeout,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.scoringService = scoringService;
+        this.matchRunService = matchRunService;
+        this.jobExecutor = WorkerExecutors.newExecutor("match-job-", maxRunning, virtualThreads);
+        this.retention = retention;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+        this.saveTimer = meterRegistry.timer("resume.db.save", "entity", "match_run", "mode", "batch");
+    }
+
+    /** Scores a new run (see {@link MatchRunService#newRun}); the job takes the run's id. */
+    public MatchJob submit(MatchRun run, CandidateSelection selection) {
+        return start(new MatchJob(run.getId(), run, selection));
+    }
+
+    /**
+     * Scores the resumes a stored run has not scored yet (see {@link MatchRunService#selectChanged})
+     * under a new job id, and merges the results into the run when done.
+     */
+    public MatchJob submitDelta(MatchRun run, CandidateSelection selection) {
+        return start(new MatchJob(UUID.randomUUID().toString(), run, selection));
+    }
+
+    private MatchJob start(MatchJob job) {
+        List<Resume> resumes = job.getSelection().getCandidates();
+        jobs.put(job.getId(), job);
+        job.lock().lock();
+        try {
+            job.setTask(jobExecutor.submit(() -> run(job, resumes, job.getRun().getJobDescription())));
+        } finally {
+            job.lock().unlock();
+        }
+        return job;
+    }
+
+    public MatchJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    /** Returns false if the job is unknown or already finished. */
+    public boolean cancel(String jobId) {
+        MatchJob job = jobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+        job.lock().lock();
+        try {
+            if (job.isFinished()) {
+                return false;
+            }
+            if (job.getTask() != null) {
+                job.getTask().cancel(true);
+            }
+            // Finish here as well: a job still queued behind others never reaches run()
+            finish(job, MatchJob.Status.CANCELLED, null);
+        } finally {
+            job.lock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Opens an event stream for the job. Results already scored are replayed first,
+     * followed by live {@code result} and {@code progress} events and a final
+     * {@code done} event.
+     */
+    public SseEmitter subscribe(MatchJob job) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Runnable unsubscribe = () -> {
+            job.lock().lock();
+            try {
+                job.emitters().remove(emitter);
+            } finally {
+                job.lock().unlock();
+            }
+        };
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        job.lock().lock();
+        try {
+            for (MatchResult result : job.results()) {
+                emitter.send(SseEmitter.event().name("result").data(result));
+            }
+            emitter.send(SseEmitter.event().name("progress").data(progress(job)));
+            if (job.isFinished()) {
+                emitter.send(SseEmitter.event().name("done").data(summary(job)));
+                emitter.complete();
+            } else {
+                job.emitters().add(emitter);
+            }
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        } finally {
+            job.lock().unlock();
+        }
+        return emitter;
+    }
+
+    public Map<String, Object> progress(MatchJob job) {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("jobId", job.getId());
+        progress.put("runId", job.getRunId());
+        progress.put("delta", job.isDelta());
+        progress.put("status", job.getStatus());
+        progress.put("engine", job.getEngine());
+        progress.put("completed", job.getCompleted());
+        progress.put("total", job.getTotal());
+        return progress;
+    }
+
+    public Map<String, Object> summary(MatchJob job) {
+        List<MatchResult> results = job.getResults();
+        // Counts only; the results themselves are paged by the caller
+        MatchRanker.Ranking ranking = MatchRanker.rank(results, job.getThreshold(), 0, 0);
+        Map<String, Object> summary = progress(job);
+        summary.put("poolSize", job.getSelection().getPoolSize());
+        summary.put("shortlistedCount", ranking.getShortlistedCount());
+        summary.put("rejectedCount", ranking.getRejectedCount());
+        summary.put("timedOutCount", ranking.getTimedOutCount());
+        summary.put("failedCount", ranking.getFailedCount());
+        summary.put("removedByStage", job.getSelection().withThresholdStage(ranking.getRejectedCount()));
+        summary.put("cachedCount", ranking.getCachedCount());
+        if (job.getStored() != null) {
+            summary.put("stored", job.getStored());
+            if (!job.getStored() && !job.isDelta()) {
+                // Never saved, so there is no run to read back once the job is evicted
+                summary.remove("runId");
+            }
+        }
+        if (job.getError() != null) {
+            summary.put("error", job.getError());
+        }
+        return summary;
+    }
+
+    @Scheduled(fixedDelayString = "${match.jobs.eviction-interval:60000}")
+    public void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        Iterator<MatchJob> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            MatchJob job = iterator.next();
+            if (job.isFinished() && job.getFinishedAt().isBefore(cutoff)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void run(MatchJob job, List<Resume> resumes, String jobDescription) {
+        try {
+            RunWriter writer = writer(job.getRun(), job.getSelection());
+            scoringService.scoreAll(job.getEngine(), resumes, jobDescription, job.getThreshold(), result -> {
+                if (onResult(job, result)) {
+                    writer.accept(result);
+                }
+            });
+            boolean stored = writer.close();
+            job.setStored(stored);
+            finish(job, MatchJob.Status.COMPLETED, stored ? null
+                    : "Results could not be saved; they are kept only until the job is evicted");
+        } catch (InterruptedException e) {
+            finish(job, MatchJob.Status.CANCELLED, null);
+        } catch (Exception e) {
+            log.error("Match job {} failed: {}", job.getId(), e.getMessage(), e);
+            finish(job, MatchJob.Status.FAILED, e.getMessage());
+        }
+    }
+
+    /** A writer that saves the run's results while it is being scored; see {@link RunWriter}. */
+    public RunWriter writer(MatchRun run, CandidateSelection selection) {
+        return new RunWriter(run, selection);
+    }
+
+    /**
+     * Saves a run's results {@value #STORE_CHUNK} at a time as they arrive, so the rows for
+     * a large pool are never built all at once. Pass it as the scoring callback and
+     * {@link #close()} it after scoring returns. Each chunk is its own transaction: a run
+     * that fails half way keeps the chunks already saved, and a delta match picks up the
+     * rest. Thread-safe: the worker that fills a chunk takes it out of the buffer and saves
+     * it outside the buffer lock, so the other workers keep adding results meanwhile.
+     */
+    public final class RunWriter implements Consumer<MatchResult> {
+        private final MatchRun run;
+        private final CandidateSelection selection;
+        private final boolean replace;
+        private final ReentrantLock bufferLock = new ReentrantLock();
+        // Held while saving, so the run is saved once and before any of its results
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private List<MatchResult> pending = new ArrayList<>();
+        private Map<Long, String> contentHashes;
+        private boolean runSaved;
+        private volatile boolean failed;
+
+        private RunWriter(MatchRun run, CandidateSelection selection) {
+            this.run = run;
+            this.selection = selection;
+            // Only a run saved before (i.e. a delta match) can hold results to replace
+            this.replace = run.getCreatedAt() != null;
+        }
+
+        @Override
+        public void accept(MatchResult result) {
+            if (failed) {
+                return;
+            }
+            List<MatchResult> chunk = null;
+            bufferLock.lock();
+            try {
+                pending.add(result);
+                if (pending.size() >= STORE_CHUNK) {
+                    chunk = takePending();
+                }
+            } finally {
+                bufferLock.unlock();
+            }
+            if (chunk != null) {
+                write(chunk);
+            }
+        }
+
+        /** Saves what is left, and the run even if it has no results; false (and logs) if anything was refused. */
+        public boolean close() {
+            List<MatchResult> chunk;
+            bufferLock.lock();
+            try {
+                chunk = takePending();
+            } finally {
+                bufferLock.unlock();
+            }
+            write(chunk);
+            return !failed;
+        }
+
+        private List<MatchResult> takePending() {
+            List<MatchResult> chunk = pending;
+            pending = new ArrayList<>();
+            return chunk;
+        }
+
+        private void write(List<MatchResult> chunk) {
+            writeLock.lock();
+            try {
+                if (failed || (chunk.isEmpty() && runSaved)) {
+                    return;
+                }
+                saveTimer.record(() -> {
+                    if (!runSaved) {
+                        matchRunService.saveRun(run, selection);
+                        contentHashes = MatchRunService.contentHashes(selection);
+                        runSaved = true;
+                    }
+                    if (!chunk.isEmpty()) {
+                        matchRunService.recordResults(run.getId(), replace, contentHashes, chunk);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // A job's results are still served from memory until it is evicted
+                log.warn("Could not save match run {}: {}", run.getId(), e.getMessage());
+                failed = true;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /** Adds the result to a running job; false once the job has finished (e.g. been cancelled). */
+    private boolean onResult(MatchJob job, MatchResult result) {
+        job.lock().lock();
+        try {
+            if (job.isFinished()) {
+                return false;
+            }
+            job.results().add(result);
+            broadcast(job, "result", result);
+            broadcast(job, "progress", progress(job));
+            return true;
+        } finally {
+            job.lock().unlock();
+        }
+    }
+
+    private void finish(MatchJob job, MatchJob.Status status, String error) {
+        job.lock().lock();
+        try {
+            if (job.isFinished()) {
+                return;
+            }
+            job.setFinishedAt(Instant.now());
+            job.setError(error);
+            job.setStatus(status);
+            broadcast(job, "done", summary(job));
+            for (SseEmitter emitter : List.copyOf(job.emitters())) {
+                emitter.complete();
+            }
+            job.emitters().clear();
+        } finally {
+            job.lock().unlock();
+        }
+    }
+
+    private void broadcast(MatchJob job, String eventName, Object data) {
+        Iterator<SseEmitter> iterator = job.emitters().iterator();
+        while (iterator.hasNext()) {
+            SseEmitter emitter = iterator.next();
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(data));
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; drop the stream but keep the job running
+                iterator.remove();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+}
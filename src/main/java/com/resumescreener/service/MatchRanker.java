@@ -0,0 +1,247 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.MatchStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Ranking and threshold filtering shared by the synchronous /api/match endpoint
+ * and asynchronous match jobs.
+ */
+public final class MatchRanker {
+
+    public static final double DEFAULT_THRESHOLD = 6.0;
+
+    private MatchRanker() {
+    }
+
+    /**
+     * Returns scored results at or above {@code threshold}, best first. Timed-out and
+     * failed results carry no score and are never shortlisted.
+     */
+    public static List<MatchResult> shortlist(Collection<MatchResult> results, double threshold) {
+        return rank(results, threshold, 0, Integer.MAX_VALUE).getResults();
+    }
+
+    /**
+     * Ranks {@code results} in one pass and returns the shortlist entries from {@code offset}
+     * to {@code offset + limit}, best first; equal scores keep the order they came in. Only
+     * that many results are held at a time, in a heap keyed on the primitive score, so
+     * paging through the top of a large pool does not sort all of it. Results below the
+     * threshold are only counted; timed-out and failed ones are listed by id. A {@code limit} of 0 counts without returning any, and
+     * {@link Integer#MAX_VALUE} returns everything from {@code offset} on.
+     */
+    public static Ranking rank(Collection<MatchResult> results, double threshold, int offset, int limit) {
+        Accumulator accumulator = new Accumulator(threshold, offset, limit);
+        results.forEach(accumulator);
+        return accumulator.ranking();
+    }
+
+    /**
+     * Ranks results one at a time as they arrive, the way {@link #rank} does for a whole
+     * collection, so it can be passed as the {@code onResult} callback of a scoring run and
+     * the page is ready when the last result comes in. Equal scores keep the order they
+     * arrived in. Thread-safe.
+     */
+    public static final class Accumulator implements Consumer<MatchResult> {
+        private final double threshold;
+        private final int offset;
+        private final TopK top;
+        private final List<Long> timedOutIds = new ArrayList<>();
+        private final List<Long> failedIds = new ArrayList<>();
+        private int scored;
+        private int shortlisted;
+        private int rejected;
+        private int cached;
+
+        public Accumulator(double threshold, int offset, int limit) {
+            if (offset < 0 || limit < 0) {
+                throw new IllegalArgumentException("offset and limit must not be negative");
+            }
+            this.threshold = threshold;
+            this.offset = offset;
+            this.top = new TopK((int) Math.min(Integer.MAX_VALUE, (long) offset + limit));
+        }
+
+        @Override
+        public synchronized void accept(MatchResult result) {
+            if (result.isFromCache()) {
+                cached++;
+            }
+            if (result.getStatus() == MatchStatus.TIMED_OUT) {
+                timedOutIds.add(result.getResumeId());
+                return;
+            }
+            if (result.getStatus() == MatchStatus.FAILED) {
+                failedIds.add(result.getResumeId());
+                return;
+            }
+            scored++;
+            Double score = result.getMatchScore();
+            if (score == null || score < threshold) {
+                rejected++;
+                return;
+            }
+            top.offer(score, shortlisted++, result);
+        }
+
+        /** The ranking of everything accepted so far; call once, after the last result. */
+        public synchronized Ranking ranking() {
+            List<MatchResult> ranked = top.bestFirst();
+            List<MatchResult> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+            return new Ranking(page, scored, shortlisted, rejected, List.copyOf(timedOutIds), List.copyOf(failedIds),
+                    cached);
+        }
+    }
+
+    /** One page of a ranking, with counts for the whole of it. */
+    public static final class Ranking {
+        private final List<MatchResult> results;
+        private final int scoredCount;
+        private final int shortlistedCount;
+        private final int rejectedCount;
+        private final List<Long> timedOutIds;
+        private final List<Long> failedIds;
+        private final int cachedCount;
+
+        private Ranking(List<MatchResult> results, int scoredCount, int shortlistedCount, int rejectedCount,
+                        List<Long> timedOutIds, List<Long> failedIds, int cachedCount) {
+            this.results = results;
+            this.scoredCount = scoredCount;
+            this.shortlistedCount = shortlistedCount;
+            this.rejectedCount = rejectedCount;
+            this.timedOutIds = timedOutIds;
+            this.failedIds = failedIds;
+            this.cachedCount = cachedCount;
+        }
+
+        /** The requested page of the shortlist, best first. */
+        public List<MatchResult> getResults() { return results; }
+
+        /** Results that got a score: the shortlisted and the rejected. */
+        public int getScoredCount() { return scoredCount; }
+
+        /** Results at or above the threshold, on every page. */
+        public int getShortlistedCount() { return shortlistedCount; }
+
+        /** Scored results below the threshold. */
+        public int getRejectedCount() { return rejectedCount; }
+
+        public int getTimedOutCount() { return timedOutIds.size(); }
+
+        /** Resumes that ran out of time, in the order they came in. */
+        public List<Long> getTimedOutIds() { return timedOutIds; }
+
+        public int getFailedCount() { return failedIds.size(); }
+
+        /** Resumes whose scoring failed (e.g. the LLM call errored), in the order they came in. */
+        public List<Long> getFailedIds() { return failedIds; }
+
+        /** Results served from the match cache. */
+        public int getCachedCount() { return cachedCount; }
+    }
+
+    /**
+     * The best {@code capacity} results seen so far, as a binary min-heap over parallel
+     * arrays with the worst kept result at the root. A later result ranks below an
+     * earlier one with the same score.
+     */
+    private static final class TopK {
+        private final int capacity;
+        private double[] scores;
+        private int[] orders;
+        private MatchResult[] items;
+        private int size;
+
+        private TopK(int capacity) {
+            this.capacity = capacity;
+            int initial = Math.min(capacity, 64);
+            this.scores = new double[initial];
+            this.orders = new int[initial];
+            this.items = new MatchResult[initial];
+        }
+
+        void offer(double score, int order, MatchResult item) {
+            if (size < capacity) {
+                if (size == scores.length) {
+                    int grown = (int) Math.min(capacity, Math.max(1L, (long) size * 2));
+                    scores = Arrays.copyOf(scores, grown);
+                    orders = Arrays.copyOf(orders, grown);
+                    items = Arrays.copyOf(items, grown);
+                }
+                set(size, score, order, item);
+                siftUp(size++);
+            } else if (capacity > 0 && worse(scores[0], orders[0], score, order)) {
+                set(0, score, order, item);
+                siftDown(0);
+            }
+        }
+
+        /** Empties the heap into a list, best first. */
+        List<MatchResult> bestFirst() {
+            MatchResult[] ranked = new MatchResult[size];
+            while (size > 0) {
+                ranked[size - 1] = items[0];
+                size--;
+                set(0, scores[size], orders[size], items[size]);
+                items[size] = null;
+                siftDown(0);
+            }
+            return Arrays.asList(ranked);
+        }
+
+        /** True if entry a ranks below entry b. */
+        private static boolean worse(double scoreA, int orderA, double scoreB, int orderB) {
+            return scoreA < scoreB || (scoreA == scoreB && orderA > orderB);
+        }
+
+        private boolean worse(int a, int b) {
+            return worse(scores[a], orders[a], scores[b], orders[b]);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!worse(index, parent)) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    return;
+                }
+                int child = left + 1 < size && worse(left + 1, left) ? left + 1 : left;
+                if (!worse(child, index)) {
+                    return;
+                }
+                swap(index, child);
+                index = child;
+            }
+        }
+
+        private void set(int index, double score, int order, MatchResult item) {
+            scores[index] = score;
+            orders[index] = order;
+            items[index] = item;
+        }
+
+        private void swap(int a, int b) {
+            double score = scores[a];
+            int order = orders[a];
+            MatchResult item = items[a];
+            set(a, scores[b], orders[b], items[b]);
+            set(b, score, order, item);
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.resumescreener.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns LLM match responses into scores.
+ *
+ * The prompts ask for a JSON object ({@link #SINGLE_FORMAT}, {@link #BATCH_FORMAT}).
+ * It is read with Jackson's non-blocking parser, so a streamed response is parsed chunk by
+ * chunk as it arrives and the score is known as soon as its token is complete. Text around
+ * the object (prose, code fences) is skipped. Only if that fails are the old
+ * "Score:/Justification:" regexes tried, and a response without a score is reported as
+ * unparseable instead of being given a default. {@link #getStats()} counts each path.
+ */
+@Service
+public class MatchResponseParser {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchResponseParser.class);
+
+    public static final String SINGLE_FORMAT = """
+            RESPONSE FORMAT:
+            Respond with only this JSON object and no other text. Put "score" first.
+            {"score": <number from 1 to 10>, "skillMatches": ["<required skill the candidate has>"], \
+            "gaps": ["<requirement the candidate lacks>"], "justification": "<detailed explanation covering \
+            skills match, experience relevance, education fit, strengths, and gaps>"}
+            """;
+
+    public static final String BATCH_FORMAT = """
+            RESPONSE FORMAT:
+            Respond with only this JSON object and no other text: one entry per candidate, in the \
+            order given, using the exact Candidate ID.
+            {"candidates": [{"candidateId": "<candidate ID>", "score": <number from 1 to 10>, \
+            "skillMatches": ["<required skill the candidate has>"], "gaps": ["<requirement the candidate lacks>"], \
+            "justification": "<detailed explanation covering skills match, experience relevance, education fit, \
+            strengths, and gaps>"}]}
+            """;
+
+    private static final Pattern SCORE_PATTERN = Pattern.compile("Score:\\**\\s*(\\d+(?:\\.\\d+)?)");
+    private static final Pattern JUSTIFICATION_PATTERN = Pattern.compile("Justification:\\**\\s*(.+)", Pattern.DOTALL);
+    private static final Pattern CANDIDATE_ID_PATTERN = Pattern.compile("(?m)^\\W*Candidate ID:\\W*([A-Z]\\d+)");
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private final AtomicLong jsonParsed = new AtomicLong();
+    private final AtomicLong regexFallbacks = new AtomicLong();
+    private final AtomicLong unparseable = new AtomicLong();
+
+    /** How a response was understood. */
+    public enum Path {
+        JSON,
+        REGEX
+    }
+
+    public static final class ParsedMatch {
+        private String candidateId;
+        private Double score;
+        private String justification;
+        private List<String> skillMatches;
+        private List<String> gaps;
+        private Path path;
+
+        public String getCandidateId() { return candidateId; }
+
+        public Double getScore() { return score; }
+
+        public String getJustification() { return justification; }
+
+        public List<String> getSkillMatches() { return skillMatches; }
+
+        public List<String> getGaps() { return gaps; }
+
+        public Path getPath() { return path; }
+    }
+
+    /** Starts reading a single-candidate response. */
+    public Reader single() {
+        return new Reader(1);
+    }
+
+    /** Parses a complete single-candidate response; null if it has no usable score. */
+    public ParsedMatch parse(String response) {
+        Reader reader = single();
+        reader.feed(response);
+        return reader.finish();
+    }
+
+    /**
+     * Parses a complete batch response into matches by candidate ID. Candidates without a
+     * usable score are missing from the map.
+     */
+    public Map<String, ParsedMatch> parseBatch(String response) {
+        Reader reader = new Reader(3);
+        reader.feed(response);
+        Map<String, ParsedMatch> matches = new LinkedHashMap<>();
+        if (!reader.failed && reader.done) {
+            for (ParsedMatch match : reader.completed) {
+                if (match.candidateId != null && isValidScore(match.score)) {
+                    match.path = Path.JSON;
+                    matches.putIfAbsent(match.candidateId, match);
+                }
+            }
+        }
+        if (!matches.isEmpty()) {
+            jsonParsed.addAndGet(matches.size());
+            return matches;
+        }
+        splitCandidateBlocks(response).forEach((id, block) -> {
+            ParsedMatch match = parseWithRegex(block);
+            if (match != null) {
+                match.candidateId = id;
+                matches.put(id, match);
+            }
+        });
+        if (matches.isEmpty()) {
+            unparseable.incrementAndGet();
+            log.warn("Could not parse batch response: {}", abbreviate(response));
+        } else {
+            regexFallbacks.addAndGet(matches.size());
+        }
+        return matches;
+    }
+
+    public Map<String, Object> getStats() {
+        long json = jsonParsed.get();
+        long regex = regexFallbacks.get();
+        long failed = unparseable.get();
+        long total = json + regex + failed;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("json", json);
+        stats.put("regexFallback", regex);
+        stats.put("unparseable", failed);
+        stats.put("jsonRate", total == 0 ? 0.0 : (double) json / total);
+        return stats;
+    }
+
+    /**
+     * Incremental reader for one response. Feed chunks as they arrive, ask for
+     * {@link #score()} at any point, and call {@link #finish()} once at the end. Not
+     * thread-safe; use one per response.
+     */
+    public final class Reader {
+        private final int matchDepth;
+        private final StringBuilder text = new StringBuilder();
+        private final List<ParsedMatch> completed = new ArrayList<>();
+
+        private JsonParser parser;
+        private boolean started;
+        private boolean done;
+        private boolean failed;
+        private int depth;
+        private String field;
+        private ParsedMatch current;
+        private List<String> list;
+        private Path scorePath;
+
+        private Reader(int matchDepth) {
+            this.matchDepth = matchDepth;
+        }
+
+        public void feed(CharSequence chunk) {
+            text.append(chunk);
+            if (done || failed) {
+                return;
+            }
+            int from = 0;
+            if (!started) {
+                // Skip anything before the JSON object, e.g. a code fence
+                from = indexOf(chunk, '{');
+                if (from < 0) {
+                    return;
+                }
+                started = true;
+            }
+            try {
+                if (parser == null) {
+                    parser = jsonFactory.createNonBlockingByteArrayParser();
+                }
+                byte[] bytes = chunk.subSequence(from, chunk.length()).toString().getBytes(StandardCharsets.UTF_8);
+                ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+                readAvailableTokens();
+            } catch (IOException e) {
+                // Not the JSON we asked for (or trailing text after it); the regex fallback decides
+                failed = !done;
+            }
+        }
+
+        /** The score once it has been read completely, else null. */
+        public Double score() {
+            ParsedMatch match = current != null ? current : completed.isEmpty() ? null : completed.get(0);
+            if (match != null && isValidScore(match.score)) {
+                scorePath = Path.JSON;
+                return match.score;
+            }
+            if (failed || !started) {
+                // Not (yet) answering in JSON; look for a complete "Score:" line instead
+                Matcher matcher = SCORE_PATTERN.matcher(text);
+                if (matcher.find() && matcher.end() < text.length()) {
+                    Double score = parseDouble(matcher.group(1));
+                    if (isValidScore(score)) {
+                        scorePath = Path.REGEX;
+                        return score;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /** Ends a response that was cut off after {@link #score()}; counts the path the score came from. */
+        public void stopAfterScore() {
+            closeParser();
+            (scorePath == Path.JSON ? jsonParsed : regexFallbacks).incrementAndGet();
+        }
+
+        /** Ends the response; returns the parsed match, or null (counted as unparseable). */
+        public ParsedMatch finish() {
+            if (parser != null && !done && !failed) {
+                try {
+                    parser.getNonBlockingInputFeeder().endOfInput();
+                    readAvailableTokens();
+                } catch (IOException e) {
+                    failed = true;
+                }
+                closeParser();
+            }
+            if (done && !completed.isEmpty() && isValidScore(completed.get(0).score)) {
+                ParsedMatch match = completed.get(0);
+                match.path = Path.JSON;
+                jsonParsed.incrementAndGet();
+                return match;
+            }
+            ParsedMatch match = parseWithRegex(text);
+            if (match != null) {
+                regexFallbacks.incrementAndGet();
+                return match;
+            }
+            unparseable.incrementAndGet();
+            log.warn("Could not parse a score from response: {}", abbreviate(text));
+            return null;
+        }
+
+        private void readAvailableTokens() throws IOException {
+            JsonToken token;
+            while (!done && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                switch (token) {
+                    case START_OBJECT -> {
+                        depth++;
+                        if (depth == matchDepth) {
+                            current = new ParsedMatch();
+                        }
+                    }
+                    case END_OBJECT -> {
+                        if (depth == matchDepth && current != null) {
+                            completed.add(current);
+                            current = null;
+                        }
+                        depth--;
+                        done = depth == 0;
+                    }
+                    case START_ARRAY -> {
+                        depth++;
+                        if (depth == matchDepth + 1 && current != null
+                                && ("skillMatches".equals(field) || "gaps".equals(field))) {
+                            list = new ArrayList<>();
+                        }
+                    }
+                    case END_ARRAY -> {
+                        if (depth == matchDepth + 1 && list != null) {
+                            if ("skillMatches".equals(field)) {
+                                current.skillMatches = list;
+                            } else {
+                                current.gaps = list;
+                            }
+                            list = null;
+                        }
+                        depth--;
+                    }
+                    case FIELD_NAME -> {
+                        if (depth == matchDepth) {
+                            field = parser.currentName();
+                        }
+                    }
+                    default -> readValue(token);
+                }
+            }
+            if (done) {
+                closeParser();
+            }
+        }
+
+        private void readValue(JsonToken token) throws IOException {
+            if (list != null && depth == matchDepth + 1) {
+                if (token == JsonToken.VALUE_STRING) {
+                    list.add(parser.getText());
+                }
+                return;
+            }
+            if (current == null || depth != matchDepth || field == null) {
+                return;
+            }
+            switch (field) {
+                case "score" -> {
+                    if (token.isNumeric()) {
+                        current.score = parser.getDoubleValue();
+                    } else if (token == JsonToken.VALUE_STRING) {
+                        current.score = parseDouble(parser.getText());
+                    }
+                }
+                case "justification" -> current.justification = parser.getValueAsString();
+                case "candidateId" -> current.candidateId = parser.getValueAsString();
+                default -> {
+                    // Unknown fields are ignored
+                }
+            }
+        }
+
+        private void closeParser() {
+            if (parser != null) {
+                try {
+                    parser.close();
+                } catch (IOException e) {
+                    // Nothing left to release
+                }
+                parser = null;
+            }
+        }
+    }
+
+    private static ParsedMatch parseWithRegex(CharSequence response) {
+        Matcher matcher = SCORE_PATTERN.matcher(response);
+        if (!matcher.find()) {
+            return null;
+        }
+        ParsedMatch match = new ParsedMatch();
+        match.score = parseDouble(matcher.group(1));
+        if (!isValidScore(match.score)) {
+            return null;
+        }
+        Matcher justification = JUSTIFICATION_PATTERN.matcher(response);
+        match.justification = justification.find() ? justification.group(1).trim() : response.toString().trim();
+        match.path = Path.REGEX;
+        return match;
+    }
+
+    private static Map<String, String> splitCandidateBlocks(String response) {
+        Map<String, String> blocks = new LinkedHashMap<>();
+        Matcher matcher = CANDIDATE_ID_PATTERN.matcher(response);
+        String currentId = null;
+        int blockStart = 0;
+        while (matcher.find()) {
+            if (currentId != null) {
+                blocks.putIfAbsent(currentId, response.substring(blockStart, matcher.start()));
+            }
+            currentId = matcher.group(1);
+            blockStart = matcher.end();
+        }
+        if (currentId != null) {
+            blocks.putIfAbsent(currentId, response.substring(blockStart));
+        }
+        return blocks;
+    }
+
+    private static boolean isValidScore(Double score) {
+        return score != null && score >= 0 && score <= 10;
+    }
+
+    private static Double parseDouble(String value) {
+        try {
+            return Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int indexOf(CharSequence text, char c) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String abbreviate(CharSequence text) {
+        return text.length() <= 200 ? text.toString() : text.subSequence(0, 200) + "...";
+    }
+}
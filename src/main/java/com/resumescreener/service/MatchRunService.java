@@ -0,0 +1,154 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.MatchRun;
+import com.resumescreener.model.MatchStatus;
+import com.resumescreener.model.Resume;
+import com.resumescreener.model.StoredMatchResult;
+import com.resumescreener.repository.MatchRunRepository;
+import com.resumescreener.repository.StoredMatchResultRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Saves match runs and their per-resume results, and answers the questions that only
+ * need those: the stored ranking at any threshold (no LLM calls), and which resumes a
+ * delta match still has to score.
+ *
+ * A resume counts as scored by a run when the run holds a {@link MatchStatus#SCORED}
+ * result for it taken at its current content hash. New resumes, re-parsed ones and those
+ * that timed out or failed last time are picked up by the next delta match.
+ */
+@Service
+public class MatchRunService {
+
+    private final MatchRunRepository matchRunRepository;
+    private final StoredMatchResultRepository storedMatchResultRepository;
+    private final CandidateSelectionService candidateSelectionService;
+
+    @Autowired
+    public MatchRunService(MatchRunRepository matchRunRepository,
+                           StoredMatchResultRepository storedMatchResultRepository,
+                           CandidateSelectionService candidateSelectionService) {
+        this.matchRunRepository = matchRunRepository;
+        this.storedMatchResultRepository = storedMatchResultRepository;
+        this.candidateSelectionService = candidateSelectionService;
+    }
+
+    /** A new, not yet saved run for a selection that is about to be scored. */
+    public MatchRun newRun(String jobDescription, String engine, double threshold, String filter, Integer topK,
+                           CandidateSelection selection) {
+        MatchRun run = new MatchRun(UUID.randomUUID().toString(), JobBriefService.keyOf(jobDescription),
+                jobDescription, engine, threshold, filter != null && !filter.isBlank() ? filter : null, topK);
+        run.setMinSimilarity(selection.getMinSimilarity());
+        run.setPoolSize(selection.getPoolSize());
+        return run;
+    }
+
+    public MatchRun getRun(String runId) {
+        return matchRunRepository.findById(runId).orElse(null);
+    }
+
+    /** The run's saved results, in no particular order; empty if none were saved. */
+    public List<MatchResult> getResults(String runId) {
+        List<MatchResult> results = new ArrayList<>();
+        for (StoredMatchResult stored : storedMatchResultRepository.findByJobId(runId)) {
+            results.add(stored.toMatchResult());
+        }
+        return results;
+    }
+
+    /** Resumes the run has not scored at their current content, selected with the run's parameters. */
+    public CandidateSelection selectChanged(MatchRun run) {
+        Map<Long, String> scoredHashes = new HashMap<>();
+        for (StoredMatchResult stored : storedMatchResultRepository.findByJobId(run.getId())) {
+            if (MatchStatus.SCORED.name().equals(stored.getStatus())) {
+                scoredHashes.put(stored.getResumeId(), stored.getContentHash());
+            }
+        }
+        return candidateSelectionService.selectChanged(run.getJobDescription(), run.getSkillFilter(),
+                run.getTopK(), run.getMinSimilarity(), scoredHashes);
+    }
+
+    /**
+     * Saves the run and merges {@code results} into its stored ranking, replacing any
+     * earlier result for the same resume.
+     *
+     * @param selection the selection that was scored, for the candidates' content hashes
+     */
+    @Transactional
+    public void record(MatchRun run, CandidateSelection selection, List<MatchResult> results) {
+        // Only a run saved before (i.e. a delta match) can hold results to replace
+        boolean replace = run.getCreatedAt() != null;
+        saveRun(run, selection);
+        recordResults(run.getId(), replace, contentHashes(selection), results);
+    }
+
+    /** Saves the run itself; its results follow in one or more {@link #recordResults} calls. */
+    @Transactional
+    public void saveRun(MatchRun run, CandidateSelection selection) {
+        run.setPoolSize(selection.getPoolSize());
+        matchRunRepository.save(run);
+    }
+
+    /**
+     * Adds one chunk of results to a saved run's ranking.
+     *
+     * @param replace whether the run may already hold results for these resumes to replace
+     * @param contentHashes the scored candidates' content hashes by resume id
+     */
+    @Transactional
+    public void recordResults(String runId, boolean replace, Map<Long, String> contentHashes,
+                              List<MatchResult> results) {
+        List<Long> resumeIds = new ArrayList<>(results.size());
+        List<StoredMatchResult> rows = new ArrayList<>(results.size());
+        for (MatchResult result : results) {
+            resumeIds.add(result.getResumeId());
+            rows.add(new StoredMatchResult(runId, result, contentHashes.get(result.getResumeId())));
+        }
+        if (replace && !resumeIds.isEmpty()) {
+            storedMatchResultRepository.deleteByJobIdAndResumeIdIn(runId, resumeIds);
+        }
+        storedMatchResultRepository.saveAll(rows);
+    }
+
+    public static Map<Long, String> contentHashes(CandidateSelection selection) {
+        Map<Long, String> contentHashes = new HashMap<>();
+        for (Resume candidate : selection.getCandidates()) {
+            contentHashes.put(candidate.getId(), candidate.getContentHash());
+        }
+        return contentHashes;
+    }
+
+    /**
+     * Marks every stored result for these resumes as taken at an older content, e.g. after
+     * their fields were extracted again. They stay in the rankings until the next delta
+     * match re-scores them.
+     */
+    @Transactional
+    public void markStale(Collection<Long> resumeIds) {
+        if (!resumeIds.isEmpty()) {
+            storedMatchResultRepository.clearContentHashByResumeIdIn(resumeIds);
+        }
+    }
+
+    /** Drops a deleted resume from every stored ranking. */
+    @Transactional
+    public void forget(Long resumeId) {
+        storedMatchResultRepository.deleteByResumeId(resumeId);
+    }
+
+    /** Drops every stored result; the runs stay, so a delta match re-scores the new pool. */
+    @Transactional
+    public void forgetAll() {
+        storedMatchResultRepository.deleteAllInBatch();
+    }
+}
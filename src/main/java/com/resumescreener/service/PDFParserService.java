@@ -1,58 +1,191 @@
 package com.resumescreener.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.resumescreener.model.Resume;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Turns resume PDFs into {@link Resume}s. Timed as {@code resume.parse.load} (opening the
+ * PDF), {@code resume.parse.extract} (stripping its text), {@code resume.parse.segment} and
+ * {@code resume.parse.field} tagged with the field each extractor fills. A PDF whose bytes
+ * were parsed before is answered from the {@link ParseCacheService}.
+ */
 @Service
 public class PDFParserService {
     
+    private static final Pattern NAME_PATTERN = Pattern.compile("^[A-Za-z\\s\\.]+$");
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
+    // Match various phone formats
+    private static final Pattern PHONE_PATTERN =
+            Pattern.compile("(\\+?\\d{1,3}[-.\\s]?)?\\(?\\d{3}\\)?[-.\\s]?\\d{3}[-.\\s]?\\d{4}");
+    private static final String[] DEGREES = {"bachelor", "master", "phd", "b.tech", "m.tech", "mba", "b.sc", "m.sc"};
+    
+    // Caps the text kept per resume (the column is a LOB); longer documents are cut off at a page boundary
+    static final int DEFAULT_MAX_TEXT_CHARS = 20000;
+    static final DataSize DEFAULT_MEMORY_BUDGET = DataSize.ofMegabytes(4);
+    // Length of the skills column; skills are listed most frequent first, so the rarest are dropped
+    static final int MAX_SKILLS_CHARS = 2000;
+    
+    // Bump whenever a field extractor changes: cached parses are then re-extracted from their
+    // text, and POST /api/resumes/reextract brings stored resumes up to date
+    public static final int PARSER_VERSION = 1;
+    
+    private final SkillExtractor skillExtractor;
+    private final ParseCacheService parseCache;
+    private final long memoryBudgetBytes;
+    private final int maxTextChars;
+    
+    private final Timer loadTimer;
+    private final Timer extractTimer;
+    private final Timer segmentTimer;
+    private final Timer nameTimer;
+    private final Timer emailTimer;
+    private final Timer phoneTimer;
+    private final Timer skillsTimer;
+    private final Timer experienceTimer;
+    private final Timer educationTimer;
+    
+    @Autowired
+    public PDFParserService(SkillExtractor skillExtractor,
+                            ParseCacheService parseCache,
+                            MeterRegistry meterRegistry,
+                            @Value("${pdf.memory-budget:4MB}") DataSize memoryBudget,
+                            @Value("${pdf.max-text-chars:20000}") int maxTextChars) {
+        this.skillExtractor = skillExtractor;
+        this.parseCache = parseCache;
+        this.memoryBudgetBytes = memoryBudget.toBytes();
+        this.maxTextChars = maxTextChars;
+        this.loadTimer = Timer.builder("resume.parse.load").description("Opening a PDF").register(meterRegistry);
+        this.extractTimer = Timer.builder("resume.parse.extract").description("Stripping the text of a PDF")
+                .register(meterRegistry);
+        this.segmentTimer = Timer.builder("resume.parse.segment").description("Splitting resume text into sections")
+                .register(meterRegistry);
+        this.nameTimer = fieldTimer(meterRegistry, "name");
+        this.emailTimer = fieldTimer(meterRegistry, "email");
+        this.phoneTimer = fieldTimer(meterRegistry, "phone");
+        this.skillsTimer = fieldTimer(meterRegistry, "skills");
+        this.experienceTimer = fieldTimer(meterRegistry, "experience");
+        this.educationTimer = fieldTimer(meterRegistry, "education");
+    }
+    
+    public PDFParserService(SkillExtractor skillExtractor) {
+        this(skillExtractor, ParseCacheService.disabled(), new SimpleMeterRegistry(), DEFAULT_MEMORY_BUDGET,
+                DEFAULT_MAX_TEXT_CHARS);
+    }
+    
+    private static Timer fieldTimer(MeterRegistry meterRegistry, String field) {
+        return Timer.builder("resume.parse.field").description("Extracting one field from resume text")
+                .tag("field", field).register(meterRegistry);
+    }
+    
+    /**
+     * Parses an uploaded PDF without copying it into a heap array: the upload is moved
+     * (or streamed) to a temp file and PDFBox reads it from there.
+     */
     public Resume parseResume(MultipartFile file) throws IOException {
+        Path pdf = Files.createTempFile("resume-", ".pdf");
+        try {
+            file.transferTo(pdf);
+            return parseResume(file.getOriginalFilename(), pdf);
+        } finally {
+            Files.deleteIfExists(pdf);
+        }
+    }
+    
+    /** Parses a PDF on disk, e.g. an entry spooled from an uploaded ZIP archive. */
+    public Resume parseResume(String fileName, Path pdf) throws IOException {
+        if (!parseCache.isEnabled()) {
+            return parseText(fileName, extractTextFromPDF(pdf));
+        }
+        String fileHash = parseCache.hash(pdf);
+        ParseCacheService.CachedParse cached = parseCache.get(fileHash, maxTextChars);
+        if (cached != null && cached.getParserVersion() == PARSER_VERSION) {
+            return cached.toResume(fileName);
+        }
+        // An entry from an older parser still has the text, so only the field extractors run
+        String extractedText = cached != null ? cached.getExtractedText() : extractTextFromPDF(pdf);
+        Resume resume = parseText(fileName, extractedText);
+        parseCache.put(fileHash, maxTextChars, resume);
+        return resume;
+    }
+    
+    /**
+     * Builds a resume from already extracted text. The text is segmented once and every
+     * field extractor reads from that view.
+     */
+    public Resume parseText(String fileName, String extractedText) {
         Resume resume = new Resume();
-        resume.setFileName(file.getOriginalFilename());
-        
-        // Extract text from PDF
-        String extractedText = extractTextFromPDF(file);
+        resume.setFileName(fileName);
         resume.setExtractedText(extractedText);
         
         // Extract structured information
-        resume.setCandidateName(extractName(extractedText));
-        resume.setEmail(extractEmail(extractedText));
-        resume.setPhone(extractPhone(extractedText));
-        resume.setSkills(extractSkills(extractedText));
-        resume.setExperience(extractExperience(extractedText));
-        resume.setEducation(extractEducation(extractedText));
+        ResumeSections sections = segmentTimer.record(() -> ResumeSections.segment(extractedText));
+        resume.setCandidateName(nameTimer.record(() -> extractName(sections)));
+        resume.setEmail(emailTimer.record(() -> extractEmail(sections)));
+        resume.setPhone(phoneTimer.record(() -> extractPhone(sections)));
+        resume.setSkills(skillsTimer.record(() -> extractSkills(extractedText)));
+        resume.setExperience(experienceTimer.record(() -> extractExperience(sections)));
+        resume.setEducation(educationTimer.record(() -> extractEducation(sections)));
         
         return resume;
     }
     
     // CORRECTED METHOD - Use Loader.loadPDF() instead of PDDocument.load()
-    private String extractTextFromPDF(MultipartFile file) throws IOException {
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
+    // PDFBox keeps at most memoryBudgetBytes of decoded streams on the heap and spills the
+    // rest to scratch files; pages are stripped one at a time until maxTextChars is reached
+    private String extractTextFromPDF(Path pdf) throws IOException {
+        long start = System.nanoTime();
+        try (PDDocument document = Loader.loadPDF(pdf.toFile(),
+                MemoryUsageSetting.setupMixed(memoryBudgetBytes).streamCache)) {
+            long loaded = System.nanoTime();
+            loadTimer.record(loaded - start, TimeUnit.NANOSECONDS);
             PDFTextStripper stripper = new PDFTextStripper();
             stripper.setSortByPosition(true);
-            return stripper.getText(document);
+            StringBuilder text = new StringBuilder();
+            int pages = document.getNumberOfPages();
+            for (int page = 1; page <= pages && text.length() < maxTextChars; page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                text.append(stripper.getText(document));
+            }
+            if (text.length() > maxTextChars) {
+                text.setLength(maxTextChars);
+            }
+            extractTimer.record(System.nanoTime() - loaded, TimeUnit.NANOSECONDS);
+            return text.toString();
         } catch (IOException e) {
             throw new IOException("Error extracting text from PDF: " + e.getMessage(), e);
         }
     }
     
-    private String extractName(String text) {
-        // Extract first line as name (common in resumes)
-        String[] lines = text.split("\n");
-        for (String line : lines) {
-            line = line.trim();
-            if (!line.isEmpty() && line.length() > 2 && line.length() < 50) {
+    private String extractName(ResumeSections sections) {
+        // First name-like line (common in resumes), ignoring section headings
+        for (int i = 0; i < sections.lineCount(); i++) {
+            int length = sections.lineLength(i);
+            if (length > 2 && length < 50 && !sections.isHeading(i)) {
                 // Check if it looks like a name (letters, spaces, some special chars)
-                if (line.matches("^[A-Za-z\\s\\.]+$")) {
+                String line = sections.line(i);
+                if (NAME_PATTERN.matcher(line).matches()) {
                     return line;
                 }
             }
@@ -60,19 +193,28 @@ public class PDFParserService {
         return "Unknown Candidate";
     }
     
-    private String extractEmail(String text) {
-        Pattern pattern = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
-        Matcher matcher = pattern.matcher(text);
-        if (matcher.find()) {
-            return matcher.group();
-        }
-        return "Not provided";
+    private String extractEmail(ResumeSections sections) {
+        return findContactDetail(sections, EMAIL_PATTERN);
+    }
+    
+    private String extractPhone(ResumeSections sections) {
+        return findContactDetail(sections, PHONE_PATTERN);
     }
     
-    private String extractPhone(String text) {
-        // Match various phone formats
-        Pattern pattern = Pattern.compile("(\\+?\\d{1,3}[-.\\s]?)?\\(?\\d{3}\\)?[-.\\s]?\\d{3}[-.\\s]?\\d{4}");
-        Matcher matcher = pattern.matcher(text);
+    // Looks in the header and contact sections first so dates or IDs elsewhere are not
+    // mistaken for a phone number, then falls back to the whole text
+    private String findContactDetail(ResumeSections sections, Pattern pattern) {
+        Matcher matcher = pattern.matcher(sections.text());
+        for (ResumeSections.Span span : sections.spans()) {
+            if (span.getSection() == ResumeSections.Section.HEADER
+                    || span.getSection() == ResumeSections.Section.CONTACT) {
+                matcher.region(span.getStart(), span.getEnd());
+                if (matcher.find()) {
+                    return matcher.group();
+                }
+            }
+        }
+        matcher.reset();
         if (matcher.find()) {
             return matcher.group();
         }
@@ -80,96 +222,58 @@ public class PDFParserService {
     }
     
     private String extractSkills(String text) {
-        StringBuilder skills = new StringBuilder();
-        String lowerText = text.toLowerCase();
-        
-        // Common skill keywords
-        String[] skillKeywords = {
-            "java", "python", "javascript", "react", "angular", "spring", "springboot",
-            "nodejs", "sql", "mysql", "postgresql", "mongodb", "aws", "azure", "docker",
-            "kubernetes", "git", "html", "css", "rest api", "microservices", "agile",
-            "machine learning", "data structures", "algorithms", "c++", "c#", ".net"
-        };
-        
-        for (String skill : skillKeywords) {
-            if (lowerText.contains(skill.toLowerCase())) {
-                if (skills.length() > 0) skills.append(", ");
-                skills.append(skill);
+        Map<String, Integer> skills = skillExtractor.extract(text);
+        if (skills.isEmpty()) {
+            return "Not clearly specified";
+        }
+        StringBuilder joined = new StringBuilder();
+        for (String skill : skills.keySet()) {
+            int separator = joined.length() == 0 ? 0 : 2;
+            if (joined.length() + separator + skill.length() > MAX_SKILLS_CHARS) {
+                break;
+            }
+            if (separator > 0) {
+                joined.append(", ");
             }
+            joined.append(skill);
         }
-        
-        return skills.length() > 0 ? skills.toString() : "Not clearly specified";
+        return joined.toString();
     }
     
-    private String extractExperience(String text) {
-        StringBuilder experience = new StringBuilder();
-        String[] lines = text.split("\n");
-        
-        boolean inExperienceSection = false;
-        int lineCount = 0;
+    private String extractExperience(ResumeSections sections) {
+        String experience = joinSectionLines(sections, ResumeSections.Section.EXPERIENCE, 10);
+        return experience.isEmpty() ? "Not clearly specified" : experience;
+    }
+    
+    private String extractEducation(ResumeSections sections) {
+        String education = joinSectionLines(sections, ResumeSections.Section.EDUCATION, 8);
+        if (!education.isEmpty()) {
+            return education;
+        }
         
-        for (String line : lines) {
-            String lowerLine = line.toLowerCase();
-            
-            if (lowerLine.contains("experience") || lowerLine.contains("work history") 
-                || lowerLine.contains("employment")) {
-                inExperienceSection = true;
-                continue;
-            }
-            
-            if (inExperienceSection) {
-                if (lowerLine.contains("education") || lowerLine.contains("skills") 
-                    || lowerLine.contains("projects")) {
-                    break;
-                }
-                
-                if (!line.trim().isEmpty() && lineCount < 10) {
-                    experience.append(line.trim()).append(" ");
-                    lineCount++;
-                }
+        // Also check for degree keywords anywhere in text
+        String lowerText = sections.lowerText();
+        for (String degree : DEGREES) {
+            if (lowerText.contains(degree)) {
+                return "Found: " + degree;
             }
         }
-        
-        return experience.length() > 0 ? experience.toString().trim() : "Not clearly specified";
+        return "Not clearly specified";
     }
     
-    private String extractEducation(String text) {
-        StringBuilder education = new StringBuilder();
-        String[] lines = text.split("\n");
-        
-        boolean inEducationSection = false;
+    private String joinSectionLines(ResumeSections sections, ResumeSections.Section section, int maxLines) {
+        StringBuilder joined = new StringBuilder();
         int lineCount = 0;
-        
-        for (String line : lines) {
-            String lowerLine = line.toLowerCase();
-            
-            if (lowerLine.contains("education") || lowerLine.contains("academic") 
-                || lowerLine.contains("qualification")) {
-                inEducationSection = true;
-                continue;
-            }
-            
-            if (inEducationSection) {
-                if (lowerLine.contains("experience") || lowerLine.contains("skills") 
-                    || lowerLine.contains("projects")) {
-                    break;
+        for (ResumeSections.Span span : sections.spans(section)) {
+            for (int i = span.getFirstLine(); i < span.getEndLine() && lineCount < maxLines; i++) {
+                if (!sections.isHeading(i) && sections.lineLength(i) > 0) {
+                    if (lineCount++ > 0) {
+                        joined.append(' ');
+                    }
+                    joined.append(sections.text(), sections.lineStart(i), sections.lineEnd(i));
                 }
-                
-                if (!line.trim().isEmpty() && lineCount < 8) {
-                    education.append(line.trim()).append(" ");
-                    lineCount++;
-                }
-            }
-        }
-        
-        // Also check for degree keywords anywhere in text
-        String[] degrees = {"bachelor", "master", "phd", "b.tech", "m.tech", "mba", "b.sc", "m.sc"};
-        for (String degree : degrees) {
-            if (text.toLowerCase().contains(degree) && education.length() == 0) {
-                education.append("Found: ").append(degree);
             }
         }
-        
-        return education.length() > 0 ? education.toString().trim() : "Not clearly specified";
+        return joined.toString();
     }
 }
@@ -0,0 +1,372 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.MatchStatus;
+import com.resumescreener.model.Resume;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Fans resume matching out over a bounded worker pool so a large pool is scored
+ * with many LLM calls in flight instead of one at a time.
+ *
+ * Each call is guarded by its own timeout and the whole batch by a request deadline.
+ * Resumes that do not finish in time come back with {@link MatchStatus#TIMED_OUT} and no
+ * score, and those whose call failed with {@link MatchStatus#FAILED} and no score. The
+ * call timeout counts only time spent with the provider: it starts when the call does,
+ * not when it was queued, and is paused while {@link RateLimitedChatClient} holds the
+ * call for the rate limit, a throttling pause or a retry backoff. Workers are capped at
+ * the calls the quota can start within one call timeout, since more would only wait.
+ *
+ * With {@code matching.batch.enabled} the misses are packed {@code matching.batch.size}
+ * at a time into one prompt, and the per-call timeout then applies to the whole batch.
+ *
+ * Otherwise, with {@code matching.streaming.enabled}, single-resume calls are streamed
+ * and a response is cut off as soon as its score shows it is below the caller's
+ * threshold. Such results carry only the score; a cached one is reused only while the
+ * threshold it missed still excludes it.
+ */
+@Service
+public class ParallelMatchingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelMatchingService.class);
+
+    private final LLMMatchingService llmMatchingService;
+    private final MatchCacheService matchCacheService;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService watchdog;
+    private final long callTimeoutMillis;
+    private final long requestDeadlineMillis;
+    private final boolean batchEnabled;
+    private final int batchSize;
+    private final boolean streamingEnabled;
+
+    @Autowired
+    public ParallelMatchingService(LLMMatchingService llmMatchingService,
+                                   MatchCacheService matchCacheService,
+                                   @Value("${matching.concurrency:8}") int concurrency,
+                                   @Value("${matching.call-timeout-seconds:60}") long callTimeoutSeconds,
+                                   @Value("${matching.request-deadline-seconds:240}") long requestDeadlineSeconds,
+                                   @Value("${matching.batch.enabled:false}") boolean batchEnabled,
+                                   @Value("${matching.batch.size:5}") int batchSize,
+                                   @Value("${matching.streaming.enabled:true}") boolean streamingEnabled,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.llmMatchingService = llmMatchingService;
+        this.matchCacheService = matchCacheService;
+        int quotaConcurrency = llmMatchingService.quotaConcurrency(Duration.ofSeconds(callTimeoutSeconds));
+        if (quotaConcurrency < concurrency) {
+            log.info("matching.concurrency lowered from {} to {}: the LLM quota starts no more calls per {}s call timeout",
+                    concurrency, quotaConcurrency, callTimeoutSeconds);
+            concurrency = quotaConcurrency;
+        }
+        this.executor = WorkerExecutors.newExecutor("llm-match-", concurrency, virtualThreads);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(WorkerExecutors.daemonThreads("llm-match-watchdog-"));
+        this.callTimeoutMillis = TimeUnit.SECONDS.toMillis(callTimeoutSeconds);
+        this.requestDeadlineMillis = TimeUnit.SECONDS.toMillis(requestDeadlineSeconds);
+        this.batchEnabled = batchEnabled;
+        this.batchSize = batchSize;
+        this.streamingEnabled = streamingEnabled;
+    }
+
+    /**
+     * Scores every resume against the job description. Cached scores are reused and only
+     * the misses are sent to the LLM. The returned list is in the same order as
+     * {@code resumes}; ranking and threshold filtering are left to the caller.
+     */
+    public List<MatchResult> matchAll(List<Resume> resumes, String jobDescription) throws InterruptedException {
+        return matchAll(resumes, jobDescription, result -> { });
+    }
+
+    /**
+     * Same as {@link #matchAll(List, String)}, but also hands each result to {@code onResult}
+     * as soon as it is available. The callback runs on worker threads and must be thread-safe.
+     */
+    public List<MatchResult> matchAll(List<Resume> resumes, String jobDescription,
+                                      Consumer<MatchResult> onResult) throws InterruptedException {
+        return matchAll(resumes, jobDescription, Double.NEGATIVE_INFINITY, onResult);
+    }
+
+    /**
+     * Same as {@link #matchAll(List, String, Consumer)}, but resumes scoring below
+     * {@code threshold} may come back without a full justification
+     * ({@link MatchResult#isJustificationComplete()} is false).
+     */
+    public List<MatchResult> matchAll(List<Resume> resumes, String jobDescription, double threshold,
+                                      Consumer<MatchResult> onResult) throws InterruptedException {
+        String jobKey = matchCacheService.jobKey(jobDescription);
+        MatchResult[] results = new MatchResult[resumes.size()];
+        List<Resume> pending = new ArrayList<>();
+        List<Integer> pendingIndexes = new ArrayList<>();
+
+        for (int i = 0; i < resumes.size(); i++) {
+            Resume resume = resumes.get(i);
+            MatchResult cached = matchCacheService.get(resume, jobKey);
+            if (cached != null && (cached.isJustificationComplete() || cached.getMatchScore() < threshold)) {
+                results[i] = cached;
+                onResult.accept(cached);
+            } else {
+                pending.add(resume);
+                pendingIndexes.add(i);
+            }
+        }
+
+        // One task per LLM round-trip: a single resume, or a batch of them when batching is on
+        int groupSize = batchEnabled ? Math.max(1, batchSize) : 1;
+        List<List<Resume>> groups = new ArrayList<>();
+        List<Handoff> handoffs = new ArrayList<>();
+        List<CallGuard> guards = new ArrayList<>();
+        List<Future<List<MatchResult>>> futures = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(requestDeadlineMillis);
+        for (int from = 0; from < pending.size(); from += groupSize) {
+            List<Resume> group = pending.subList(from, Math.min(from + groupSize, pending.size()));
+            Handoff handoff = new Handoff();
+            CallGuard guard = new CallGuard();
+            groups.add(group);
+            handoffs.add(handoff);
+            guards.add(guard);
+            futures.add(executor.submit(() -> {
+                List<MatchResult> groupResults = matchWithCallTimeout(group, jobDescription, jobKey, threshold, guard);
+                handoff.claim(groupResults, onResult);
+                return groupResults;
+            }));
+        }
+
+        int next = 0;
+        try {
+            for (int g = 0; g < futures.size(); g++) {
+                List<Resume> group = groups.get(g);
+                Handoff handoff = handoffs.get(g);
+                try {
+                    futures.get(g).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    // Past the deadline: a queued task never starts, a running one is interrupted
+                    // only while it is still waiting on the LLM
+                    futures.get(g).cancel(false);
+                    guards.get(g).expire();
+                    List<MatchResult> timedOut = new ArrayList<>(group.size());
+                    for (Resume resume : group) {
+                        timedOut.add(timedOutResult(resume));
+                    }
+                    handoff.claim(timedOut, onResult);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.error("Error matching resumes {}: {}", group.stream().map(Resume::getId).toList(),
+                            cause.getMessage(), cause);
+                    List<MatchResult> failed = new ArrayList<>(group.size());
+                    for (Resume resume : group) {
+                        failed.add(failedResult(resume, cause));
+                    }
+                    handoff.claim(failed, onResult);
+                }
+                // A task that timed out while handing over its results still wins; wait until it has
+                for (MatchResult result : handoff.await()) {
+                    results[pendingIndexes.get(next++)] = result;
+                }
+            }
+        } catch (InterruptedException e) {
+            for (int g = 0; g < futures.size(); g++) {
+                futures.get(g).cancel(false);
+                guards.get(g).expire();
+            }
+            throw e;
+        }
+        return Arrays.asList(results);
+    }
+
+    private List<MatchResult> matchWithCallTimeout(List<Resume> group, String jobDescription, String jobKey,
+                                                   double threshold, CallGuard guard) {
+        List<MatchResult> groupResults;
+        if (!guard.start()) {
+            groupResults = new ArrayList<>(group.size());
+            for (Resume resume : group) {
+                groupResults.add(timedOutResult(resume));
+            }
+            return groupResults;
+        }
+        // The interrupt stops waits and streamed reads; a blocking HTTP read is ended by the
+        // client's read timeout, set to the same value (see LlmHttpClientConfig)
+        CallTimer timer = new CallTimer(guard);
+        timer.resumed();
+        try {
+            groupResults = RateLimitedChatClient.withWaitListener(timer, () -> {
+                if (group.size() > 1) {
+                    return llmMatchingService.matchBatch(group, jobDescription);
+                } else if (streamingEnabled) {
+                    return new ArrayList<>(List.of(
+                            llmMatchingService.matchResumeStreaming(group.get(0), jobDescription, threshold)));
+                }
+                return new ArrayList<>(List.of(llmMatchingService.matchResumeWithJob(group.get(0), jobDescription)));
+            });
+        } finally {
+            timer.stop();
+            guard.finish();
+        }
+        for (int i = 0; i < group.size(); i++) {
+            Resume resume = group.get(i);
+            if (groupResults.get(i).getStatus() == MatchStatus.SCORED) {
+                // Kept even if the timer fired just after the call returned
+                matchCacheService.put(resume, jobKey, groupResults.get(i));
+            } else if (guard.isExpired()) {
+                groupResults.set(i, timedOutResult(resume));
+            }
+        }
+        return groupResults;
+    }
+
+    private MatchResult timedOutResult(Resume resume) {
+        MatchResult result = new MatchResult(resume, null, "Matching did not complete within the time limit");
+        result.setStatus(MatchStatus.TIMED_OUT);
+        return result;
+    }
+
+    private MatchResult failedResult(Resume resume, Throwable cause) {
+        MatchResult result = new MatchResult(resume, null, "Error during matching: " + cause.getMessage());
+        result.setStatus(MatchStatus.FAILED);
+        return result;
+    }
+
+    /**
+     * A call's timeout, run on the watchdog only while the call is with the provider. Each
+     * quota wait stops it and the call picks up with the time it had left. Used from the
+     * worker thread only.
+     */
+    private final class CallTimer implements RateLimitedChatClient.WaitListener {
+        private final CallGuard guard;
+        private long remainingNanos = TimeUnit.MILLISECONDS.toNanos(callTimeoutMillis);
+        private long runningSince;
+        private ScheduledFuture<?> timer;
+
+        CallTimer(CallGuard guard) {
+            this.guard = guard;
+        }
+
+        @Override
+        public void waiting() {
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+                remainingNanos -= System.nanoTime() - runningSince;
+            }
+        }
+
+        @Override
+        public void resumed() {
+            if (timer == null) {
+                runningSince = System.nanoTime();
+                timer = watchdog.schedule(guard::expire, Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void stop() {
+            waiting();
+        }
+    }
+
+    /**
+     * Lets the watchdog and the request deadline interrupt a task only while it is waiting
+     * on the LLM. Expiring and finishing race on one state change, so an interrupt either
+     * lands before {@link #finish()} returns (and is cleared there) or not at all; it never
+     * reaches the result callback, where it could abort a database write.
+     */
+    private static final class CallGuard {
+        private static final int RUNNING = 0;
+        private static final int FINISHED = 1;
+        private static final int EXPIRED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+        private final CountDownLatch interruptSent = new CountDownLatch(1);
+        private volatile Thread worker;
+
+        /** Called by the task before its call; false if the deadline passed while it was queued. */
+        boolean start() {
+            worker = Thread.currentThread();
+            return state.get() == RUNNING;
+        }
+
+        void expire() {
+            if (state.compareAndSet(RUNNING, EXPIRED)) {
+                Thread target = worker;
+                if (target != null) {
+                    target.interrupt();
+                }
+                interruptSent.countDown();
+            }
+        }
+
+        /** Called by the task after its call; afterwards the thread is not, and will not be, interrupted by this guard. */
+        void finish() {
+            if (state.compareAndSet(RUNNING, FINISHED)) {
+                return;
+            }
+            // Expired: the interrupt may still be on its way, so wait for it before clearing it
+            boolean waited = false;
+            while (!waited) {
+                try {
+                    interruptSent.await();
+                    waited = true;
+                } catch (InterruptedException e) {
+                    // That was the interrupt being waited for (or an earlier one); keep waiting
+                }
+            }
+            Thread.interrupted();
+        }
+
+        boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+
+    /**
+     * Hands one group's results to the caller exactly once: either its task delivers what
+     * the LLM returned, or the request thread delivers a timed out or failed placeholder.
+     */
+    private static final class Handoff {
+        private final AtomicReference<List<MatchResult>> results = new AtomicReference<>();
+        private final CountDownLatch delivered = new CountDownLatch(1);
+
+        /** Passes {@code candidate} to {@code onResult} unless the other side already claimed the group. */
+        void claim(List<MatchResult> candidate, Consumer<MatchResult> onResult) {
+            if (!results.compareAndSet(null, candidate)) {
+                return;
+            }
+            try {
+                candidate.forEach(onResult);
+            } finally {
+                delivered.countDown();
+            }
+        }
+
+        /** The results that were delivered, once every one of them has been passed on. */
+        List<MatchResult> await() throws InterruptedException {
+            delivered.await();
+            return results.get();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        watchdog.shutdownNow();
+    }
+}
@@ -0,0 +1,296 @@
+package com.resumescreener.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumescreener.model.Resume;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Parsed resumes keyed by a SHA-256 of the uploaded PDF bytes, so uploading the same file
+ * again skips PDFBox entirely. An entry holds the extracted text and the structured
+ * fields, stamped with {@link PDFParserService#PARSER_VERSION}: an entry from another
+ * version still saves the PDF decoding, but its fields are extracted again from the text.
+ * Entries are also tied to the {@code pdf.max-text-chars} they were extracted with.
+ *
+ * The cache is LRU-bounded and can optionally be written to disk on shutdown and reloaded
+ * on startup. Lookups are counted in {@code resume.parse.cache} tagged hit, stale or miss.
+ */
+@Service
+public class ParseCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(ParseCacheService.class);
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final String persistenceFile;
+
+    private final LinkedHashMap<String, CachedParse> entries;
+    private final Counter hitCounter;
+    private final Counter staleCounter;
+    private final Counter missCounter;
+
+    @Autowired
+    public ParseCacheService(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${parse.cache.max-entries:1000}") int maxEntries,
+                             @Value("${parse.cache.file:}") String persistenceFile) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.persistenceFile = persistenceFile;
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.staleCounter = lookupCounter(meterRegistry, "stale");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedParse> eldest) {
+                return size() > ParseCacheService.this.maxEntries;
+            }
+        };
+    }
+
+    /** A cache that holds nothing, for a parser built outside Spring. */
+    static ParseCacheService disabled() {
+        return new ParseCacheService(null, new SimpleMeterRegistry(), 0, "");
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("resume.parse.cache").description("Parse cache lookups").tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /** Hex SHA-256 of the file's bytes, read in a stream. */
+    public String hash(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * The entry for a file extracted with the same text limit, or null. Entries from another
+     * parser version are returned too (counted as stale); check {@link CachedParse#getParserVersion()}.
+     */
+    public CachedParse get(String fileHash, int maxTextChars) {
+        CachedParse cached;
+        synchronized (entries) {
+            cached = entries.get(fileHash);
+        }
+        if (cached == null || cached.getMaxTextChars() != maxTextChars) {
+            missCounter.increment();
+            return null;
+        }
+        if (cached.getParserVersion() != PDFParserService.PARSER_VERSION) {
+            staleCounter.increment();
+        } else {
+            hitCounter.increment();
+        }
+        return cached;
+    }
+
+    public void put(String fileHash, int maxTextChars, Resume resume) {
+        if (!isEnabled()) {
+            return;
+        }
+        CachedParse cached = new CachedParse(resume, maxTextChars);
+        synchronized (entries) {
+            entries.put(fileHash, cached);
+        }
+    }
+
+    /**
+     * Runs {@code extractor} (file name, text) over the text of every entry from an older
+     * parser version and stores the new fields. Returns the number of entries updated.
+     */
+    public int reextractStale(BiFunction<String, String, Resume> extractor) {
+        List<Map.Entry<String, CachedParse>> stale = new ArrayList<>();
+        synchronized (entries) {
+            for (Map.Entry<String, CachedParse> entry : entries.entrySet()) {
+                if (entry.getValue().getParserVersion() != PDFParserService.PARSER_VERSION) {
+                    stale.add(Map.entry(entry.getKey(), entry.getValue()));
+                }
+            }
+        }
+        for (Map.Entry<String, CachedParse> entry : stale) {
+            CachedParse old = entry.getValue();
+            CachedParse updated = new CachedParse(extractor.apply(old.getFileName(), old.getExtractedText()),
+                    old.getMaxTextChars());
+            synchronized (entries) {
+                // Unless it was evicted or replaced by a new upload in the meantime
+                entries.replace(entry.getKey(), old, updated);
+            }
+        }
+        return stale.size();
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("parserVersion", PDFParserService.PARSER_VERSION);
+        stats.put("hits", (long) hitCounter.count());
+        stats.put("stale", (long) staleCounter.count());
+        stats.put("misses", (long) missCounter.count());
+        return stats;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (persistenceFile.isBlank() || !isEnabled()) {
+            return;
+        }
+        Path path = Paths.get(persistenceFile);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            Map<String, CachedParse> stored = objectMapper.readValue(path.toFile(),
+                    new TypeReference<Map<String, CachedParse>>() {});
+            synchronized (entries) {
+                entries.putAll(stored);
+            }
+            log.info("Loaded {} cached parsed resumes from {}", entries.size(), path);
+        } catch (IOException e) {
+            log.warn("Could not load parse cache from {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void save() {
+        if (persistenceFile.isBlank() || !isEnabled()) {
+            return;
+        }
+        Path path = Paths.get(persistenceFile);
+        try {
+            Map<String, CachedParse> snapshot;
+            synchronized (entries) {
+                snapshot = new HashMap<>(entries);
+            }
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), snapshot);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not persist parse cache to {}: {}", path, e.getMessage());
+        }
+    }
+
+    public static class CachedParse {
+        private int parserVersion;
+        private int maxTextChars;
+        private String fileName;
+        private String extractedText;
+        private String candidateName;
+        private String email;
+        private String phone;
+        private String skills;
+        private String experience;
+        private String education;
+
+        public CachedParse() {
+        }
+
+        CachedParse(Resume resume, int maxTextChars) {
+            this.parserVersion = PDFParserService.PARSER_VERSION;
+            this.maxTextChars = maxTextChars;
+            this.fileName = resume.getFileName();
+            this.extractedText = resume.getExtractedText();
+            this.candidateName = resume.getCandidateName();
+            this.email = resume.getEmail();
+            this.phone = resume.getPhone();
+            this.skills = resume.getSkills();
+            this.experience = resume.getExperience();
+            this.education = resume.getEducation();
+        }
+
+        /** A new, unsaved resume with the cached text and fields under {@code fileName}. */
+        public Resume toResume(String fileName) {
+            Resume resume = new Resume();
+            resume.setFileName(fileName);
+            resume.setExtractedText(extractedText);
+            resume.setCandidateName(candidateName);
+            resume.setEmail(email);
+            resume.setPhone(phone);
+            resume.setSkills(skills);
+            resume.setExperience(experience);
+            resume.setEducation(education);
+            return resume;
+        }
+
+        public int getParserVersion() { return parserVersion; }
+        public void setParserVersion(int parserVersion) { this.parserVersion = parserVersion; }
+
+        public int getMaxTextChars() { return maxTextChars; }
+        public void setMaxTextChars(int maxTextChars) { this.maxTextChars = maxTextChars; }
+
+        public String getFileName() { return fileName; }
+        public void setFileName(String fileName) { this.fileName = fileName; }
+
+        public String getExtractedText() { return extractedText; }
+        public void setExtractedText(String extractedText) { this.extractedText = extractedText; }
+
+        public String getCandidateName() { return candidateName; }
+        public void setCandidateName(String candidateName) { this.candidateName = candidateName; }
+
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+
+        public String getPhone() { return phone; }
+        public void setPhone(String phone) { this.phone = phone; }
+
+        public String getSkills() { return skills; }
+        public void setSkills(String skills) { this.skills = skills; }
+
+        public String getExperience() { return experience; }
+        public void setExperience(String experience) { this.experience = experience; }
+
+        public String getEducation() { return education; }
+        public void setEducation(String education) { this.education = education; }
+    }
+}
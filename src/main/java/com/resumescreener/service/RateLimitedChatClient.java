@@ -0,0 +1,557 @@
+package com.resumescreener.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * The {@link ChatClient} as {@link LLMMatchingService} should use it under a provider
+ * quota.
+ *
+ * <ul>
+ *   <li>Calls are paced by two {@link TokenBucket}s, requests per minute and tokens per
+ *       minute. A call reserves its estimated tokens (prompt length / 4 plus
+ *       {@code llm.rate-limit.completion-tokens}), and the estimate is corrected with the
+ *       usage the provider reports.</li>
+ *   <li>429 and 5xx responses and I/O errors are retried with jittered exponential backoff.
+ *       A 429 pauses every caller until its Retry-After (header, or Groq's "try again in"
+ *       hint) instead of letting other threads spend calls on the same throttle.</li>
+ *   <li>A {@link CircuitBreaker} counts server errors, I/O errors and auth failures. While
+ *       it is open calls fail at once with {@link CircuitOpenException}, and so does a 429
+ *       whose Retry-After is longer than {@code llm.retry.max-backoff}.</li>
+ * </ul>
+ * A limit of 0 turns that bucket off. A caller that must not count time spent waiting for
+ * the quota (in a bucket, a throttling pause or a retry backoff) against its own timeout
+ * can follow those waits with {@link #withWaitListener}, and {@link #callsWithin} tells it
+ * how many calls are worth running at once.
+ *
+ * Each attempt is timed as {@code resume.llm.latency} (tagged call or stream, success or
+ * error), failed attempts are counted in {@code resume.llm.errors} by kind, and tokens in
+ * {@code resume.llm.tokens} (provider usage when reported, otherwise the estimate).
+ */
+@Service
+public class RateLimitedChatClient {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitedChatClient.class);
+
+    /** Spring AI reports HTTP errors as "<status> - <body>". */
+    private static final Pattern STATUS_PREFIX = Pattern.compile("^(\\d{3}) - ");
+    private static final Pattern TRY_AGAIN_IN = Pattern.compile(
+            "try again in (?:(\\d+)h)?(?:(\\d+)m(?!s))?(?:(\\d+(?:\\.\\d+)?)s)?(?:(\\d+(?:\\.\\d+)?)ms)?");
+
+    private static final ThreadLocal<WaitListener> WAIT_LISTENER = new ThreadLocal<>();
+
+    private final ChatClient chatClient;
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+    private final long requestsPerMinute;
+    private final long tokensPerMinute;
+    private final int promptTokenEstimate;
+    private final int completionTokenEstimate;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Counter promptTokens;
+    private final Counter completionTokens;
+    private final Timer waitTimer;
+
+    private final AtomicLong pausedUntil = new AtomicLong(System.nanoTime());
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong throttledResponses = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong rejectedCalls = new AtomicLong();
+    private final AtomicLong waitedCalls = new AtomicLong();
+    private final AtomicLong waitedNanos = new AtomicLong();
+
+    @Autowired
+    public RateLimitedChatClient(ChatClient.Builder chatClientBuilder,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${llm.rate-limit.requests-per-minute:30}") long requestsPerMinute,
+                                 @Value("${llm.rate-limit.tokens-per-minute:12000}") long tokensPerMinute,
+                                 @Value("${llm.rate-limit.prompt-tokens:1500}") int promptTokens,
+                                 @Value("${llm.rate-limit.completion-tokens:400}") int completionTokens,
+                                 @Value("${llm.retry.max-attempts:4}") int maxAttempts,
+                                 @Value("${llm.retry.initial-backoff:1s}") Duration initialBackoff,
+                                 @Value("${llm.retry.max-backoff:30s}") Duration maxBackoff,
+                                 @Value("${llm.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                 @Value("${llm.circuit-breaker.open-duration:30s}") Duration openDuration) {
+        this.chatClient = chatClientBuilder.build();
+        this.requestBucket = requestsPerMinute > 0 ? new TokenBucket(requestsPerMinute, System::nanoTime) : null;
+        this.tokenBucket = tokensPerMinute > 0 ? new TokenBucket(tokensPerMinute, System::nanoTime) : null;
+        this.requestsPerMinute = Math.max(0, requestsPerMinute);
+        this.tokensPerMinute = Math.max(0, tokensPerMinute);
+        this.promptTokenEstimate = Math.max(0, promptTokens);
+        this.completionTokenEstimate = Math.max(0, completionTokens);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration, System::nanoTime);
+        this.meterRegistry = meterRegistry;
+        this.promptTokens = tokenCounter(meterRegistry, "prompt");
+        this.completionTokens = tokenCounter(meterRegistry, "completion");
+        this.waitTimer = Timer.builder("resume.llm.rate-limit.wait")
+                .description("Time calls waited for the rate limit or a throttling pause").register(meterRegistry);
+    }
+
+    private static Counter tokenCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("resume.llm.tokens").description("LLM tokens used").tag("type", type)
+                .register(meterRegistry);
+    }
+
+    /** Thrown without calling the provider while the circuit is open. */
+    public static class CircuitOpenException extends IllegalStateException {
+        public CircuitOpenException(Duration retryIn) {
+            super("LLM provider unavailable, not calling it for another " + Math.max(1, retryIn.toSeconds()) + "s");
+        }
+    }
+
+    /**
+     * Told, on the calling thread, when a call starts waiting for the quota and when it goes
+     * back to the provider. Either may be repeated without the other in between.
+     */
+    public interface WaitListener {
+        void waiting();
+
+        void resumed();
+    }
+
+    /** Runs {@code call} with {@code listener} following the quota waits of the calls it makes on this thread. */
+    public static <T> T withWaitListener(WaitListener listener, Supplier<T> call) {
+        WaitListener previous = WAIT_LISTENER.get();
+        WAIT_LISTENER.set(listener);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                WAIT_LISTENER.set(previous);
+            } else {
+                WAIT_LISTENER.remove();
+            }
+        }
+    }
+
+    /**
+     * How many calls the quota can start within {@code window}, at
+     * {@code llm.rate-limit.prompt-tokens} plus {@code llm.rate-limit.completion-tokens} each,
+     * or {@link Integer#MAX_VALUE} with neither limit set. More callers than that would only
+     * wait in the buckets.
+     */
+    public int callsWithin(Duration window) {
+        return callsWithin(requestsPerMinute, tokensPerMinute, promptTokenEstimate + completionTokenEstimate, window);
+    }
+
+    static int callsWithin(long requestsPerMinute, long tokensPerMinute, long tokensPerCall, Duration window) {
+        double minutes = window.toMillis() / 60_000.0;
+        double calls = Double.POSITIVE_INFINITY;
+        if (requestsPerMinute > 0) {
+            calls = requestsPerMinute * minutes;
+        }
+        if (tokensPerMinute > 0) {
+            calls = Math.min(calls, tokensPerMinute * minutes / Math.max(1, tokensPerCall));
+        }
+        return calls >= Integer.MAX_VALUE ? Integer.MAX_VALUE : Math.max(1, (int) calls);
+    }
+
+    /** Sends {@code prompt} as a user message and returns the response text. */
+    public String call(String prompt) {
+        return execute(prompt, "call", estimatedTokens -> {
+            ChatResponse response = chatClient.prompt().user(prompt).call().chatResponse();
+            correctTokenEstimate(response, estimatedTokens);
+            String content = contentOf(response);
+            recordTokens(response, prompt, content);
+            return content;
+        });
+    }
+
+    /**
+     * Streams the response to {@code prompt}. After every chunk the text received so far
+     * is passed to {@code keepReading}; when it returns false the stream is cancelled, so
+     * the provider stops generating, and the text so far is returned. A failed attempt
+     * is retried from the start like {@link #call}.
+     */
+    public String stream(String prompt, Predicate<CharSequence> keepReading) {
+        return execute(prompt, "stream", estimatedTokens -> {
+            StringBuilder text = new StringBuilder();
+            // Closing the stream cancels the subscription and with it the HTTP response
+            try (Stream<String> chunks = chatClient.prompt().user(prompt).stream().content().toStream()) {
+                Iterator<String> iterator = chunks.iterator();
+                while (iterator.hasNext()) {
+                    String chunk = iterator.next();
+                    if (chunk == null) {
+                        continue;
+                    }
+                    text.append(chunk);
+                    if (!keepReading.test(text)) {
+                        break;
+                    }
+                }
+            }
+            // Streamed chunks carry no usage, so the tokens are estimated
+            long promptEstimate = estimateTokens(prompt);
+            long completionEstimate = estimateTokens(text);
+            settleTokens(estimatedTokens, promptEstimate + completionEstimate);
+            promptTokens.increment(promptEstimate);
+            completionTokens.increment(completionEstimate);
+            return text.toString();
+        });
+    }
+
+    private String execute(String prompt, String mode, LongFunction<String> attemptCall) {
+        long estimatedTokens = estimateTokens(prompt) + completionTokenEstimate;
+        RuntimeException lastFailure = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (attempt > 1) {
+                retries.incrementAndGet();
+            }
+            if (circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+                throw rejected(lastFailure);
+            }
+            awaitPermits(estimatedTokens);
+            if (!circuitBreaker.tryAcquire()) {
+                refund(estimatedTokens);
+                throw rejected(lastFailure);
+            }
+
+            notifyResumed();
+            long start = System.nanoTime();
+            try {
+                calls.incrementAndGet();
+                String content = attemptCall.apply(estimatedTokens);
+                recordLatency(mode, "success", start);
+                circuitBreaker.onSuccess();
+                return content;
+            } catch (RuntimeException e) {
+                recordLatency(mode, "error", start);
+                lastFailure = e;
+                int status = statusOf(e);
+                meterRegistry.counter("resume.llm.errors", "kind", errorKind(status, e)).increment();
+                Duration retryAfter = retryAfterOf(e);
+                boolean lastAttempt = attempt == maxAttempts;
+
+                if (status == 429) {
+                    circuitBreaker.release();
+                    throttledResponses.incrementAndGet();
+                    long pause = retryAfter != null ? retryAfter.toNanos() : backoffNanos(attempt);
+                    if (pause > maxBackoffNanos) {
+                        // Quota exhausted for longer than we are willing to hold a request
+                        circuitBreaker.openFor(Duration.ofNanos(pause));
+                        throw e;
+                    }
+                    log.warn("LLM provider throttled the call (attempt {}/{}), pausing calls for {} ms",
+                            attempt, maxAttempts, TimeUnit.NANOSECONDS.toMillis(pause));
+                    pausedUntil.accumulateAndGet(System.nanoTime() + pause, (a, b) -> b - a > 0 ? b : a);
+                    continue;
+                }
+
+                if (countsAgainstProvider(status, e)) {
+                    circuitBreaker.onFailure();
+                } else {
+                    circuitBreaker.release();
+                }
+                if (!isRetryable(status, e) || lastAttempt) {
+                    throw e;
+                }
+                long backoff = retryAfter != null ? Math.min(retryAfter.toNanos(), maxBackoffNanos) : backoffNanos(attempt);
+                log.warn("LLM call failed (attempt {}/{}), retrying in {} ms: {}",
+                        attempt, maxAttempts, TimeUnit.NANOSECONDS.toMillis(backoff), e.getMessage());
+                sleep(backoff);
+            }
+        }
+        throw lastFailure;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("calls", calls.get());
+        stats.put("retries", retries.get());
+        stats.put("throttledResponses", throttledResponses.get());
+        stats.put("rejectedByCircuitBreaker", rejectedCalls.get());
+        stats.put("circuitState", circuitBreaker.getState());
+        stats.put("circuitOpenedCount", circuitBreaker.getTimesOpened());
+        stats.put("rateLimitedCalls", waitedCalls.get());
+        stats.put("rateLimitWaitMillis", TimeUnit.NANOSECONDS.toMillis(waitedNanos.get()));
+        if (requestBucket != null) {
+            stats.put("availableRequests", requestBucket.available());
+        }
+        if (tokenBucket != null) {
+            stats.put("availableTokens", tokenBucket.available());
+        }
+        return stats;
+    }
+
+    /** About four characters per token, the usual rule of thumb for English text. */
+    public static long estimateTokens(CharSequence text) {
+        return (text.length() + 3) / 4;
+    }
+
+    private void awaitPermits(long tokens) {
+        try {
+            long pause = pausedUntil.get() - System.nanoTime();
+            if (pause > 0) {
+                notifyWaiting();
+                recordWait(pause);
+                TimeUnit.NANOSECONDS.sleep(pause);
+            }
+            long wait = 0;
+            if (requestBucket != null) {
+                wait = requestBucket.reserve(1);
+            }
+            if (tokenBucket != null) {
+                wait = Math.max(wait, tokenBucket.reserve(tokens));
+            }
+            if (wait > 0) {
+                notifyWaiting();
+                recordWait(wait);
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    refund(tokens);
+                    throw e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the LLM rate limit", e);
+        }
+    }
+
+    static void notifyWaiting() {
+        WaitListener listener = WAIT_LISTENER.get();
+        if (listener != null) {
+            listener.waiting();
+        }
+    }
+
+    static void notifyResumed() {
+        WaitListener listener = WAIT_LISTENER.get();
+        if (listener != null) {
+            listener.resumed();
+        }
+    }
+
+    private void recordWait(long nanos) {
+        waitedCalls.incrementAndGet();
+        waitedNanos.addAndGet(nanos);
+        waitTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordLatency(String mode, String outcome, long start) {
+        meterRegistry.timer("resume.llm.latency", "mode", mode, "outcome", outcome)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordTokens(ChatResponse response, String prompt, String content) {
+        Usage usage = response.getMetadata() != null ? response.getMetadata().getUsage() : null;
+        Long prompted = usage != null ? usage.getPromptTokens() : null;
+        Long generated = usage != null ? usage.getGenerationTokens() : null;
+        promptTokens.increment(prompted != null && prompted > 0 ? prompted : estimateTokens(prompt));
+        completionTokens.increment(generated != null && generated > 0 ? generated
+                : content != null ? estimateTokens(content) : 0);
+    }
+
+    private static String errorKind(int status, Throwable e) {
+        if (status == 429) {
+            return "throttled";
+        }
+        if (status >= 500) {
+            return "server";
+        }
+        if (status >= 400) {
+            return "client";
+        }
+        return hasIoCause(e) ? "io" : "other";
+    }
+
+    private void refund(long tokens) {
+        if (requestBucket != null) {
+            requestBucket.refund(1);
+        }
+        if (tokenBucket != null) {
+            tokenBucket.refund(tokens);
+        }
+    }
+
+    private void correctTokenEstimate(ChatResponse response, long estimatedTokens) {
+        if (tokenBucket == null || response == null || response.getMetadata() == null) {
+            return;
+        }
+        Usage usage = response.getMetadata().getUsage();
+        Long actual = usage != null ? usage.getTotalTokens() : null;
+        if (actual != null && actual > 0) {
+            settleTokens(estimatedTokens, actual);
+        }
+    }
+
+    private void settleTokens(long estimatedTokens, long actual) {
+        if (tokenBucket == null) {
+            return;
+        }
+        if (actual > estimatedTokens) {
+            tokenBucket.consume(actual - estimatedTokens);
+        } else {
+            tokenBucket.refund(estimatedTokens - actual);
+        }
+    }
+
+    private static String contentOf(ChatResponse response) {
+        if (response == null || response.getResult() == null || response.getResult().getOutput() == null) {
+            throw new IllegalStateException("LLM returned an empty response");
+        }
+        return response.getResult().getOutput().getContent();
+    }
+
+    private RuntimeException rejected(RuntimeException lastFailure) {
+        rejectedCalls.incrementAndGet();
+        meterRegistry.counter("resume.llm.errors", "kind", "circuit_open").increment();
+        // After a failed attempt the real error says more than "circuit open"
+        return lastFailure != null ? lastFailure : new CircuitOpenException(circuitBreaker.remainingOpen());
+    }
+
+    private long backoffNanos(int attempt) {
+        long backoff = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 20));
+        // Full jitter on the upper half keeps concurrent retries from lining up
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    private static void sleep(long nanos) {
+        notifyWaiting();
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off from a failed LLM call", e);
+        }
+    }
+
+    private static boolean isRetryable(int status, Throwable e) {
+        return status == 408 || status == 429 || status >= 500 || (status < 0 && hasIoCause(e));
+    }
+
+    /** Errors that say the provider (or our access to it) is unhealthy, not that this request was bad. */
+    private static boolean countsAgainstProvider(int status, Throwable e) {
+        return status == 401 || status == 403 || status >= 500 || (status < 0 && hasIoCause(e));
+    }
+
+    private static boolean hasIoCause(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** HTTP status of a failed call, or -1 if the error did not come from a response. */
+    static int statusOf(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof RestClientResponseException responseException) {
+                return responseException.getStatusCode().value();
+            }
+            if (t.getMessage() != null) {
+                Matcher matcher = STATUS_PREFIX.matcher(t.getMessage());
+                if (matcher.find()) {
+                    return Integer.parseInt(matcher.group(1));
+                }
+            }
+        }
+        return -1;
+    }
+
+    /** Retry-After from the response headers, else the provider's "try again in" hint, else null. */
+    static Duration retryAfterOf(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof RestClientResponseException responseException
+                    && responseException.getResponseHeaders() != null) {
+                Duration retryAfter = parseRetryAfter(
+                        responseException.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+                if (retryAfter != null) {
+                    return retryAfter;
+                }
+            }
+        }
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            Duration hint = parseTryAgainIn(t.getMessage());
+            if (hint != null) {
+                return hint;
+            }
+        }
+        return null;
+    }
+
+    /** Parses a Retry-After value: delay in seconds or an HTTP date. */
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofMillis(Math.round(Double.parseDouble(value.trim()) * 1000));
+        } catch (NumberFormatException e) {
+            // Not a number of seconds; try the date form
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(ZonedDateTime.now(at.getZone()), at);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /** Parses hints such as "Please try again in 7.5s" or "try again in 1m2.5s". */
+    static Duration parseTryAgainIn(String message) {
+        if (message == null) {
+            return null;
+        }
+        Matcher matcher = TRY_AGAIN_IN.matcher(message);
+        while (matcher.find()) {
+            if (matcher.end() == matcher.start() + "try again in ".length()) {
+                continue;
+            }
+            double millis = 0;
+            if (matcher.group(1) != null) {
+                millis += Long.parseLong(matcher.group(1)) * 3_600_000.0;
+            }
+            if (matcher.group(2) != null) {
+                millis += Long.parseLong(matcher.group(2)) * 60_000.0;
+            }
+            if (matcher.group(3) != null) {
+                millis += Double.parseDouble(matcher.group(3)) * 1000;
+            }
+            if (matcher.group(4) != null) {
+                millis += Double.parseDouble(matcher.group(4));
+            }
+            return Duration.ofMillis(Math.round(millis));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,147 @@
+package com.resumescreener.service;
+
+import com.resumescreener.repository.ResumeRepository;
+import com.resumescreener.repository.ResumeSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lists resumes as {@link ResumeSummary} projections with keyset (seek) pagination.
+ *
+ * A page is read with "after the last row of the previous page" instead of an offset,
+ * so every page costs one indexed range scan however deep it is, and rows inserted
+ * meanwhile do not shift later pages. The position is handed to clients as an opaque
+ * cursor holding the sort order, the last row's sort key and its id (the tie-breaker).
+ */
+@Service
+public class ResumeListingService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    public enum Sort {
+        /** Upload time, newest first. */
+        NEWEST,
+        /** Candidate name, A to Z. */
+        NAME
+    }
+
+    // Open-ended bounds stand in for "no cursor" and "no date filter"
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final ResumeRepository resumeRepository;
+
+    @Autowired
+    public ResumeListingService(ResumeRepository resumeRepository) {
+        this.resumeRepository = resumeRepository;
+    }
+
+    /**
+     * @param cursor        {@code nextCursor} of the previous page, or null for the first page
+     * @param name          optional case-insensitive substring of the candidate name
+     * @param skill         optional case-insensitive substring of the skills
+     * @param uploadedFrom  optional inclusive lower bound of the upload time
+     * @param uploadedTo    optional exclusive upper bound of the upload time
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another sort order
+     */
+    public ResumePage list(Sort sort, String cursor, int size, String name, String skill,
+                           LocalDateTime uploadedFrom, LocalDateTime uploadedTo) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDateTime from = uploadedFrom != null ? uploadedFrom : MIN_TIME;
+        LocalDateTime to = uploadedTo != null ? uploadedTo : MAX_TIME;
+        String namePattern = containsPattern(name);
+        String skillPattern = containsPattern(skill);
+        // One extra row tells whether there is a next page
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        String[] position = cursor != null && !cursor.isBlank() ? decodeCursor(sort, cursor) : null;
+        long afterId = position != null ? parseId(position[1]) : (sort == Sort.NEWEST ? Long.MAX_VALUE : Long.MIN_VALUE);
+        List<ResumeSummary> rows;
+        if (sort == Sort.NEWEST) {
+            LocalDateTime afterUploadedAt = position != null ? parseTime(position[2]) : MAX_TIME;
+            rows = resumeRepository.findNewestSummaries(afterUploadedAt, afterId, from, to,
+                    namePattern, skillPattern, limit);
+        } else {
+            String afterName = position != null ? position[2] : "";
+            rows = resumeRepository.findSummariesByName(afterName, afterId, from, to,
+                    namePattern, skillPattern, limit);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            ResumeSummary last = rows.get(pageSize - 1);
+            nextCursor = encodeCursor(sort, last.getId(),
+                    sort == Sort.NEWEST ? last.getUploadedAt().toString() : last.getCandidateName());
+        }
+        Long total = position == null ? resumeRepository.countSummaries(from, to, namePattern, skillPattern) : null;
+        return new ResumePage(rows, nextCursor, total);
+    }
+
+    public static Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.NEWEST;
+        }
+        try {
+            return Sort.valueOf(sort.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sort '" + sort + "', expected newest or name");
+        }
+    }
+
+    /** Lowercase LIKE pattern matching {@code text} anywhere, with wildcards in it escaped. */
+    static String containsPattern(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String escaped = text.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    static String encodeCursor(Sort sort, long id, String key) {
+        String position = sort.name() + "\n" + id + "\n" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decodeCursor(Sort sort, String cursor) {
+        String[] position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8).split("\n", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        if (position.length != 3) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        if (!position[0].equals(sort.name())) {
+            throw new IllegalArgumentException("Cursor belongs to sort order " + position[0].toLowerCase(Locale.ROOT));
+        }
+        return position;
+    }
+
+    private static long parseId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+
+    private static LocalDateTime parseTime(String time) {
+        try {
+            return LocalDateTime.parse(time);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.resumescreener.service;
+
+import com.resumescreener.repository.ResumeSummary;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated resume listing. {@code nextCursor} is null on the last
+ * page; {@code total} (matching resumes across all pages) is only counted for the first.
+ */
+public class ResumePage {
+
+    private final List<ResumeSummary> resumes;
+    private final String nextCursor;
+    private final Long total;
+
+    public ResumePage(List<ResumeSummary> resumes, String nextCursor, Long total) {
+        this.resumes = resumes;
+        this.nextCursor = nextCursor;
+        this.total = total;
+    }
+
+    public List<ResumeSummary> getResumes() { return resumes; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public Long getTotal() { return total; }
+}
@@ -0,0 +1,125 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.Resume;
+import com.resumescreener.repository.ResumeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Runs the current field extractors over the text already stored with every resume, so a
+ * change to the parser reaches existing resumes without their PDFs. Only resumes whose
+ * fields come out different are saved; they get a new embedding and skill index entry,
+ * and their stored match results are marked stale so the next delta match re-scores them.
+ * Parse cache entries from an older {@link PDFParserService#PARSER_VERSION} are updated too.
+ *
+ * The text and therefore the content hash and duplicate fingerprint do not change.
+ */
+@Service
+public class ResumeReextractionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeReextractionService.class);
+
+    // Whole entities with their text, so fewer at a time than the text-only rebuilds read
+    private static final int CHUNK = 200;
+
+    private final ResumeRepository resumeRepository;
+    private final PDFParserService pdfParserService;
+    private final ParseCacheService parseCacheService;
+    private final EmbeddingService embeddingService;
+    private final SkillIndexService skillIndexService;
+    private final MatchRunService matchRunService;
+
+    @Autowired
+    public ResumeReextractionService(ResumeRepository resumeRepository,
+                                     PDFParserService pdfParserService,
+                                     ParseCacheService parseCacheService,
+                                     EmbeddingService embeddingService,
+                                     SkillIndexService skillIndexService,
+                                     MatchRunService matchRunService) {
+        this.resumeRepository = resumeRepository;
+        this.pdfParserService = pdfParserService;
+        this.parseCacheService = parseCacheService;
+        this.embeddingService = embeddingService;
+        this.skillIndexService = skillIndexService;
+        this.matchRunService = matchRunService;
+    }
+
+    /** Re-extracts every stored resume and returns counts of what changed. */
+    public Map<String, Object> reextractAll() {
+        long start = System.nanoTime();
+        int scanned = 0;
+        int changed = 0;
+        int withoutText = 0;
+        long afterId = Long.MIN_VALUE;
+        List<Resume> chunk;
+        do {
+            chunk = resumeRepository.findByIdGreaterThanOrderById(afterId, PageRequest.of(0, CHUNK));
+            List<Resume> updated = new ArrayList<>();
+            for (Resume resume : chunk) {
+                if (resume.getExtractedText() == null || resume.getExtractedText().isBlank()) {
+                    withoutText++;
+                } else if (reextract(resume)) {
+                    updated.add(resume);
+                }
+            }
+            if (!updated.isEmpty()) {
+                List<Long> ids = new ArrayList<>(updated.size());
+                for (Resume saved : resumeRepository.saveAll(updated)) {
+                    skillIndexService.remove(saved.getId());
+                    skillIndexService.add(saved);
+                    ids.add(saved.getId());
+                }
+                matchRunService.markStale(ids);
+            }
+            scanned += chunk.size();
+            changed += updated.size();
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == CHUNK);
+        int cacheUpdated = parseCacheService.reextractStale(pdfParserService::parseText);
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Re-extracted {} resumes ({} changed) and {} cached parses in {} ms",
+                scanned, changed, cacheUpdated, elapsedMillis);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("parserVersion", PDFParserService.PARSER_VERSION);
+        report.put("scanned", scanned);
+        report.put("changed", changed);
+        report.put("unchanged", scanned - changed - withoutText);
+        report.put("withoutText", withoutText);
+        report.put("parseCacheUpdated", cacheUpdated);
+        report.put("elapsedMillis", elapsedMillis);
+        return report;
+    }
+
+    /** Copies freshly extracted fields onto {@code resume}; false if none changed. */
+    private boolean reextract(Resume resume) {
+        Resume fresh = pdfParserService.parseText(resume.getFileName(), resume.getExtractedText());
+        if (Objects.equals(fresh.getCandidateName(), resume.getCandidateName())
+                && Objects.equals(fresh.getEmail(), resume.getEmail())
+                && Objects.equals(fresh.getPhone(), resume.getPhone())
+                && Objects.equals(fresh.getSkills(), resume.getSkills())
+                && Objects.equals(fresh.getExperience(), resume.getExperience())
+                && Objects.equals(fresh.getEducation(), resume.getEducation())) {
+            return false;
+        }
+        resume.setCandidateName(fresh.getCandidateName());
+        resume.setEmail(fresh.getEmail());
+        resume.setPhone(fresh.getPhone());
+        resume.setSkills(fresh.getSkills());
+        resume.setExperience(fresh.getExperience());
+        resume.setEducation(fresh.getEducation());
+        resume.setEmbedding(embeddingService.encode(embeddingService.embedResume(resume)));
+        return true;
+    }
+}
@@ -0,0 +1,227 @@
+package com.resumescreener.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Line and section view of a resume's extracted text, built in one pass.
+ *
+ * The text is lowercased and split into trimmed lines once; short lines containing a
+ * heading keyword ("Work History", "EDUCATION", ...) start a new section. Everything is
+ * kept as offsets into the original text, so field extractors can look at a section
+ * without splitting or lowercasing the document again.
+ */
+public final class ResumeSections {
+
+    public enum Section {
+        /** Lines before the first recognised heading, usually name and contact details. */
+        HEADER,
+        CONTACT,
+        EXPERIENCE,
+        EDUCATION,
+        SKILLS,
+        PROJECTS,
+        /** A recognised heading that none of the extractors read, e.g. "Certifications". */
+        OTHER
+    }
+
+    /** Lines longer than this are prose that merely mentions a keyword, not headings. */
+    static final int MAX_HEADING_LENGTH = 40;
+
+    // Checked in order; the first matching keyword decides the section of a heading
+    private static final String[][] HEADING_KEYWORDS = {
+            {"experience", "work history", "employment"},
+            {"education", "academic", "qualification"},
+            {"skills", "technologies", "technical proficienc"},
+            {"projects"},
+            {"contact", "personal details", "personal information"},
+            {"summary", "objective", "certification", "awards", "achievements", "interests",
+                    "hobbies", "publications", "references", "languages"}
+    };
+    private static final Section[] HEADING_SECTIONS = {
+            Section.EXPERIENCE, Section.EDUCATION, Section.SKILLS, Section.PROJECTS,
+            Section.CONTACT, Section.OTHER
+    };
+
+    /** A contiguous run of lines belonging to one section, heading line included. */
+    public static final class Span {
+        private final Section section;
+        private final int firstLine;
+        private final int endLine;
+        private final int start;
+        private final int end;
+
+        Span(Section section, int firstLine, int endLine, int start, int end) {
+            this.section = section;
+            this.firstLine = firstLine;
+            this.endLine = endLine;
+            this.start = start;
+            this.end = end;
+        }
+
+        public Section getSection() { return section; }
+
+        /** Index of the first line (the heading, except for {@link Section#HEADER}). */
+        public int getFirstLine() { return firstLine; }
+
+        /** Index one past the last line. */
+        public int getEndLine() { return endLine; }
+
+        /** Character offset of the span in the original text. */
+        public int getStart() { return start; }
+
+        /** Character offset one past the end of the span. */
+        public int getEnd() { return end; }
+    }
+
+    private final String text;
+    private final String lowerText;
+    private final int[] lineStart;
+    private final int[] lineEnd;
+    private final boolean[] heading;
+    private final Section[] lineSection;
+    private final List<Span> spans;
+
+    private ResumeSections(String text, String lowerText, int[] lineStart, int[] lineEnd,
+                           boolean[] heading, Section[] lineSection, List<Span> spans) {
+        this.text = text;
+        this.lowerText = lowerText;
+        this.lineStart = lineStart;
+        this.lineEnd = lineEnd;
+        this.heading = heading;
+        this.lineSection = lineSection;
+        this.spans = spans;
+    }
+
+    public static ResumeSections segment(String text) {
+        int length = text.length();
+        // Character.toLowerCase(char) keeps the length, so offsets stay valid in both strings
+        char[] lower = new char[length];
+        int lineCount = 1;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            lower[i] = Character.toLowerCase(c);
+            if (c == '\n') {
+                lineCount++;
+            }
+        }
+        String lowerText = new String(lower);
+
+        int[] lineStart = new int[lineCount];
+        int[] lineEnd = new int[lineCount];
+        boolean[] heading = new boolean[lineCount];
+        Section[] lineSection = new Section[lineCount];
+        List<Span> spans = new ArrayList<>();
+
+        Section current = Section.HEADER;
+        int spanFirstLine = 0;
+        int spanStart = 0;
+        int pos = 0;
+        for (int line = 0; line < lineCount; line++) {
+            int next = line + 1 < lineCount ? lowerText.indexOf('\n', pos) : length;
+            int start = pos;
+            int end = next;
+            while (start < end && lower[start] <= ' ') {
+                start++;
+            }
+            while (end > start && lower[end - 1] <= ' ') {
+                end--;
+            }
+            lineStart[line] = start;
+            lineEnd[line] = end;
+
+            Section headingSection = end > start && end - start <= MAX_HEADING_LENGTH
+                    ? headingSection(lowerText, start, end) : null;
+            if (headingSection != null) {
+                if (line > spanFirstLine || current != Section.HEADER) {
+                    spans.add(new Span(current, spanFirstLine, line, spanStart, pos));
+                }
+                heading[line] = true;
+                current = headingSection;
+                spanFirstLine = line;
+                spanStart = pos;
+            }
+            lineSection[line] = current;
+            pos = next + 1;
+        }
+        spans.add(new Span(current, spanFirstLine, lineCount, spanStart, length));
+
+        return new ResumeSections(text, lowerText, lineStart, lineEnd, heading, lineSection,
+                Collections.unmodifiableList(spans));
+    }
+
+    private static Section headingSection(String lowerText, int start, int end) {
+        for (int group = 0; group < HEADING_KEYWORDS.length; group++) {
+            for (String keyword : HEADING_KEYWORDS[group]) {
+                if (containsWithin(lowerText, keyword, start, end)) {
+                    return HEADING_SECTIONS[group];
+                }
+            }
+        }
+        return null;
+    }
+
+    // Bounded search: indexOf(keyword, start) would scan on past the end of the line
+    private static boolean containsWithin(String lowerText, String keyword, int start, int end) {
+        for (int at = start, last = end - keyword.length(); at <= last; at++) {
+            if (lowerText.regionMatches(at, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String text() {
+        return text;
+    }
+
+    /** The whole text lowercased, with the same offsets as {@link #text()}. */
+    public String lowerText() {
+        return lowerText;
+    }
+
+    public int lineCount() {
+        return lineStart.length;
+    }
+
+    /** The trimmed line; empty for blank lines. */
+    public String line(int index) {
+        return text.substring(lineStart[index], lineEnd[index]);
+    }
+
+    public int lineLength(int index) {
+        return lineEnd[index] - lineStart[index];
+    }
+
+    public int lineStart(int index) {
+        return lineStart[index];
+    }
+
+    public int lineEnd(int index) {
+        return lineEnd[index];
+    }
+
+    public boolean isHeading(int index) {
+        return heading[index];
+    }
+
+    public Section sectionOf(int index) {
+        return lineSection[index];
+    }
+
+    public List<Span> spans() {
+        return spans;
+    }
+
+    /** Spans of the given section in document order; a section may appear more than once. */
+    public List<Span> spans(Section section) {
+        List<Span> matching = new ArrayList<>();
+        for (Span span : spans) {
+            if (span.section == section) {
+                matching.add(span);
+            }
+        }
+        return matching;
+    }
+}
@@ -0,0 +1,28 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.Resume;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A way of scoring resumes against a job description on the usual 1-10 scale.
+ * Implementations are Spring beans picked by name through {@link ScoringService}.
+ */
+public interface ScoringEngine {
+
+    /** Name used in requests and in {@link MatchResult#getEngine()}, e.g. {@code "local"}. */
+    String getName();
+
+    /**
+     * Scores every resume and hands each result to {@code onResult} as soon as it is final.
+     * The callback may run on worker threads and must be thread-safe.
+     *
+     * @param threshold the caller's shortlist threshold; engines may spend less on
+     *                  resumes below it (hybrid skips the LLM, llm cuts the justification)
+     * @return results in the same order as {@code resumes}
+     */
+    List<MatchResult> scoreAll(List<Resume> resumes, String jobDescription, double threshold,
+                               Consumer<MatchResult> onResult) throws InterruptedException;
+}
@@ -0,0 +1,73 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.Resume;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Looks up {@link ScoringEngine} beans by name. Requests that do not name an engine
+ * get {@code scoring.engine}.
+ */
+@Service
+public class ScoringService {
+
+    private final Map<String, ScoringEngine> engines = new LinkedHashMap<>();
+    private final String defaultEngine;
+
+    @Autowired
+    public ScoringService(List<ScoringEngine> engines,
+                          @Value("${scoring.engine:llm}") String defaultEngine) {
+        for (ScoringEngine engine : engines) {
+            this.engines.put(engine.getName(), engine);
+        }
+        if (!this.engines.containsKey(defaultEngine)) {
+            throw new IllegalStateException("Unknown scoring.engine '" + defaultEngine
+                    + "', expected one of " + this.engines.keySet());
+        }
+        this.defaultEngine = defaultEngine;
+    }
+
+    public Set<String> getEngineNames() {
+        return engines.keySet();
+    }
+
+    public String getDefaultEngine() {
+        return defaultEngine;
+    }
+
+    /** True for null or blank (meaning the default) and for every registered engine name. */
+    public boolean hasEngine(String name) {
+        return name == null || name.isBlank() || engines.containsKey(name.trim().toLowerCase());
+    }
+
+    public ScoringEngine engine(String name) {
+        if (name == null || name.isBlank()) {
+            return engines.get(defaultEngine);
+        }
+        ScoringEngine engine = engines.get(name.trim().toLowerCase());
+        if (engine == null) {
+            throw new IllegalArgumentException("Unknown scoring engine '" + name
+                    + "', expected one of " + engines.keySet());
+        }
+        return engine;
+    }
+
+    public List<MatchResult> scoreAll(String engineName, List<Resume> resumes, String jobDescription,
+                                      double threshold, Consumer<MatchResult> onResult) throws InterruptedException {
+        return engine(engineName).scoreAll(resumes, jobDescription, threshold, onResult);
+    }
+
+    public List<MatchResult> scoreAll(String engineName, List<Resume> resumes, String jobDescription,
+                                      double threshold) throws InterruptedException {
+        return scoreAll(engineName, resumes, jobDescription, threshold, result -> {
+        });
+    }
+}
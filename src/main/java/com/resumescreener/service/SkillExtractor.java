@@ -0,0 +1,167 @@
+package com.resumescreener.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds known skills in resume text with a single Aho-Corasick pass.
+ *
+ * The dictionary (by default {@code classpath:skills.txt}, see {@code skills.dictionary})
+ * maps each canonical skill to its synonyms. All names are compiled into one automaton at
+ * startup, so extraction cost depends on the text length rather than the dictionary size.
+ * Overlapping hits are resolved leftmost-longest, so "spring boot" is reported once as
+ * itself and not also as "spring".
+ */
+@Service
+public class SkillExtractor {
+
+    private final List<String> canonicalNames = new ArrayList<>();
+    private final List<Integer> canonicalByPattern = new ArrayList<>();
+    private final AhoCorasickMatcher matcher;
+
+    @Autowired
+    public SkillExtractor(ResourceLoader resourceLoader,
+                          @Value("${skills.dictionary:classpath:skills.txt}") String dictionaryLocation) throws IOException {
+        this(loadDictionary(resourceLoader.getResource(dictionaryLocation)));
+    }
+
+    /**
+     * @param dictionary canonical skill name to its synonyms, in the order skills should
+     *                   be reported when their counts tie
+     */
+    public SkillExtractor(Map<String, List<String>> dictionary) {
+        List<String> patterns = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : dictionary.entrySet()) {
+            int canonicalId = canonicalNames.size();
+            canonicalNames.add(entry.getKey());
+            patterns.add(normalize(entry.getKey()));
+            canonicalByPattern.add(canonicalId);
+            for (String synonym : entry.getValue()) {
+                patterns.add(normalize(synonym));
+                canonicalByPattern.add(canonicalId);
+            }
+        }
+        this.matcher = new AhoCorasickMatcher(patterns);
+    }
+
+    public int size() {
+        return canonicalNames.size();
+    }
+
+    /**
+     * Returns canonical skill names found in {@code text} with their occurrence counts,
+     * most frequent first (ties keep the order of first occurrence).
+     */
+    public Map<String, Integer> extract(CharSequence text) {
+        char[] normalized = new char[text.length()];
+        int length = normalize(text, normalized);
+
+        // Keep the longest match per start position, then drop matches overlapping an earlier one
+        int[] longestEnd = new int[length];
+        int[] longestPattern = new int[length];
+        matcher.scan(normalized, length, (patternId, start, end) -> {
+            if (end > longestEnd[start]) {
+                longestEnd[start] = end;
+                longestPattern[start] = patternId;
+            }
+        });
+
+        int[] counts = new int[canonicalNames.size()];
+        List<Integer> firstSeen = new ArrayList<>();
+        int coveredUntil = 0;
+        for (int start = 0; start < length; start++) {
+            if (longestEnd[start] == 0 || start < coveredUntil) {
+                continue;
+            }
+            int canonicalId = canonicalByPattern.get(longestPattern[start]);
+            if (counts[canonicalId]++ == 0) {
+                firstSeen.add(canonicalId);
+            }
+            coveredUntil = longestEnd[start];
+        }
+
+        List<Integer> ordered = new ArrayList<>(firstSeen);
+        // List.sort is stable, so equal counts stay in first-seen order
+        ordered.sort((a, b) -> Integer.compare(counts[b], counts[a]));
+        Map<String, Integer> skills = new LinkedHashMap<>();
+        for (int canonicalId : ordered) {
+            skills.put(canonicalNames.get(canonicalId), counts[canonicalId]);
+        }
+        return skills;
+    }
+
+    /**
+     * Parses the dictionary format: one {@code canonical[: synonym, synonym...]} per line,
+     * blank lines and lines starting with '#' ignored.
+     */
+    public static Map<String, List<String>> parseDictionary(Reader reader) throws IOException {
+        Map<String, List<String>> dictionary = new LinkedHashMap<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            String canonical = (colon >= 0 ? line.substring(0, colon) : line).trim();
+            List<String> synonyms = new ArrayList<>();
+            if (colon >= 0) {
+                for (String synonym : line.substring(colon + 1).split(",")) {
+                    if (!synonym.isBlank()) {
+                        synonyms.add(synonym.trim());
+                    }
+                }
+            }
+            dictionary.computeIfAbsent(canonical, key -> new ArrayList<>()).addAll(synonyms);
+        }
+        return dictionary;
+    }
+
+    private static Map<String, List<String>> loadDictionary(Resource resource) throws IOException {
+        if (!resource.exists()) {
+            throw new IOException("Skill dictionary not found: " + resource.getDescription());
+        }
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            return parseDictionary(reader);
+        }
+    }
+
+    static String normalize(String name) {
+        char[] buffer = new char[name.length()];
+        int length = normalize(name.trim(), buffer);
+        return new String(buffer, 0, length);
+    }
+
+    /** Lowercases and collapses every run of whitespace to one space, in a single pass. */
+    private static int normalize(CharSequence text, char[] out) {
+        int length = 0;
+        boolean lastWasSpace = false;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (!lastWasSpace) {
+                    out[length++] = ' ';
+                    lastWasSpace = true;
+                }
+            } else {
+                out[length++] = Character.toLowerCase(c);
+                lastWasSpace = false;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,373 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.Resume;
+import com.resumescreener.repository.ResumeRepository;
+import com.resumescreener.repository.ResumeText;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from normalized skill/term to resume IDs.
+ *
+ * Each resume contributes its extracted skills (as whole phrases, e.g. "machine learning")
+ * and every word of its text. Postings are sorted primitive ID arrays, so boolean queries
+ * such as {@code java AND (aws OR azure) AND NOT .net} are answered with merge joins
+ * without touching the database. The index is rebuilt from the repository on startup and
+ * kept current by the upload and delete endpoints. Each resume's postings are remembered,
+ * so removing it only touches its own terms.
+ */
+@Service
+public class SkillIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillIndexService.class);
+
+    private static final int REBUILD_CHUNK = 1000;
+
+    private final ResumeRepository resumeRepository;
+
+    private final Map<String, TermPostings> postings = new HashMap<>();
+    private final Map<Long, TermPostings[]> termsById = new HashMap<>();
+    private final IdPostings allIds = new IdPostings();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public SkillIndexService(ResumeRepository resumeRepository) {
+        this.resumeRepository = resumeRepository;
+    }
+
+    /**
+     * Re-reads every stored resume's skills and text, {@value #REBUILD_CHUNK} at a time,
+     * without loading entities. Queries during the rebuild see a partial index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        clear();
+        int indexed = 0;
+        long afterId = Long.MIN_VALUE;
+        List<ResumeText> chunk;
+        do {
+            chunk = resumeRepository.findTextsAfter(afterId, PageRequest.of(0, REBUILD_CHUNK));
+            lock.writeLock().lock();
+            try {
+                for (ResumeText text : chunk) {
+                    addLocked(text.getId(), text.getSkills(), text.getExtractedText());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            indexed += chunk.size();
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == REBUILD_CHUNK);
+        log.info("Indexed {} resumes ({} terms) in {} ms", indexed, termCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void add(Resume resume) {
+        lock.writeLock().lock();
+        try {
+            addLocked(resume);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long resumeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(resumeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsById.clear();
+            allIds.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return allIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluates a boolean query and returns matching resume IDs in ascending order.
+     * Terms are case-insensitive; operators are {@code AND}, {@code OR}, {@code NOT} and
+     * parentheses, and adjacent terms are implicitly ANDed. Quote multi-word skills,
+     * e.g. {@code "machine learning"}.
+     *
+     * @throws IllegalArgumentException if the query cannot be parsed
+     */
+    public long[] query(String query) {
+        List<QueryToken> tokens = tokenizeQuery(query);
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Query is empty");
+        }
+        lock.readLock().lock();
+        try {
+            QueryParser parser = new QueryParser(tokens);
+            long[] result = parser.parseOr();
+            if (parser.hasMore()) {
+                throw new IllegalArgumentException("Unexpected '" + parser.peek().text + "' in query");
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLocked(Resume resume) {
+        if (resume.getId() != null) {
+            addLocked(resume.getId(), resume.getSkills(), resume.getExtractedText());
+        }
+    }
+
+    private void addLocked(long id, String skills, String extractedText) {
+        // Re-adding a resume replaces its terms
+        removeLocked(id);
+        allIds.add(id);
+        Set<String> terms = termsOf(skills, extractedText);
+        TermPostings[] own = new TermPostings[terms.size()];
+        int i = 0;
+        for (String term : terms) {
+            TermPostings termPostings = postings.computeIfAbsent(term, TermPostings::new);
+            termPostings.ids.add(id);
+            own[i++] = termPostings;
+        }
+        termsById.put(id, own);
+    }
+
+    private void removeLocked(long id) {
+        TermPostings[] own = termsById.remove(id);
+        if (own == null) {
+            return;
+        }
+        allIds.remove(id);
+        for (TermPostings termPostings : own) {
+            if (termPostings.ids.remove(id) && termPostings.ids.isEmpty()) {
+                postings.remove(termPostings.term);
+            }
+        }
+    }
+
+    private long[] lookup(String term, boolean phrase) {
+        TermPostings termPostings = postings.get(term);
+        if (termPostings != null) {
+            return termPostings.ids.toArray();
+        }
+        if (!phrase) {
+            return IdPostings.EMPTY;
+        }
+        // Phrase that was never extracted as a skill: fall back to all of its words
+        long[] result = null;
+        for (String word : tokenize(term)) {
+            TermPostings wordPostings = postings.get(word);
+            long[] next = wordPostings != null ? wordPostings.ids.toArray() : IdPostings.EMPTY;
+            result = result == null ? next : IdPostings.and(result, next);
+        }
+        return result != null ? result : IdPostings.EMPTY;
+    }
+
+    static Set<String> termsOf(String skills, String extractedText) {
+        Set<String> terms = new HashSet<>();
+        if (skills != null) {
+            for (String skill : skills.split(",")) {
+                String normalized = normalize(skill);
+                if (!normalized.isEmpty()) {
+                    terms.add(normalized);
+                }
+            }
+        }
+        if (extractedText != null) {
+            terms.addAll(tokenize(extractedText));
+        }
+        return terms;
+    }
+
+    static String normalize(String term) {
+        return term.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits text into lowercase words. '+', '#' and '.' are kept inside words so that
+     * c++, c# and .net survive; a trailing '.' (end of sentence) is dropped.
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c) || c == '+' || c == '#' || c == '.') {
+                word.append(c);
+                continue;
+            }
+            while (word.length() > 0 && word.charAt(word.length() - 1) == '.') {
+                word.setLength(word.length() - 1);
+            }
+            if (word.length() > 0 && !(word.length() == 1 && word.charAt(0) == '.')) {
+                words.add(word.toString());
+            }
+            word.setLength(0);
+        }
+        return words;
+    }
+
+    private static List<QueryToken> tokenizeQuery(String query) {
+        List<QueryToken> tokens = new ArrayList<>();
+        int i = 0;
+        int n = query.length();
+        while (i < n) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                tokens.add(new QueryToken(String.valueOf(c), false));
+                i++;
+            } else if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unterminated quote in query");
+                }
+                tokens.add(new QueryToken(normalize(query.substring(i + 1, end)), true));
+                i = end + 1;
+            } else {
+                int start = i;
+                while (i < n && !Character.isWhitespace(query.charAt(i))
+                        && query.charAt(i) != '(' && query.charAt(i) != ')') {
+                    i++;
+                }
+                tokens.add(new QueryToken(query.substring(start, i), false));
+            }
+        }
+        return tokens;
+    }
+
+    /** The resumes containing a term; the term is kept so an emptied entry can be dropped. */
+    private static final class TermPostings {
+        private final String term;
+        private final IdPostings ids = new IdPostings();
+
+        private TermPostings(String term) {
+            this.term = term;
+        }
+    }
+
+    private static final class QueryToken {
+        private final String text;
+        private final boolean quoted;
+
+        private QueryToken(String text, boolean quoted) {
+            this.text = text;
+            this.quoted = quoted;
+        }
+
+        private boolean isOperator(String operator) {
+            return !quoted && text.equalsIgnoreCase(operator);
+        }
+    }
+
+    /**
+     * Recursive-descent evaluator. Precedence from low to high: OR, AND (explicit or
+     * implicit), NOT.
+     */
+    private final class QueryParser {
+        private final List<QueryToken> tokens;
+        private int position;
+
+        private QueryParser(List<QueryToken> tokens) {
+            this.tokens = tokens;
+        }
+
+        private boolean hasMore() {
+            return position < tokens.size();
+        }
+
+        private QueryToken peek() {
+            return tokens.get(position);
+        }
+
+        private long[] parseOr() {
+            long[] result = parseAnd();
+            while (hasMore() && peek().isOperator("OR")) {
+                position++;
+                result = IdPostings.or(result, parseAnd());
+            }
+            return result;
+        }
+
+        private long[] parseAnd() {
+            long[] result = parseNot();
+            while (hasMore() && !peek().isOperator("OR") && !peek().isOperator(")")) {
+                if (peek().isOperator("AND")) {
+                    position++;
+                }
+                result = IdPostings.and(result, parseNot());
+            }
+            return result;
+        }
+
+        private long[] parseNot() {
+            if (hasMore() && peek().isOperator("NOT")) {
+                position++;
+                return IdPostings.andNot(allIds.toArray(), parseNot());
+            }
+            return parsePrimary();
+        }
+
+        private long[] parsePrimary() {
+            if (!hasMore()) {
+                throw new IllegalArgumentException("Query ended unexpectedly");
+            }
+            QueryToken token = tokens.get(position++);
+            if (token.isOperator("(")) {
+                long[] result = parseOr();
+                if (!hasMore() || !peek().isOperator(")")) {
+                    throw new IllegalArgumentException("Missing ')' in query");
+                }
+                position++;
+                return result;
+            }
+            if (token.isOperator(")") || token.isOperator("AND") || token.isOperator("OR")) {
+                throw new IllegalArgumentException("Unexpected '" + token.text + "' in query");
+            }
+            return lookup(token.quoted ? token.text : normalize(token.text), token.quoted);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.resumescreener.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A local stand-in for an OpenAI-compatible chat completions endpoint, so match runs can
+ * be load-tested without network access or a provider quota. It only runs with the
+ * {@code stub-llm} profile, whose properties point Spring AI at it.
+ *
+ * Every call first waits for a latency drawn from a log-normal distribution with the
+ * configured median and p99. It is then throttled with a 429 carrying the provider's
+ * "try again in" hint ({@code stub-llm.throttle-rate}), fails with a 503
+ * ({@code stub-llm.error-rate}) or is answered. Answers are canned: the score is derived
+ * from the candidate's fields in the prompt, so a resume always gets the same score, and is
+ * given in the JSON format the prompts ask for or, with {@code stub-llm.response-format=lines},
+ * as "Score:/Justification:" lines. Batch prompts get one entry per Candidate ID.
+ * Streamed calls get server-sent event chunks {@code stub-llm.stream.chunk-interval} apart.
+ *
+ * The stub listens on its own port with its own threads, so its waiting never holds the
+ * app's request threads. Responses are counted as {@code resume.llm.stub.responses}.
+ */
+@Component
+@Profile("stub-llm")
+public class StubLlmServer {
+
+    private static final Logger log = LoggerFactory.getLogger(StubLlmServer.class);
+
+    /** z-score of the 99th percentile of a standard normal distribution. */
+    private static final double Z_99 = 2.3263;
+    private static final int CHUNK_CHARS = 16;
+    private static final Pattern CANDIDATE_ID = Pattern.compile("(?m)^\\W*Candidate ID:\\W*([A-Z]\\d+)");
+    private static final String JUSTIFICATION = "The candidate's core skills overlap with the must-have "
+            + "requirements and their recent experience is on comparable backend services. Some of the listed "
+            + "tools are not mentioned, and there is no evidence of the required production cloud work, so "
+            + "the fit depends on how quickly those gaps can be closed. Education matches the stated minimum.";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int port;
+    private final long medianNanos;
+    private final double sigma;
+    private final long maxLatencyNanos;
+    private final double errorRate;
+    private final double throttleRate;
+    private final Duration retryAfter;
+    private final boolean linesFormat;
+    private final long chunkIntervalMillis;
+    private final long seed;
+    private final AtomicLong requests = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    @Autowired
+    public StubLlmServer(ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${stub-llm.port:8090}") int port,
+                         @Value("${stub-llm.latency.median:800ms}") Duration medianLatency,
+                         @Value("${stub-llm.latency.p99:3s}") Duration p99Latency,
+                         @Value("${stub-llm.error-rate:0.0}") double errorRate,
+                         @Value("${stub-llm.throttle-rate:0.0}") double throttleRate,
+                         @Value("${stub-llm.throttle.retry-after:2s}") Duration retryAfter,
+                         @Value("${stub-llm.response-format:json}") String responseFormat,
+                         @Value("${stub-llm.stream.chunk-interval:15ms}") Duration chunkInterval,
+                         @Value("${stub-llm.seed:42}") long seed) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.port = port;
+        this.medianNanos = medianLatency.toNanos();
+        this.sigma = p99Latency.compareTo(medianLatency) > 0 && !medianLatency.isZero()
+                ? Math.log((double) p99Latency.toNanos() / medianLatency.toNanos()) / Z_99 : 0;
+        // A log-normal tail is unbounded; one call in millions would otherwise stall a run
+        this.maxLatencyNanos = Math.max(medianLatency.toNanos(), p99Latency.toNanos()) * 10;
+        this.errorRate = errorRate;
+        this.throttleRate = throttleRate;
+        this.retryAfter = retryAfter;
+        this.linesFormat = "lines".equalsIgnoreCase(responseFormat);
+        this.chunkIntervalMillis = chunkInterval.toMillis();
+        this.seed = seed;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-llm-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/v1/chat/completions", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        log.info("Stub LLM listening on http://localhost:{} (median latency {} ms, error rate {}, throttle rate {})",
+                port, TimeUnit.NANOSECONDS.toMillis(medianNanos), errorRate, throttleRate);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendJson(exchange, 405, error("Only POST is supported", "invalid_request_error", null));
+                return;
+            }
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            String prompt = promptOf(request);
+            String model = request.path("model").asText("stub");
+            long number = requests.incrementAndGet();
+            SplittableRandom random = new SplittableRandom(seed + number);
+
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(latencyNanos(random)));
+            double roll = random.nextDouble();
+            if (roll < throttleRate) {
+                count("throttled");
+                String wait = String.format(Locale.ROOT, "%.3fs", retryAfter.toMillis() / 1000.0);
+                exchange.getResponseHeaders().set("retry-after", Long.toString(Math.max(1, retryAfter.toSeconds())));
+                sendJson(exchange, 429, error("Rate limit reached for model `" + model + "` on requests per minute "
+                        + "(RPM). Please try again in " + wait + ".", "requests", "rate_limit_exceeded"));
+                return;
+            }
+            if (roll < throttleRate + errorRate) {
+                count("error");
+                sendJson(exchange, 503, error("The stub LLM is unavailable (injected error)", "server_error", null));
+                return;
+            }
+
+            String content = respond(prompt);
+            if (request.path("stream").asBoolean(false)) {
+                stream(exchange, number, model, content);
+            } else {
+                sendJson(exchange, 200, completion(number, model, prompt, content));
+            }
+            count("ok");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // The app closes a stream once it has read the score it needs
+            count("cancelled");
+            log.debug("Stub LLM response not fully sent: {}", e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private long latencyNanos(SplittableRandom random) {
+        double latency = medianNanos * Math.exp(sigma * random.nextGaussian());
+        return Math.min(maxLatencyNanos, (long) latency);
+    }
+
+    private static String promptOf(JsonNode request) {
+        StringBuilder prompt = new StringBuilder();
+        for (JsonNode message : request.path("messages")) {
+            prompt.append(message.path("content").asText("")).append('\n');
+        }
+        return prompt.toString();
+    }
+
+    /** The canned answer to a single-resume or batch prompt. */
+    String respond(String prompt) {
+        List<String> ids = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        Matcher matcher = CANDIDATE_ID.matcher(prompt);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+            starts.add(matcher.start(1));
+        }
+        if (ids.isEmpty()) {
+            int candidate = prompt.lastIndexOf("CANDIDATE:");
+            double score = scoreOf(candidate >= 0 ? block(prompt, candidate) : prompt);
+            return linesFormat ? lines(score) : json(single(null, score));
+        }
+
+        StringBuilder text = new StringBuilder();
+        List<Map<String, Object>> candidates = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            double score = scoreOf(block(prompt, starts.get(i)));
+            if (linesFormat) {
+                text.append("Candidate ID: ").append(ids.get(i)).append('\n').append(lines(score)).append("\n\n");
+            } else {
+                candidates.add(single(ids.get(i), score));
+            }
+        }
+        return linesFormat ? text.toString().strip() : json(Map.of("candidates", candidates));
+    }
+
+    /** A candidate's fields: from {@code from} to the next blank line. */
+    static String block(String prompt, int from) {
+        int end = prompt.indexOf("\n\n", from);
+        return prompt.substring(from, end >= 0 ? end : prompt.length());
+    }
+
+    /** 1.0 to 10.0 in steps of 0.5, fixed for a given candidate text. */
+    static double scoreOf(String candidate) {
+        return 1 + Math.floorMod(candidate.hashCode(), 19) * 0.5;
+    }
+
+    private static Map<String, Object> single(String candidateId, double score) {
+        Map<String, Object> match = new LinkedHashMap<>();
+        if (candidateId != null) {
+            match.put("candidateId", candidateId);
+        }
+        match.put("score", score);
+        match.put("skillMatches", List.of("Java", "Spring Boot"));
+        match.put("gaps", List.of("Kubernetes"));
+        match.put("justification", JUSTIFICATION);
+        return match;
+    }
+
+    private static String lines(double score) {
+        return "Score: " + score + "\nJustification: " + JUSTIFICATION;
+    }
+
+    private Map<String, Object> completion(long number, String model, String prompt, String content) {
+        long promptTokens = RateLimitedChatClient.estimateTokens(prompt);
+        long completionTokens = RateLimitedChatClient.estimateTokens(content);
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("role", "assistant");
+        message.put("content", content);
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("message", message);
+        choice.put("finish_reason", "stop");
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("prompt_tokens", promptTokens);
+        usage.put("completion_tokens", completionTokens);
+        usage.put("total_tokens", promptTokens + completionTokens);
+        Map<String, Object> body = envelope(number, model, "chat.completion");
+        body.put("choices", List.of(choice));
+        body.put("usage", usage);
+        return body;
+    }
+
+    private void stream(HttpExchange exchange, long number, String model, String content)
+            throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        for (int from = 0; from < content.length(); from += CHUNK_CHARS) {
+            if (from > 0 && chunkIntervalMillis > 0) {
+                Thread.sleep(chunkIntervalMillis);
+            }
+            Map<String, Object> delta = new LinkedHashMap<>();
+            if (from == 0) {
+                delta.put("role", "assistant");
+            }
+            delta.put("content", content.substring(from, Math.min(content.length(), from + CHUNK_CHARS)));
+            writeEvent(out, json(chunk(number, model, delta, null)));
+        }
+        writeEvent(out, json(chunk(number, model, Map.of(), "stop")));
+        writeEvent(out, "[DONE]");
+    }
+
+    private Map<String, Object> chunk(long number, String model, Map<String, Object> delta, String finishReason) {
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("delta", delta);
+        choice.put("finish_reason", finishReason);
+        Map<String, Object> body = envelope(number, model, "chat.completion.chunk");
+        body.put("choices", List.of(choice));
+        return body;
+    }
+
+    private static Map<String, Object> envelope(long number, String model, String object) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", "chatcmpl-stub-" + number);
+        body.put("object", object);
+        body.put("created", System.currentTimeMillis() / 1000);
+        body.put("model", model);
+        return body;
+    }
+
+    private static Map<String, Object> error(String message, String type, String code) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("message", message);
+        error.put("type", type);
+        error.put("code", code);
+        return Map.of("error", error);
+    }
+
+    private static void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = json(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write stub response", e);
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("resume.llm.stub.responses", "outcome", outcome).increment();
+    }
+}
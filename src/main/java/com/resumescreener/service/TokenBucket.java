@@ -0,0 +1,65 @@
+package com.resumescreener.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket refilled continuously at {@code perMinute} permits per minute, holding at
+ * most one minute's worth.
+ *
+ * Callers reserve permits up front and are told how long to wait before using them. The
+ * balance may go negative, so concurrent callers queue behind each other in reservation
+ * order instead of all waking up and racing for the same refill.
+ */
+public final class TokenBucket {
+
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final double capacity;
+    private final double permitsPerNano;
+    private final LongSupplier nanoClock;
+
+    private double available;
+    private long lastRefill;
+
+    public TokenBucket(long perMinute, LongSupplier nanoClock) {
+        if (perMinute <= 0) {
+            throw new IllegalArgumentException("perMinute must be positive: " + perMinute);
+        }
+        this.capacity = perMinute;
+        this.permitsPerNano = (double) perMinute / NANOS_PER_MINUTE;
+        this.nanoClock = nanoClock;
+        this.available = perMinute;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /** Takes {@code permits} and returns the nanoseconds to wait before they may be used. */
+    public synchronized long reserve(long permits) {
+        refill();
+        double missing = permits - available;
+        available -= permits;
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / permitsPerNano);
+    }
+
+    /** Gives back permits that were reserved but not used, or that were over-estimated. */
+    public synchronized void refund(long permits) {
+        refill();
+        available = Math.min(capacity, available + permits);
+    }
+
+    /** Takes permits without waiting, e.g. when a call turned out to use more than reserved. */
+    public synchronized void consume(long permits) {
+        refill();
+        available -= permits;
+    }
+
+    public synchronized long available() {
+        refill();
+        return (long) Math.floor(available);
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        available = Math.min(capacity, available + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,140 @@
+package com.resumescreener.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for the app's blocking work: LLM calls, bulk PDF parsing and match jobs.
+ *
+ * By default each is a fixed pool of {@code limit} daemon platform threads. With
+ * {@code spring.threads.virtual.enabled} on Java 21 or later, every task gets its own
+ * virtual thread instead and a semaphore of {@code limit} permits takes the place of the
+ * pool size: tasks beyond the limit wait parked on their own thread, which costs a little
+ * heap rather than a platform thread and its stack. The same property moves
+ * Tomcat's request handling onto virtual threads, so a request blocked on the LLM no
+ * longer holds one of a fixed number of request threads.
+ *
+ * The project still compiles for Java 17, so the Java 21 API is reached by reflection.
+ * On an older runtime the property is ignored with a warning.
+ */
+public final class WorkerExecutors {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkerExecutors.class);
+
+    private WorkerExecutors() {
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    /**
+     * @param limit   tasks running at once; {@link Integer#MAX_VALUE} leaves virtual threads unbounded
+     * @param virtual use virtual threads if the runtime has them
+     */
+    public static ExecutorService newExecutor(String namePrefix, int limit, boolean virtual) {
+        if (virtual) {
+            ExecutorService perTask = newVirtualThreadPerTaskExecutor(namePrefix);
+            if (perTask != null) {
+                return limit == Integer.MAX_VALUE ? perTask : new BoundedExecutor(perTask, Math.max(1, limit));
+            }
+        }
+        return Executors.newFixedThreadPool(Math.max(1, limit), daemonThreads(namePrefix));
+    }
+
+    public static ThreadFactory daemonThreads(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        if (!virtualThreadsAvailable()) {
+            log.warn("spring.threads.virtual.enabled needs Java 21 or later, running {}; {} threads stay platform threads",
+                    Runtime.version(), namePrefix);
+            return null;
+        }
+        try {
+            // Thread.ofVirtual().name(namePrefix, 1).factory()
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            log.warn("Could not create virtual threads, {} threads stay platform threads: {}", namePrefix, e.toString());
+            return null;
+        }
+    }
+
+    /** One thread per task, at most {@code permits} of them past the semaphore at a time. */
+    private static final class BoundedExecutor extends AbstractExecutorService {
+        private final ExecutorService perTask;
+        private final Semaphore permits;
+
+        private BoundedExecutor(ExecutorService perTask, int permits) {
+            this.perTask = perTask;
+            this.permits = new Semaphore(permits, true);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            perTask.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    // Shut down while waiting: the task never ran, so its future must not wait forever
+                    if (command instanceof Future<?> future) {
+                        future.cancel(false);
+                    }
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            perTask.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return perTask.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return perTask.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return perTask.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return perTask.awaitTermination(timeout, unit);
+        }
+    }
+}
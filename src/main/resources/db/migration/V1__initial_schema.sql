@@ -0,0 +1,51 @@
+-- Schema for the prod profile (file-backed H2, ddl-auto=validate). Keep in step with the
+-- entities: every change to them needs a new V<n>__*.sql here.
+
+create sequence resumes_seq start with 1 increment by 50;
+
+create table resumes (
+    id                 bigint        not null,
+    candidate_name     varchar(255)  not null,
+    extracted_text     clob,
+    skills             varchar(2000),
+    experience         varchar(2000),
+    education          varchar(1000),
+    email              varchar(255),
+    phone              varchar(255),
+    uploaded_at        timestamp(6)  not null,
+    file_name          varchar(255),
+    embedding          varbinary(4096),
+    content_hash       varchar(64),
+    min_hash           varbinary(512),
+    duplicate_group_id bigint,
+    primary key (id)
+);
+
+create index idx_resumes_content_hash on resumes (content_hash);
+-- Keyset pages sort by (candidate_name, id) and (uploaded_at, id)
+create index idx_resumes_candidate_name on resumes (candidate_name, id);
+create index idx_resumes_email on resumes (email);
+create index idx_resumes_uploaded_at on resumes (uploaded_at, id);
+
+create sequence match_results_seq start with 1 increment by 50;
+
+create table match_results (
+    id                     bigint           not null,
+    job_id                 varchar(36)      not null,
+    resume_id              bigint,
+    candidate_name         varchar(255),
+    email                  varchar(255),
+    phone                  varchar(255),
+    match_score            double precision,
+    justification          varchar(4000),
+    status                 varchar(20),
+    engine                 varchar(20),
+    from_cache             boolean          not null,
+    justification_complete boolean          not null,
+    skill_matches          varchar(2000),
+    gaps                   varchar(2000),
+    created_at             timestamp(6)     not null,
+    primary key (id)
+);
+
+create index idx_match_results_job_id on match_results (job_id);
@@ -0,0 +1,21 @@
+-- Match runs: the parameters of a match, with its results in match_results under the same id
+
+create table match_runs (
+    id                   varchar(36)      not null,
+    job_description_hash varchar(64)      not null,
+    job_description      clob             not null,
+    engine               varchar(20)      not null,
+    threshold            double precision not null,
+    skill_filter         varchar(2000),
+    top_k                integer,
+    min_similarity       double precision,
+    pool_size            integer          not null,
+    created_at           timestamp(6)     not null,
+    updated_at           timestamp(6)     not null,
+    primary key (id)
+);
+
+create index idx_match_runs_job_description_hash on match_runs (job_description_hash);
+
+-- Content hash of the resume when it was scored, so a delta match can spot re-parsed resumes
+alter table match_results add column content_hash varchar(64);
@@ -0,0 +1,97 @@
+package com.resumescreener.benchmark;
+
+import com.resumescreener.model.Resume;
+import com.resumescreener.service.DuplicateDetectionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duplicate lookups against an index of up to 100k resumes. Lookups take an already
+ * fingerprinted resume, as on upload where fingerprinting happens on the parse workers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DuplicateLookupBenchmark {
+
+	private static final String[] WORDS = {"java", "spring", "services", "built", "team", "led", "aws",
+			"customers", "latency", "migrated", "platform", "python", "data", "pipelines", "react",
+			"frontend", "payments", "kafka", "docker", "kubernetes", "engineer", "senior", "company",
+			"delivery", "testing", "design", "reduced", "improved", "cost", "scale", "reliability"};
+
+	@Param({"10000", "100000"})
+	public int resumes;
+
+	private DuplicateDetectionService duplicates;
+	private Resume exactCopy;
+	private Resume nearDuplicate;
+	private Resume unrelated;
+
+	@Setup
+	public void setUp() {
+		duplicates = new DuplicateDetectionService(null, 0.85, "reject");
+		Random random = new Random(3);
+		String target = null;
+		for (long id = 1; id <= resumes; id++) {
+			String text = randomResume(random, id);
+			if (id == resumes / 2) {
+				target = text;
+			}
+			Resume resume = new Resume();
+			resume.setId(id);
+			resume.setExtractedText(text);
+			duplicates.fingerprint(resume);
+			duplicates.add(resume);
+		}
+		exactCopy = fingerprinted(target);
+		nearDuplicate = fingerprinted(target.replace("Phone 555-", "Phone 777-"));
+		unrelated = fingerprinted(randomResume(random, -1));
+	}
+
+	@Benchmark
+	public Long exactLookup() {
+		return duplicates.exactDuplicateOf(exactCopy.getContentHash());
+	}
+
+	@Benchmark
+	public Long nearDuplicateLookup() {
+		return duplicates.assignGroup(nearDuplicate);
+	}
+
+	@Benchmark
+	public Long nearDuplicateLookupMiss() {
+		return duplicates.assignGroup(unrelated);
+	}
+
+	private Resume fingerprinted(String text) {
+		Resume resume = new Resume();
+		resume.setExtractedText(text);
+		duplicates.fingerprint(resume);
+		return resume;
+	}
+
+	/** About 150 words; the id makes name and phone unique. */
+	static String randomResume(Random random, long id) {
+		StringBuilder text = new StringBuilder("Candidate ").append(id)
+				.append("\nPhone 555-").append(1000 + Math.floorMod(id, 9000)).append('\n');
+		for (int i = 0; i < 150; i++) {
+			text.append(WORDS[random.nextInt(WORDS.length)]).append(i % 12 == 11 ? ".\n" : " ");
+		}
+		return text.toString();
+	}
+}
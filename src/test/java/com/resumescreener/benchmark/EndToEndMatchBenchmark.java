@@ -0,0 +1,179 @@
+package com.resumescreener.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.Resume;
+import com.resumescreener.service.JobBriefService;
+import com.resumescreener.service.LLMMatchingService;
+import com.resumescreener.service.MatchCacheService;
+import com.resumescreener.service.MatchRanker;
+import com.resumescreener.service.MatchResponseParser;
+import com.resumescreener.service.ParallelMatchingService;
+import com.resumescreener.service.RateLimitedChatClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One LLM match run end to end: prompts built from the cached job brief, calls through
+ * {@link RateLimitedChatClient} on the worker pool, response parsing and ranking. The
+ * provider is a local {@link ChatModel} that answers after {@code latencyMillis} with a
+ * recorded-style JSON response, so the numbers show the app's own overhead at zero
+ * latency and how well the pool hides provider latency above it.
+ *
+ * Rate limits are off and the match cache holds no entries, so every resume is a call.
+ * With {@code streaming} the responses arrive in chunks and those scoring below the
+ * threshold are cut off after the score, as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndToEndMatchBenchmark {
+
+	private static final int RESUMES = 40;
+	private static final int CONCURRENCY = 8;
+
+	private static final String JOB = """
+			Senior Java Developer
+
+			Requirements:
+			- 5+ years of Java experience
+			- Spring Boot and microservices
+			- REST APIs, MySQL
+			- Docker and Kubernetes
+
+			Nice to have:
+			- AWS certification
+			- Kafka
+			""";
+
+	private static final String[] SKILLS = {"Java", "Spring Boot", "MySQL", "REST API", "Docker", "Kubernetes",
+			"AWS", "Python", "React", "Kafka", "PostgreSQL", "Terraform"};
+
+	@Param({"0", "20", "100"})
+	public long latencyMillis;
+
+	@Param({"false", "true"})
+	public boolean streaming;
+
+	private ParallelMatchingService matchingService;
+	private List<Resume> resumes;
+
+	@Setup
+	public void setUp() {
+		MeterRegistry registry = new SimpleMeterRegistry();
+		StubChatModel model = new StubChatModel(Duration.ofMillis(latencyMillis));
+		RateLimitedChatClient chatClient = new RateLimitedChatClient(ChatClient.builder(model), registry,
+				0, 0, 1500, 400, 1, Duration.ofSeconds(1), Duration.ofSeconds(1), 1000, Duration.ofSeconds(1));
+		LLMMatchingService llmMatchingService = new LLMMatchingService(chatClient, new MatchResponseParser(),
+				new JobBriefService(16), registry);
+		MatchCacheService matchCacheService = new MatchCacheService(new ObjectMapper(), registry, "stub", 0,
+				Duration.ofHours(1), "");
+		matchingService = new ParallelMatchingService(llmMatchingService, matchCacheService, CONCURRENCY,
+				60, 240, false, 5, streaming, false);
+
+		Random random = new Random(3);
+		resumes = new ArrayList<>(RESUMES);
+		for (int i = 0; i < RESUMES; i++) {
+			Resume resume = new Resume();
+			resume.setId((long) i + 1);
+			resume.setCandidateName("Candidate " + i);
+			List<String> skills = new ArrayList<>();
+			for (int s = 0; s < 5; s++) {
+				skills.add(SKILLS[random.nextInt(SKILLS.length)]);
+			}
+			resume.setSkills(String.join(", ", skills));
+			resume.setExperience((2 + random.nextInt(10)) + " years building backend services with "
+					+ skills.get(0) + " and " + skills.get(1) + ".");
+			resume.setEducation("B.Tech Computer Science");
+			resumes.add(resume);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		matchingService.shutdown();
+	}
+
+	@Benchmark
+	public List<MatchResult> matchAndRank() throws InterruptedException {
+		List<MatchResult> results = matchingService.matchAll(resumes, JOB, MatchRanker.DEFAULT_THRESHOLD, result -> { });
+		return MatchRanker.shortlist(results, MatchRanker.DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Answers every prompt with a JSON match after a fixed delay. The score is derived
+	 * from the prompt, so a resume gets the same score on every call and scores are
+	 * spread over 1-10.
+	 */
+	static final class StubChatModel implements ChatModel {
+		private final Duration latency;
+
+		StubChatModel(Duration latency) {
+			this.latency = latency;
+		}
+
+		@Override
+		public ChatResponse call(Prompt prompt) {
+			sleep();
+			return new ChatResponse(List.of(new Generation(respond(prompt))));
+		}
+
+		@Override
+		public Flux<ChatResponse> stream(Prompt prompt) {
+			return Flux.defer(() -> {
+				sleep();
+				String text = respond(prompt);
+				List<String> chunks = new ArrayList<>();
+				for (int i = 0; i < text.length(); i += 16) {
+					chunks.add(text.substring(i, Math.min(text.length(), i + 16)));
+				}
+				return Flux.fromIterable(chunks).map(chunk -> new ChatResponse(List.of(new Generation(chunk))));
+			});
+		}
+
+		private static String respond(Prompt prompt) {
+			double score = 1 + Math.floorMod(prompt.getContents().hashCode(), 19) * 0.5;
+			return "{\"score\": " + score + ", \"skillMatches\": [\"Java\", \"Spring Boot\"], "
+					+ "\"gaps\": [\"Kubernetes\"], \"justification\": \"Solid Java and Spring Boot background on "
+					+ "backend services; no production Kubernetes work is mentioned, which the role requires.\"}";
+		}
+
+		private void sleep() {
+			if (latency.isZero()) {
+				return;
+			}
+			try {
+				Thread.sleep(latency.toMillis());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
@@ -0,0 +1,377 @@
+package com.resumescreener.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Drives a running app with {@code /api/upload} and then {@code /api/match} requests at a
+ * fixed concurrency, and prints each phase's latency percentiles and throughput together
+ * with the app's heap and GC activity over the run, read from {@code /actuator/metrics}.
+ * Run the app with the {@code stub-llm} profile and no network or provider quota is
+ * needed, so two runs differ only in what was changed between them.
+ *
+ * Started with {@code mvn -Ploadtest verify -DskipTests [-Dloadtest.concurrency=16 ...]}, or
+ * as a plain main with {@code key=value} arguments: {@code url}, {@code concurrency},
+ * {@code resumes}, {@code pages}, {@code matches}, {@code jobs}, {@code threshold},
+ * {@code topK} and {@code engine}.
+ *
+ * The resumes are generated PDFs, each with its own name and wording so deduplication
+ * keeps them all. Match requests cycle through {@code jobs} variants of one job
+ * description: with one, later requests are answered from the match cache; with as many
+ * as there are requests, every request is scored afresh.
+ */
+public class LoadGenerator {
+
+	private static final String JOB = """
+			Senior Java Developer
+
+			Requirements:
+			- 5+ years of Java experience
+			- Spring Boot and microservices
+			- REST APIs, MySQL
+			- Docker and Kubernetes
+
+			Nice to have:
+			- AWS certification
+			- Kafka
+			""";
+
+	private static final String[] FIRST_NAMES = {"Jane", "John", "Priya", "Wei", "Amara", "Lucas", "Sofia",
+			"Omar", "Hana", "Mateo", "Chloe", "Ravi", "Elena", "Kofi", "Yuki", "Noah"};
+	private static final String[] LAST_NAMES = {"Doe", "Smith", "Patel", "Chen", "Okafor", "Silva", "Rossi",
+			"Haddad", "Kim", "Garcia", "Martin", "Iyer", "Novak", "Mensah", "Sato", "Berg"};
+	private static final String[] SKILLS = {"Java", "Spring Boot", "MySQL", "REST API", "Docker", "Kubernetes",
+			"AWS", "Python", "React", "Kafka", "PostgreSQL", "Git", "Jenkins", "Terraform", "Go", "Node.js"};
+	private static final String[] WORDS = {"designed", "payment", "services", "built", "microservices", "team",
+			"led", "migrated", "platform", "delivery", "cloud", "reduced", "latency", "engineers", "code",
+			"review", "mentor", "product", "traffic", "operate", "data", "pipelines", "frontend", "testing",
+			"billing", "search", "analytics", "mobile", "security", "reporting", "inventory", "checkout",
+			"scaled", "automated", "monitoring", "alerts", "batch", "streaming", "schemas", "caching"};
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+	private final String url;
+
+	private LoadGenerator(String url) {
+		this.url = url;
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new LinkedHashMap<>();
+		for (String arg : args) {
+			int eq = arg.indexOf('=');
+			if (eq > 0 && eq < arg.length() - 1) {
+				options.put(arg.substring(0, eq), arg.substring(eq + 1));
+			}
+		}
+		String url = options.getOrDefault("url", "http://localhost:8080");
+		int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "4"));
+		int resumes = Integer.parseInt(options.getOrDefault("resumes", "200"));
+		int pages = Integer.parseInt(options.getOrDefault("pages", "2"));
+		int matches = Integer.parseInt(options.getOrDefault("matches", "20"));
+		int jobs = Math.max(1, Integer.parseInt(options.getOrDefault("jobs", "1")));
+
+		Map<String, Object> matchOptions = new LinkedHashMap<>();
+		matchOptions.put("threshold", Double.parseDouble(options.getOrDefault("threshold", "6.0")));
+		if (options.containsKey("topK")) {
+			matchOptions.put("topK", Integer.parseInt(options.get("topK")));
+		}
+		if (options.containsKey("engine")) {
+			matchOptions.put("engine", options.get("engine"));
+		}
+
+		new LoadGenerator(url.replaceAll("/+$", "")).run(concurrency, resumes, pages, matches, jobs, matchOptions);
+	}
+
+	private void run(int concurrency, int resumes, int pages, int matches, int jobs,
+			Map<String, Object> matchOptions) throws Exception {
+		System.out.printf("Generating %d resumes of %d page(s)...%n", resumes, pages);
+		byte[][] pdfs = new byte[resumes][];
+		for (int i = 0; i < resumes; i++) {
+			pdfs[i] = renderResume(i, pages);
+		}
+		String[] bodies = new String[jobs];
+		for (int j = 0; j < jobs; j++) {
+			Map<String, Object> body = new LinkedHashMap<>(matchOptions);
+			body.put("jobDescription", j == 0 ? JOB : JOB + "\nTeam " + (j + 1) + " of the payments platform group.\n");
+			bodies[j] = objectMapper.writeValueAsString(body);
+		}
+
+		Heap heapBefore = heap();
+		Gc gcBefore = gc();
+		AtomicLong peakHeap = new AtomicLong(heapBefore != null ? heapBefore.used : 0);
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		sampler.scheduleAtFixedRate(() -> {
+			Heap heap = heap();
+			if (heap != null) {
+				peakHeap.accumulateAndGet(heap.used, Math::max);
+			}
+		}, 1, 1, TimeUnit.SECONDS);
+
+		Phase upload = phase("upload", resumes, concurrency, i -> upload(pdfs[i], "loadtest-" + i + ".pdf"));
+		Phase match = phase("match", matches, concurrency, i -> post("/api/match", bodies[i % jobs]));
+
+		sampler.shutdownNow();
+		Heap heapAfter = heap();
+		Gc gcAfter = gc();
+
+		System.out.printf("%nTarget %s, concurrency %d%n", url, concurrency);
+		upload.print();
+		match.print();
+		if (heapBefore != null && heapAfter != null) {
+			System.out.printf(Locale.ROOT, "app heap: %.0f MB -> %.0f MB used, peak %.0f MB sampled each second, max %.0f MB%n",
+					heapBefore.used / 1048576.0, heapAfter.used / 1048576.0, peakHeap.get() / 1048576.0,
+					heapAfter.max / 1048576.0);
+			System.out.printf(Locale.ROOT, "app GC: %d pauses, %.0f ms in total, longest recent %.0f ms%n",
+					gcAfter.count - gcBefore.count, (gcAfter.totalSeconds - gcBefore.totalSeconds) * 1000,
+					gcAfter.maxSeconds * 1000);
+		} else {
+			System.out.println("app heap and GC: unavailable (is /actuator/metrics exposed?)");
+		}
+		HttpResponse<String> cache = get("/api/match/cache");
+		if (cache.statusCode() == 200) {
+			System.out.println("match cache: " + cache.body());
+		}
+	}
+
+	/** Sends {@code total} requests from {@code concurrency} threads, each taking the next request when done. */
+	private Phase phase(String name, int total, int concurrency, IntFunction<HttpRequest> request)
+			throws InterruptedException {
+		System.out.printf("Running %s: %d requests...%n", name, total);
+		long[] latencies = new long[total];
+		AtomicInteger next = new AtomicInteger();
+		AtomicInteger errors = new AtomicInteger();
+		AtomicInteger firstError = new AtomicInteger(-1);
+		String[] errorBodies = new String[total];
+		ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, concurrency));
+		long start = System.nanoTime();
+		for (int t = 0; t < concurrency; t++) {
+			workers.execute(() -> {
+				for (int i = next.getAndIncrement(); i < total; i = next.getAndIncrement()) {
+					long sent = System.nanoTime();
+					try {
+						HttpResponse<String> response = client.send(request.apply(i), HttpResponse.BodyHandlers.ofString());
+						if (response.statusCode() != 200) {
+							errors.incrementAndGet();
+							errorBodies[i] = response.statusCode() + " " + response.body();
+							firstError.compareAndSet(-1, i);
+						}
+					} catch (IOException | InterruptedException e) {
+						errors.incrementAndGet();
+						errorBodies[i] = e.toString();
+						firstError.compareAndSet(-1, i);
+					}
+					latencies[i] = System.nanoTime() - sent;
+				}
+			});
+		}
+		workers.shutdown();
+		workers.awaitTermination(1, TimeUnit.DAYS);
+		long elapsed = System.nanoTime() - start;
+		return new Phase(name, latencies, elapsed, errors.get(),
+				firstError.get() >= 0 ? errorBodies[firstError.get()] : null);
+	}
+
+	private HttpRequest upload(byte[] pdf, String fileName) {
+		String boundary = "loadtest-" + UUID.randomUUID();
+		byte[] head = ("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"" + fileName
+				+ "\"\r\nContent-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+		byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+		byte[] body = new byte[head.length + pdf.length + tail.length];
+		System.arraycopy(head, 0, body, 0, head.length);
+		System.arraycopy(pdf, 0, body, head.length, pdf.length);
+		System.arraycopy(tail, 0, body, head.length + pdf.length, tail.length);
+		return HttpRequest.newBuilder(URI.create(url + "/api/upload"))
+				.header("Content-Type", "multipart/form-data; boundary=" + boundary)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body))
+				.build();
+	}
+
+	private HttpRequest post(String path, String json) {
+		return HttpRequest.newBuilder(URI.create(url + path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json))
+				.build();
+	}
+
+	private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+		return client.send(HttpRequest.newBuilder(URI.create(url + path)).GET().build(),
+				HttpResponse.BodyHandlers.ofString());
+	}
+
+	private Heap heap() {
+		Double used = metric("jvm.memory.used?tag=area:heap", "VALUE");
+		Double max = metric("jvm.memory.max?tag=area:heap", "VALUE");
+		return used != null && max != null ? new Heap(used.longValue(), max.longValue()) : null;
+	}
+
+	private Gc gc() {
+		Double count = metric("jvm.gc.pause", "COUNT");
+		Double total = metric("jvm.gc.pause", "TOTAL_TIME");
+		Double max = metric("jvm.gc.pause", "MAX");
+		// The metric only appears after the first collection
+		return count != null && total != null ? new Gc(count.longValue(), total, max != null ? max : 0) : new Gc(0, 0, 0);
+	}
+
+	/** One statistic of an actuator metric, or null if the metric cannot be read. */
+	private Double metric(String query, String statistic) {
+		try {
+			HttpResponse<String> response = get("/actuator/metrics/" + query);
+			if (response.statusCode() != 200) {
+				return null;
+			}
+			for (JsonNode measurement : objectMapper.readTree(response.body()).path("measurements")) {
+				if (statistic.equals(measurement.path("statistic").asText())) {
+					return measurement.path("value").asDouble();
+				}
+			}
+			return null;
+		} catch (IOException e) {
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	/** A resume whose name, skills and wording all come from {@code seed}. */
+	private static byte[] renderResume(int seed, int pages) throws IOException {
+		Random random = new Random(seed);
+		String name = FIRST_NAMES[seed % FIRST_NAMES.length] + " " + LAST_NAMES[(seed / FIRST_NAMES.length) % LAST_NAMES.length]
+				+ " " + (char) ('A' + seed / (FIRST_NAMES.length * LAST_NAMES.length) % 26);
+		PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+		try (PDDocument document = new PDDocument()) {
+			for (int page = 0; page < pages; page++) {
+				PDPage pdPage = new PDPage();
+				document.addPage(pdPage);
+				try (PDPageContentStream content = new PDPageContentStream(document, pdPage)) {
+					content.beginText();
+					content.setFont(font, 10);
+					content.setLeading(13);
+					content.newLineAtOffset(50, 740);
+					if (page == 0) {
+						content.showText(name);
+						content.newLine();
+						content.showText("candidate" + seed + "@example.com | +1 555-" + (100 + seed % 900) + "-"
+								+ (1000 + seed % 9000));
+						content.newLine();
+						content.showText("Skills");
+						content.newLine();
+						StringBuilder skills = new StringBuilder();
+						for (int s = 0; s < 6; s++) {
+							skills.append(s > 0 ? ", " : "").append(SKILLS[random.nextInt(SKILLS.length)]);
+						}
+						content.showText(skills.toString());
+						content.newLine();
+						content.showText("Professional Experience");
+						content.newLine();
+					}
+					for (int line = 0; line < 40; line++) {
+						StringBuilder text = new StringBuilder();
+						for (int w = 0; w < 12; w++) {
+							text.append(w > 0 ? " " : "").append(WORDS[random.nextInt(WORDS.length)]);
+						}
+						content.showText(text.toString());
+						content.newLine();
+					}
+					if (page == pages - 1) {
+						content.showText("Education");
+						content.newLine();
+						content.showText("B.Tech in Computer Science, " + (2005 + random.nextInt(15)));
+						content.newLine();
+					}
+					content.endText();
+				}
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			document.save(out);
+			return out.toByteArray();
+		}
+	}
+
+	private static final class Phase {
+		private final String name;
+		private final long[] latencies;
+		private final long elapsedNanos;
+		private final int errors;
+		private final String firstError;
+
+		private Phase(String name, long[] latencies, long elapsedNanos, int errors, String firstError) {
+			this.name = name;
+			this.latencies = latencies.clone();
+			Arrays.sort(this.latencies);
+			this.elapsedNanos = elapsedNanos;
+			this.errors = errors;
+			this.firstError = firstError;
+		}
+
+		private void print() {
+			if (latencies.length == 0) {
+				System.out.printf("%s: no requests%n", name);
+				return;
+			}
+			System.out.printf(Locale.ROOT, "%s: %d requests, %d errors, %.1f req/s, latency p50 %.0f ms, p95 %.0f ms, "
+							+ "p99 %.0f ms, max %.0f ms%n", name, latencies.length, errors,
+					latencies.length / (elapsedNanos / 1e9), percentileMillis(50), percentileMillis(95),
+					percentileMillis(99), latencies[latencies.length - 1] / 1e6);
+			if (firstError != null) {
+				System.out.printf("  first error: %s%n", firstError.length() > 300 ? firstError.substring(0, 300) : firstError);
+			}
+		}
+
+		/** Nearest-rank percentile. */
+		private double percentileMillis(double percentile) {
+			int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+			return latencies[Math.max(0, rank - 1)] / 1e6;
+		}
+	}
+
+	private static final class Heap {
+		private final long used;
+		private final long max;
+
+		private Heap(long used, long max) {
+			this.used = used;
+			this.max = max;
+		}
+	}
+
+	private static final class Gc {
+		private final long count;
+		private final double totalSeconds;
+		private final double maxSeconds;
+
+		private Gc(long count, double totalSeconds, double maxSeconds) {
+			this.count = count;
+			this.totalSeconds = totalSeconds;
+			this.maxSeconds = maxSeconds;
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package com.resumescreener.benchmark;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.Resume;
+import com.resumescreener.service.LocalScoringEngine;
+import com.resumescreener.service.SkillExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded throughput of the local scorer over parsed resumes, reported per
+ * resume. The target is 100k resumes per second on one core, i.e. at most 10 us each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(1)
+@Fork(1)
+public class LocalScoringBenchmark {
+
+	private static final int RESUMES = 1000;
+
+	private static final String JOB = "Senior Java Developer with 5+ years experience in Spring Boot, microservices "
+			+ "and cloud technologies. Must have strong knowledge of REST APIs, MySQL, Docker, Kubernetes and AWS. "
+			+ "You will design and operate high-traffic payment services, review code, mentor junior engineers "
+			+ "and work with product managers on delivery. Bachelor's degree in computer science or equivalent.";
+
+	private static final String[] SKILLS = {"Java", "Spring Boot", "MySQL", "REST API", "Docker", "Kubernetes",
+			"AWS", "Python", "React", "Kafka", "PostgreSQL", "Git", "Jenkins", "Terraform", "Go", "Node.js"};
+	private static final String[] WORDS = {"designed", "payment", "services", "built", "microservices", "team",
+			"led", "migrated", "platform", "delivery", "cloud", "reduced", "latency", "engineers", "code",
+			"review", "mentor", "product", "traffic", "operate", "data", "pipelines", "frontend", "testing"};
+	private static final String[] DEGREES = {"B.Tech Computer Science", "M.Sc Data Science", "Diploma in IT",
+			"Bachelor of Engineering", "PhD Physics", "MBA"};
+
+	private LocalScoringEngine engine;
+	private LocalScoringEngine.JobProfile profile;
+	private Resume[] resumes;
+
+	@Setup
+	public void setUp() throws IOException {
+		try (Reader reader = new InputStreamReader(
+				SkillExtractor.class.getResourceAsStream("/skills.txt"), StandardCharsets.UTF_8)) {
+			engine = new LocalScoringEngine(new SkillExtractor(SkillExtractor.parseDictionary(reader)));
+		}
+		profile = engine.profile(JOB);
+		Random random = new Random(12);
+		resumes = new Resume[RESUMES];
+		for (int i = 0; i < RESUMES; i++) {
+			Resume resume = new Resume();
+			resume.setId((long) i);
+			StringBuilder skills = new StringBuilder();
+			for (int s = 0; s < 8; s++) {
+				skills.append(s == 0 ? "" : ", ").append(SKILLS[random.nextInt(SKILLS.length)]);
+			}
+			resume.setSkills(skills.toString());
+			StringBuilder experience = new StringBuilder();
+			for (int w = 0; w < 120; w++) {
+				experience.append(WORDS[random.nextInt(WORDS.length)]).append(w % 15 == 14 ? ".\n" : " ");
+			}
+			resume.setExperience(experience.toString());
+			resume.setEducation(DEGREES[random.nextInt(DEGREES.length)] + ", 2016");
+			resumes[i] = resume;
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RESUMES)
+	public void scoreResumes(Blackhole blackhole) {
+		for (Resume resume : resumes) {
+			blackhole.consume(engine.score(resume, profile));
+		}
+	}
+
+	@Benchmark
+	public List<MatchResult> profileAndScoreOneRequest() {
+		return engine.scoreAll(List.of(resumes), JOB, 6.0, result -> {
+		});
+	}
+}
@@ -0,0 +1,162 @@
+package com.resumescreener.benchmark;
+
+import com.resumescreener.model.Resume;
+import com.resumescreener.service.PDFParserService;
+import com.resumescreener.service.SkillExtractor;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Peak heap used while ingesting one large, image-heavy PDF: the old path (read the
+ * upload into a byte[], load it fully, strip all pages at once) against
+ * {@link PDFParserService#parseResume(String, Path)}, which reads from a file with a
+ * capped PDFBox memory budget and strips page by page.
+ *
+ * Each invocation is a single upload. The peak heap in use above the post-GC baseline is
+ * sampled from the heap memory pools and the largest value per benchmark is printed at
+ * the end of the trial; {@code -prof gc} adds the bytes allocated per upload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx512m"})
+public class PdfIngestionMemoryBenchmark {
+
+	@Param({"2", "10"})
+	public int megabytes;
+
+	private Path pdf;
+	private PDFParserService parser;
+	private long maxPeakBytes;
+
+	@Setup
+	public void setUp() throws Exception {
+		Map<String, List<String>> dictionary = new LinkedHashMap<>();
+		dictionary.put("java", Collections.emptyList());
+		parser = new PDFParserService(new SkillExtractor(dictionary));
+		pdf = Files.createTempFile("benchmark-resume-", ".pdf");
+		writeImageHeavyPdf(pdf, megabytes, 11);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		System.out.printf("%nPeak heap per upload (%d MB PDF): %.1f MB%n", megabytes, maxPeakBytes / 1048576.0);
+		Files.deleteIfExists(pdf);
+	}
+
+	@Setup(Level.Invocation)
+	public void resetPeak() {
+		System.gc();
+		for (MemoryPoolMXBean pool : heapPools()) {
+			pool.resetPeakUsage();
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void recordPeak() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : heapPools()) {
+			peak += pool.getPeakUsage().getUsed();
+		}
+		long baseline = 0;
+		System.gc();
+		for (MemoryPoolMXBean pool : heapPools()) {
+			baseline += pool.getUsage().getUsed();
+		}
+		maxPeakBytes = Math.max(maxPeakBytes, peak - baseline);
+	}
+
+	@Benchmark
+	public Resume legacyBytesInMemory() throws Exception {
+		byte[] content = Files.readAllBytes(pdf);
+		try (PDDocument document = Loader.loadPDF(content)) {
+			PDFTextStripper stripper = new PDFTextStripper();
+			stripper.setSortByPosition(true);
+			return parser.parseText("resume.pdf", stripper.getText(document));
+		}
+	}
+
+	@Benchmark
+	public Resume fileBackedPageByPage() throws Exception {
+		return parser.parseResume("resume.pdf", pdf);
+	}
+
+	private static List<MemoryPoolMXBean> heapPools() {
+		return ManagementFactory.getMemoryPoolMXBeans().stream()
+				.filter(pool -> pool.getType() == MemoryType.HEAP)
+				.toList();
+	}
+
+	/** About one megabyte per page: a few lines of text and an incompressible noise image. */
+	static void writeImageHeavyPdf(Path target, int pages, long seed) throws Exception {
+		Random random = new Random(seed);
+		try (PDDocument document = new PDDocument()) {
+			PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+			for (int page = 0; page < pages; page++) {
+				BufferedImage noise = new BufferedImage(600, 560, BufferedImage.TYPE_INT_RGB);
+				for (int y = 0; y < noise.getHeight(); y++) {
+					for (int x = 0; x < noise.getWidth(); x++) {
+						noise.setRGB(x, y, random.nextInt(0x1000000));
+					}
+				}
+				PDImageXObject image = LosslessFactory.createFromImage(document, noise);
+				PDPage pdPage = new PDPage();
+				document.addPage(pdPage);
+				try (PDPageContentStream content = new PDPageContentStream(document, pdPage)) {
+					content.drawImage(image, 50, 200, 300, 280);
+					content.beginText();
+					content.setFont(font, 10);
+					content.setLeading(13);
+					content.newLineAtOffset(50, 740);
+					if (page == 0) {
+						content.showText("Jane Doe");
+						content.newLine();
+						content.showText("Experience");
+						content.newLine();
+					}
+					for (int line = 0; line < 20; line++) {
+						content.showText("Built Java services handling " + random.nextInt(1000) + " requests per second.");
+						content.newLine();
+					}
+					content.endText();
+				}
+			}
+			document.save(target.toFile());
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package com.resumescreener.benchmark;
+
+import com.resumescreener.model.Resume;
+import com.resumescreener.service.PDFParserService;
+import com.resumescreener.service.ParseCacheService;
+import com.resumescreener.service.SkillExtractor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link PDFParserService#parseResume(String, Path)} on generated text
+ * resumes of 1 to 10 pages, read from a file as uploads are. Beside the time per resume,
+ * the mean time of each stage the parser already meters (loading, text stripping,
+ * segmentation and every field extractor) is reported as a secondary result, so a
+ * regression in one extractor shows up by name in the JSON output.
+ *
+ * The parser keeps the default 20,000-character text cap, so the longest resumes stop
+ * being stripped partway through, as they do in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PdfParsingBenchmark {
+
+	@Param({"1", "2", "5", "10"})
+	public int pages;
+
+	private Path pdf;
+	private SkillExtractor skillExtractor;
+
+	@Setup
+	public void setUp() throws Exception {
+		try (Reader reader = new InputStreamReader(
+				PdfParsingBenchmark.class.getResourceAsStream("/skills.txt"), StandardCharsets.UTF_8)) {
+			skillExtractor = new SkillExtractor(SkillExtractor.parseDictionary(reader));
+		}
+		pdf = Files.createTempFile("benchmark-resume-", ".pdf");
+		Files.write(pdf, ResumeParsingBenchmark.renderResume(pages, 7));
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		Files.deleteIfExists(pdf);
+	}
+
+	@Benchmark
+	public Resume parseResume(Stages stages) throws Exception {
+		Resume resume = stages.parser.parseResume("resume.pdf", pdf);
+		stages.update();
+		return resume;
+	}
+
+	/**
+	 * Mean nanoseconds per resume of each parser stage in the current iteration, read
+	 * from the parser's own timers. A fresh registry per iteration keeps warmup out.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Stages {
+		public double loadNanos;
+		public double extractNanos;
+		public double segmentNanos;
+		public double nameNanos;
+		public double emailNanos;
+		public double phoneNanos;
+		public double skillsNanos;
+		public double experienceNanos;
+		public double educationNanos;
+
+		private PDFParserService parser;
+		private Timer[] timers;
+
+		@Setup(Level.Iteration)
+		public void reset(PdfParsingBenchmark benchmark) {
+			MeterRegistry registry = new SimpleMeterRegistry();
+			// No parse cache, so every invocation decodes the PDF
+			parser = new PDFParserService(benchmark.skillExtractor, new ParseCacheService(null, registry, 0, ""),
+					registry, DataSize.ofMegabytes(4), 20_000);
+			timers = new Timer[] {
+					registry.find("resume.parse.load").timer(),
+					registry.find("resume.parse.extract").timer(),
+					registry.find("resume.parse.segment").timer(),
+					registry.find("resume.parse.field").tag("field", "name").timer(),
+					registry.find("resume.parse.field").tag("field", "email").timer(),
+					registry.find("resume.parse.field").tag("field", "phone").timer(),
+					registry.find("resume.parse.field").tag("field", "skills").timer(),
+					registry.find("resume.parse.field").tag("field", "experience").timer(),
+					registry.find("resume.parse.field").tag("field", "education").timer()
+			};
+		}
+
+		void update() {
+			loadNanos = meanNanos(timers[0]);
+			extractNanos = meanNanos(timers[1]);
+			segmentNanos = meanNanos(timers[2]);
+			nameNanos = meanNanos(timers[3]);
+			emailNanos = meanNanos(timers[4]);
+			phoneNanos = meanNanos(timers[5]);
+			skillsNanos = meanNanos(timers[6]);
+			experienceNanos = meanNanos(timers[7]);
+			educationNanos = meanNanos(timers[8]);
+		}
+
+		private static double meanNanos(Timer timer) {
+			return timer.count() == 0 ? 0 : timer.totalTime(TimeUnit.NANOSECONDS) / timer.count();
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package com.resumescreener.benchmark;
+
+import com.resumescreener.model.Resume;
+import com.resumescreener.service.JobBriefService;
+import com.resumescreener.service.LLMMatchingService;
+import com.resumescreener.service.MatchResponseParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building one single-resume prompt: rendering the full template around the raw
+ * job description, as every call used to, against appending the candidate's fields to
+ * the cached prefix of the condensed job brief.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptBuildBenchmark {
+
+	private static final String LEGACY_TEMPLATE = """
+			You are an expert resume screening AI assistant. Analyze the following resume against the job description.
+
+			RESUME DETAILS:
+			Candidate Name: {candidateName}
+			Skills: {skills}
+			Experience: {experience}
+			Education: {education}
+
+			JOB DESCRIPTION:
+			{jobDescription}
+
+			INSTRUCTIONS:
+			1. Compare the candidate's skills, experience, and education with the job requirements.
+			2. Rate the fit on a scale of 1-10 (where 10 is perfect match).
+			3. Provide a detailed justification for the score.
+
+			""";
+
+	private static final String JOB = """
+			Senior Java Developer
+
+			About Us:
+			Acme Corp is a fast-growing fintech company with offices in 12 countries. We value innovation,
+			teamwork and a great culture, and have been recognised as a great place to work three years running.
+
+			Responsibilities:
+			- Design and build high-traffic payment services
+			- Review code and mentor junior engineers
+			- Work with product managers on delivery
+			- Operate services in production and take part in the on-call rotation
+
+			Requirements:
+			- 5+ years of Java experience
+			- Spring Boot and microservices
+			- REST APIs, MySQL
+			- Docker and Kubernetes
+
+			Nice to have:
+			- AWS certification
+			- Kafka
+
+			Benefits:
+			- Competitive salary and equity
+			- Health, dental and vision insurance
+
+			Acme is an equal opportunity employer and is committed to an inclusive environment.
+			""";
+
+	private JobBriefService jobBriefService;
+	private LLMMatchingService llmMatchingService;
+	private Resume resume;
+
+	@Setup
+	public void setUp() {
+		jobBriefService = new JobBriefService(16);
+		llmMatchingService = new LLMMatchingService(null, new MatchResponseParser(), jobBriefService, new SimpleMeterRegistry());
+		resume = new Resume();
+		resume.setCandidateName("Jane Doe");
+		resume.setSkills("Java, Spring Boot, MySQL, Docker, Kafka");
+		resume.setExperience("7 years building payment and ledger services on Spring Boot microservices at scale, "
+				+ "including on-call ownership and mentoring three engineers.");
+		resume.setEducation("B.Tech Computer Science, 2016");
+	}
+
+	@Benchmark
+	public String legacyTemplatePerResume() {
+		return new PromptTemplate(LEGACY_TEMPLATE).create(Map.of(
+				"candidateName", resume.getCandidateName(),
+				"skills", resume.getSkills(),
+				"experience", resume.getExperience(),
+				"education", resume.getEducation(),
+				"jobDescription", JOB
+		)).getContents() + MatchResponseParser.SINGLE_FORMAT + "\nNow analyze and respond:\n";
+	}
+
+	@Benchmark
+	public String cachedBriefPerResume() {
+		return llmMatchingService.buildMatchingPrompt(resume, jobBriefService.brief(JOB));
+	}
+}
@@ -0,0 +1,87 @@
+package com.resumescreener.benchmark;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.MatchStatus;
+import com.resumescreener.service.MatchRanker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The ranking step every match response goes through: collect the timed-out results and
+ * rank the rest above the threshold best first. Scores are spread evenly over 1-10
+ * in steps of 0.5, so ties are common as they are with real LLM scores, and about half
+ * the pool clears the default threshold.
+ *
+ * {@code shortlist} ranks the whole shortlist and {@code firstPage} only the top 50 with
+ * {@link MatchRanker#rank}, which collects the timed-out ids in the same pass; {@code fullSort}
+ * is the separate timed-out scan and boxed filter-and-sort the ranker replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class RankingBenchmark {
+
+	@Param({"10000", "100000", "1000000"})
+	public int results;
+
+	private List<MatchResult> pool;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(5);
+		pool = new ArrayList<>(results);
+		for (int i = 0; i < results; i++) {
+			MatchResult result = new MatchResult();
+			result.setResumeId((long) i);
+			result.setCandidateName("Candidate " + i);
+			if (random.nextInt(100) == 0) {
+				result.setStatus(MatchStatus.TIMED_OUT);
+			} else {
+				result.setMatchScore(1 + random.nextInt(19) * 0.5);
+			}
+			pool.add(result);
+		}
+	}
+
+	@Benchmark
+	public void shortlist(Blackhole blackhole) {
+		blackhole.consume(MatchRanker.shortlist(pool, MatchRanker.DEFAULT_THRESHOLD));
+	}
+
+	@Benchmark
+	public void firstPage(Blackhole blackhole) {
+		blackhole.consume(MatchRanker.rank(pool, MatchRanker.DEFAULT_THRESHOLD, 0, 50));
+	}
+
+	@Benchmark
+	public void fullSort(Blackhole blackhole) {
+		blackhole.consume(pool.stream()
+				.filter(r -> r.getStatus() == MatchStatus.TIMED_OUT)
+				.collect(Collectors.toList()));
+		blackhole.consume(pool.stream()
+				.filter(r -> r.getStatus() != MatchStatus.TIMED_OUT)
+				.filter(r -> r.getMatchScore() >= MatchRanker.DEFAULT_THRESHOLD)
+				.sorted(Comparator.comparing(MatchResult::getMatchScore).reversed())
+				.collect(Collectors.toList()));
+	}
+}
@@ -0,0 +1,114 @@
+package com.resumescreener.benchmark;
+
+import com.resumescreener.service.MatchResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading the score and justification out of recorded LLM responses: the JSON
+ * answer the prompts ask for, the same wrapped in a code fence and prose, the legacy
+ * "Score:/Justification:" lines that take the regex fallback, a batch response, and a
+ * single response fed to the streaming reader in small chunks as it arrives.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParsingBenchmark {
+
+	private static final String JSON = """
+			{"score": 7.5, "skillMatches": ["Java", "Spring Boot", "MySQL", "Docker"], \
+			"gaps": ["Kubernetes", "AWS certification"], \
+			"justification": "Seven years of Java and Spring Boot on payment services covers the core of the role, \
+			and on-call ownership and mentoring match the responsibilities. No production Kubernetes or AWS work \
+			is mentioned, which the role lists as required, so the fit is good rather than strong."}""";
+
+	private static final String FENCED = "Here is my assessment of the candidate.\n\n```json\n" + JSON
+			+ "\n```\n\nLet me know if you need anything else.";
+
+	private static final String LINES = """
+			Score: 7.5
+			Justification: Seven years of Java and Spring Boot on payment services covers the core of the role, \
+			and on-call ownership and mentoring match the responsibilities. No production Kubernetes or AWS work \
+			is mentioned, which the role lists as required, so the fit is good rather than strong.""";
+
+	private static final String[] BATCH_ROWS = {
+			"{\"candidateId\": \"R%d\", \"score\": 8, \"skillMatches\": [\"Java\", \"Kafka\"], \"gaps\": [], "
+					+ "\"justification\": \"Strong backend profile with the required streaming experience.\"}",
+			"{\"candidateId\": \"R%d\", \"score\": 4.5, \"skillMatches\": [\"Python\"], \"gaps\": [\"Java\", "
+					+ "\"Spring Boot\"], \"justification\": \"Data engineering background, little Java.\"}",
+			"{\"candidateId\": \"R%d\", \"score\": \"6\", \"skillMatches\": [\"Java\"], \"gaps\": [\"AWS\"], "
+					+ "\"justification\": \"Solid Java, no cloud work.\"}"
+	};
+
+	private MatchResponseParser parser;
+	private String batchResponse;
+
+	@Setup
+	public void setUp() {
+		parser = new MatchResponseParser();
+		StringBuilder batch = new StringBuilder("{\"candidates\": [");
+		for (int i = 0; i < 5; i++) {
+			batch.append(i > 0 ? ",\n" : "\n").append(String.format(BATCH_ROWS[i % BATCH_ROWS.length], i + 1));
+		}
+		batchResponse = batch.append("\n]}").toString();
+	}
+
+	@Benchmark
+	public MatchResponseParser.ParsedMatch parse(Response response) {
+		return parser.parse(response.text);
+	}
+
+	@Benchmark
+	public MatchResponseParser.ParsedMatch streamed(Response response) {
+		MatchResponseParser.Reader reader = parser.single();
+		for (String chunk : response.chunks) {
+			reader.feed(chunk);
+		}
+		return reader.finish();
+	}
+
+	@Benchmark
+	public Map<String, MatchResponseParser.ParsedMatch> parseBatch() {
+		return parser.parseBatch(batchResponse);
+	}
+
+	/** One recorded single-resume response, whole and split into the chunks a stream delivers. */
+	@State(Scope.Benchmark)
+	public static class Response {
+
+		@Param({"json", "fenced", "lines"})
+		public String format;
+
+		private String text;
+		private String[] chunks;
+
+		@Setup
+		public void setUp() {
+			text = switch (format) {
+				case "json" -> JSON;
+				case "fenced" -> FENCED;
+				default -> LINES;
+			};
+			// Providers stream a few characters per chunk
+			chunks = new String[(text.length() + 15) / 16];
+			for (int i = 0; i < chunks.length; i++) {
+				chunks[i] = text.substring(i * 16, Math.min(text.length(), (i + 1) * 16));
+			}
+		}
+	}
+}
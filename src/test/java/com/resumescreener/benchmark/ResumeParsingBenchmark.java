@@ -0,0 +1,237 @@
+package com.resumescreener.benchmark;
+
+import com.resumescreener.model.Resume;
+import com.resumescreener.service.PDFParserService;
+import com.resumescreener.service.SkillExtractor;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-resume cost of turning extracted PDF text into structured fields: the original
+ * split/lowercase-per-extractor code against {@link PDFParserService#parseText}, which
+ * segments the text once. The text comes from real multi-page PDFs generated in setup,
+ * so line breaks and spacing are what PDFTextStripper produces. The benchmark profile
+ * runs with {@code -prof gc}; compare {@code gc.alloc.rate.norm} for bytes per resume.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResumeParsingBenchmark {
+
+	@Param({"1", "5", "20"})
+	public int pages;
+
+	private String text;
+	private SkillExtractor skillExtractor;
+	private PDFParserService parser;
+
+	@Setup
+	public void setUp() throws Exception {
+		try (Reader reader = new InputStreamReader(
+				ResumeParsingBenchmark.class.getResourceAsStream("/skills.txt"), StandardCharsets.UTF_8)) {
+			skillExtractor = new SkillExtractor(SkillExtractor.parseDictionary(reader));
+		}
+		parser = new PDFParserService(skillExtractor);
+		text = extractText(renderResume(pages, 7));
+	}
+
+	@Benchmark
+	public Resume legacyRepeatedScans() {
+		Resume resume = new Resume();
+		resume.setExtractedText(text);
+		resume.setCandidateName(Legacy.extractName(text));
+		resume.setEmail(Legacy.extractEmail(text));
+		resume.setPhone(Legacy.extractPhone(text));
+		resume.setSkills(String.join(", ", skillExtractor.extract(text).keySet()));
+		resume.setExperience(Legacy.extractExperience(text));
+		resume.setEducation(Legacy.extractEducation(text));
+		return resume;
+	}
+
+	@Benchmark
+	public Resume segmented() {
+		return parser.parseText("resume.pdf", text);
+	}
+
+	/** A resume whose experience section runs over {@code pages} pages. */
+	static byte[] renderResume(int pages, long seed) throws Exception {
+		String[] verbs = {"Designed", "Built", "Maintained", "Migrated", "Led", "Optimised"};
+		String[] things = {"payment services in Java", "React dashboards", "Kafka pipelines on AWS",
+				"CI/CD with Docker and Kubernetes", "PostgreSQL schemas", "REST APIs with Spring Boot"};
+		Random random = new Random(seed);
+		PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+		try (PDDocument document = new PDDocument()) {
+			for (int page = 0; page < pages; page++) {
+				PDPage pdPage = new PDPage();
+				document.addPage(pdPage);
+				try (PDPageContentStream content = new PDPageContentStream(document, pdPage)) {
+					content.beginText();
+					content.setFont(font, 10);
+					content.setLeading(13);
+					content.newLineAtOffset(50, 740);
+					if (page == 0) {
+						content.showText("Jane Doe");
+						content.newLine();
+						content.showText("jane.doe@example.com | +1 555-123-4567");
+						content.newLine();
+						content.showText("Professional Experience");
+						content.newLine();
+					}
+					for (int line = 0; line < 50; line++) {
+						if (line % 10 == 0) {
+							content.showText("Senior Engineer, Company " + (page * 5 + line / 10) + " (2015 - 2020)");
+						} else {
+							content.showText(verbs[random.nextInt(verbs.length)] + " "
+									+ things[random.nextInt(things.length)] + " for " + (random.nextInt(90) + 10)
+									+ " customers across multiple regions.");
+						}
+						content.newLine();
+					}
+					if (page == pages - 1) {
+						content.showText("Education");
+						content.newLine();
+						content.showText("B.Tech in Computer Science, 2014");
+						content.newLine();
+						content.showText("Skills");
+						content.newLine();
+						content.showText("Java, Spring Boot, Docker, Kubernetes, AWS");
+						content.newLine();
+					}
+					content.endText();
+				}
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			document.save(out);
+			return out.toByteArray();
+		}
+	}
+
+	static String extractText(byte[] pdf) throws Exception {
+		try (PDDocument document = Loader.loadPDF(pdf)) {
+			PDFTextStripper stripper = new PDFTextStripper();
+			stripper.setSortByPosition(true);
+			return stripper.getText(document);
+		}
+	}
+
+	/** The extractors as they were before ResumeSections, kept verbatim as the baseline. */
+	static final class Legacy {
+
+		static String extractName(String text) {
+			String[] lines = text.split("\n");
+			for (String line : lines) {
+				line = line.trim();
+				if (!line.isEmpty() && line.length() > 2 && line.length() < 50) {
+					if (line.matches("^[A-Za-z\\s\\.]+$")) {
+						return line;
+					}
+				}
+			}
+			return "Unknown Candidate";
+		}
+
+		static String extractEmail(String text) {
+			Pattern pattern = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
+			Matcher matcher = pattern.matcher(text);
+			if (matcher.find()) {
+				return matcher.group();
+			}
+			return "Not provided";
+		}
+
+		static String extractPhone(String text) {
+			Pattern pattern = Pattern.compile("(\\+?\\d{1,3}[-.\\s]?)?\\(?\\d{3}\\)?[-.\\s]?\\d{3}[-.\\s]?\\d{4}");
+			Matcher matcher = pattern.matcher(text);
+			if (matcher.find()) {
+				return matcher.group();
+			}
+			return "Not provided";
+		}
+
+		static String extractExperience(String text) {
+			StringBuilder experience = new StringBuilder();
+			String[] lines = text.split("\n");
+			boolean inExperienceSection = false;
+			int lineCount = 0;
+			for (String line : lines) {
+				String lowerLine = line.toLowerCase();
+				if (lowerLine.contains("experience") || lowerLine.contains("work history")
+						|| lowerLine.contains("employment")) {
+					inExperienceSection = true;
+					continue;
+				}
+				if (inExperienceSection) {
+					if (lowerLine.contains("education") || lowerLine.contains("skills")
+							|| lowerLine.contains("projects")) {
+						break;
+					}
+					if (!line.trim().isEmpty() && lineCount < 10) {
+						experience.append(line.trim()).append(" ");
+						lineCount++;
+					}
+				}
+			}
+			return experience.length() > 0 ? experience.toString().trim() : "Not clearly specified";
+		}
+
+		static String extractEducation(String text) {
+			StringBuilder education = new StringBuilder();
+			String[] lines = text.split("\n");
+			boolean inEducationSection = false;
+			int lineCount = 0;
+			for (String line : lines) {
+				String lowerLine = line.toLowerCase();
+				if (lowerLine.contains("education") || lowerLine.contains("academic")
+						|| lowerLine.contains("qualification")) {
+					inEducationSection = true;
+					continue;
+				}
+				if (inEducationSection) {
+					if (lowerLine.contains("experience") || lowerLine.contains("skills")
+							|| lowerLine.contains("projects")) {
+						break;
+					}
+					if (!line.trim().isEmpty() && lineCount < 8) {
+						education.append(line.trim()).append(" ");
+						lineCount++;
+					}
+				}
+			}
+			String[] degrees = {"bachelor", "master", "phd", "b.tech", "m.tech", "mba", "b.sc", "m.sc"};
+			for (String degree : degrees) {
+				if (text.toLowerCase().contains(degree) && education.length() == 0) {
+					education.append("Found: ").append(degree);
+				}
+			}
+			return education.length() > 0 ? education.toString().trim() : "Not clearly specified";
+		}
+	}
+}
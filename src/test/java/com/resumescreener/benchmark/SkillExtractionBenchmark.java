@@ -0,0 +1,118 @@
+package com.resumescreener.benchmark;
+
+import com.resumescreener.service.SkillExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original keyword loop in PDFParserService.extractSkills (one
+ * {@code contains} scan per skill) with the Aho-Corasick {@link SkillExtractor} at
+ * increasing dictionary sizes. Run with
+ * {@code mvn -Pbenchmark verify -DskipTests -Djmh.include=SkillExtraction}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkillExtractionBenchmark {
+
+	/** The keyword list hard-coded in PDFParserService before the dictionary existed. */
+	static final List<String> LEGACY_SKILLS = Arrays.asList(
+			"java", "python", "javascript", "react", "angular", "spring", "springboot",
+			"nodejs", "sql", "mysql", "postgresql", "mongodb", "aws", "azure",
+			"docker", "kubernetes", "git", "html", "css", "rest api", "microservices",
+			"agile", "machine learning", "data structures", "algorithms", "c++", "c#", ".net");
+
+	@Param({"28", "1000", "10000"})
+	public int dictionarySize;
+
+	private List<String> skills;
+	private SkillExtractor extractor;
+	private String text;
+
+	@Setup
+	public void setUp() throws Exception {
+		skills = dictionary(dictionarySize);
+		Map<String, List<String>> entries = new LinkedHashMap<>();
+		for (String skill : skills) {
+			entries.put(skill, new ArrayList<>());
+		}
+		extractor = new SkillExtractor(entries);
+		text = resumeText(skills, 42);
+	}
+
+	@Benchmark
+	public List<String> legacyContainsLoop() {
+		List<String> found = new ArrayList<>();
+		String lowerText = text.toLowerCase();
+		for (String skill : skills) {
+			if (lowerText.contains(skill)) {
+				found.add(skill);
+			}
+		}
+		return found;
+	}
+
+	@Benchmark
+	public Map<String, Integer> ahoCorasick() {
+		return extractor.extract(text);
+	}
+
+	/**
+	 * The legacy keywords first, then the bundled dictionary, then synthetic names until
+	 * {@code size} distinct skills are available.
+	 */
+	static List<String> dictionary(int size) throws Exception {
+		List<String> names = new ArrayList<>(LEGACY_SKILLS);
+		try (Reader reader = new InputStreamReader(
+				SkillExtractionBenchmark.class.getResourceAsStream("/skills.txt"), StandardCharsets.UTF_8)) {
+			for (String name : SkillExtractor.parseDictionary(reader).keySet()) {
+				if (!names.contains(name)) {
+					names.add(name);
+				}
+			}
+		}
+		for (int i = 0; names.size() < size; i++) {
+			names.add("framework" + i);
+		}
+		return new ArrayList<>(names.subList(0, size));
+	}
+
+	/** About 5,000 characters of resume-like prose with a sprinkling of known skills. */
+	static String resumeText(List<String> skills, long seed) {
+		String[] filler = {"designed", "built", "maintained", "services", "for", "the", "team",
+				"digital", "platform", "customers", "with", "improved", "latency", "delivery",
+				"experience", "project", "using", "and", "across", "multiple", "regions"};
+		Random random = new Random(seed);
+		StringBuilder text = new StringBuilder("PROFESSIONAL EXPERIENCE\n");
+		while (text.length() < 5000) {
+			for (int i = 0; i < 12; i++) {
+				text.append(filler[random.nextInt(filler.length)]).append(' ');
+			}
+			text.append(skills.get(random.nextInt(skills.size()))).append(".\n");
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,216 @@
+package com.resumescreener.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.Resume;
+import com.resumescreener.service.JobBriefService;
+import com.resumescreener.service.LLMMatchingService;
+import com.resumescreener.service.MatchCacheService;
+import com.resumescreener.service.MatchRanker;
+import com.resumescreener.service.MatchResponseParser;
+import com.resumescreener.service.ParallelMatchingService;
+import com.resumescreener.service.RateLimitedChatClient;
+import com.resumescreener.service.WorkerExecutors;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A burst of {@code requests} match requests arriving at once, each scoring one resume
+ * against a provider that takes 100 ms, handled the way {@code spring.threads.virtual.enabled}
+ * does and the way the app does without it.
+ *
+ * {@code platform} serves requests from Tomcat's default 200 request threads and makes the
+ * LLM calls on a fixed pool with one thread per possible call; {@code virtual} gives every
+ * request and every call its own virtual thread, with the call limit as a semaphore. The
+ * score is the time to clear the burst. Peak heap and resident memory above the
+ * pre-burst baseline are divided by the most requests that were in flight at once and
+ * printed at the end of the trial.
+ *
+ * {@code virtual} needs a Java 21 runtime.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class VirtualThreadCapacityBenchmark {
+
+	private static final int TOMCAT_MAX_THREADS = 200;
+	private static final Duration LLM_LATENCY = Duration.ofMillis(100);
+
+	private static final String JOB = """
+			Senior Java Developer
+
+			Requirements:
+			- 5+ years of Java experience
+			- Spring Boot and microservices
+			""";
+
+	@Param({"platform", "virtual"})
+	public String threading;
+
+	@Param({"500", "2000"})
+	public int requests;
+
+	private LLMMatchingService llmMatchingService;
+	private MatchCacheService matchCacheService;
+	private List<Resume> resumes;
+
+	private ExecutorService requestExecutor;
+	private ParallelMatchingService matchingService;
+	private ScheduledExecutorService sampler;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger peakInFlight = new AtomicInteger();
+	private volatile long peakRssBytes;
+	private long baselineHeapBytes;
+	private long baselineRssBytes;
+
+	private long maxHeapPerRequest;
+	private long maxRssPerRequest;
+	private int maxInFlight;
+
+	@Setup
+	public void setUp() {
+		if (isVirtual() && !WorkerExecutors.virtualThreadsAvailable()) {
+			throw new IllegalStateException("threading=virtual needs Java 21 or later, running " + Runtime.version());
+		}
+		MeterRegistry registry = new SimpleMeterRegistry();
+		RateLimitedChatClient chatClient = new RateLimitedChatClient(
+				ChatClient.builder(new EndToEndMatchBenchmark.StubChatModel(LLM_LATENCY)), registry,
+				0, 0, 1500, 400, 1, Duration.ofSeconds(1), Duration.ofSeconds(1), 1_000_000, Duration.ofSeconds(1));
+		llmMatchingService = new LLMMatchingService(chatClient, new MatchResponseParser(), new JobBriefService(16),
+				registry);
+		matchCacheService = new MatchCacheService(new ObjectMapper(), registry, "stub", 0, Duration.ofHours(1), "");
+
+		resumes = new ArrayList<>(requests);
+		for (int i = 0; i < requests; i++) {
+			Resume resume = new Resume();
+			resume.setId((long) i + 1);
+			resume.setCandidateName("Candidate " + i);
+			resume.setSkills("Java, Spring Boot, Docker");
+			resume.setExperience((2 + i % 10) + " years building backend services with Java.");
+			resumes.add(resume);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		System.out.printf("%n%s threads, %d requests: up to %d in flight, %.1f KB heap and %.1f KB RSS per in-flight match%n",
+				threading, requests, maxInFlight, maxHeapPerRequest / 1024.0, maxRssPerRequest / 1024.0);
+	}
+
+	@Setup(Level.Invocation)
+	public void startBurst() {
+		boolean virtual = isVirtual();
+		// Pools are created per burst so the platform threads they start are part of its footprint
+		requestExecutor = virtual
+				? WorkerExecutors.newExecutor("request-", Integer.MAX_VALUE, true)
+				: WorkerExecutors.newExecutor("request-", TOMCAT_MAX_THREADS, false);
+		matchingService = new ParallelMatchingService(llmMatchingService, matchCacheService, requests,
+				60, 240, false, 5, false, virtual);
+
+		System.gc();
+		for (MemoryPoolMXBean pool : heapPools()) {
+			pool.resetPeakUsage();
+		}
+		baselineHeapBytes = heapPools().stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+		baselineRssBytes = residentBytes();
+		peakRssBytes = baselineRssBytes;
+		peakInFlight.set(0);
+		sampler = Executors.newSingleThreadScheduledExecutor(WorkerExecutors.daemonThreads("rss-sampler-"));
+		sampler.scheduleAtFixedRate(() -> peakRssBytes = Math.max(peakRssBytes, residentBytes()),
+				0, 5, TimeUnit.MILLISECONDS);
+	}
+
+	@TearDown(Level.Invocation)
+	public void endBurst() throws InterruptedException {
+		sampler.shutdownNow();
+		long peakHeap = heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+		int concurrent = Math.max(1, peakInFlight.get());
+		maxInFlight = Math.max(maxInFlight, concurrent);
+		maxHeapPerRequest = Math.max(maxHeapPerRequest, (peakHeap - baselineHeapBytes) / concurrent);
+		maxRssPerRequest = Math.max(maxRssPerRequest, (peakRssBytes - baselineRssBytes) / concurrent);
+
+		requestExecutor.shutdownNow();
+		requestExecutor.awaitTermination(10, TimeUnit.SECONDS);
+		matchingService.shutdown();
+	}
+
+	@Benchmark
+	public int burst() throws Exception {
+		List<Future<List<MatchResult>>> responses = new ArrayList<>(requests);
+		for (Resume resume : resumes) {
+			responses.add(requestExecutor.submit(() -> handle(resume)));
+		}
+		int shortlisted = 0;
+		for (Future<List<MatchResult>> response : responses) {
+			shortlisted += response.get().size();
+		}
+		return shortlisted;
+	}
+
+	private List<MatchResult> handle(Resume resume) throws InterruptedException {
+		peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+		try {
+			List<MatchResult> results = matchingService.matchAll(List.of(resume), JOB, MatchRanker.DEFAULT_THRESHOLD,
+					result -> { });
+			return MatchRanker.shortlist(results, MatchRanker.DEFAULT_THRESHOLD);
+		} finally {
+			inFlight.decrementAndGet();
+		}
+	}
+
+	private boolean isVirtual() {
+		return "virtual".equals(threading);
+	}
+
+	private static List<MemoryPoolMXBean> heapPools() {
+		return ManagementFactory.getMemoryPoolMXBeans().stream()
+				.filter(pool -> pool.getType() == MemoryType.HEAP)
+				.toList();
+	}
+
+	/** VmRSS from /proc; 0 where that is not available. */
+	private static long residentBytes() {
+		try {
+			for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+				if (line.startsWith("VmRSS:")) {
+					return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+				}
+			}
+		} catch (Exception e) {
+			// Not Linux
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,35 @@
+package com.resumescreener.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StoredMatchResultTests {
+
+	@Test
+	void itemsWithLineBreaksAndBackslashesSurviveTheRoundTrip() {
+		List<String> gaps = List.of("No Kubernetes\nin production", "C:\\ paths only", "Ends with \\", "");
+
+		assertEquals(gaps, StoredMatchResult.split(StoredMatchResult.join(gaps)));
+		assertEquals(List.of(), StoredMatchResult.split(StoredMatchResult.join(List.of())));
+	}
+
+	@Test
+	void longListsAreCutBetweenItems() {
+		List<String> skills = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			skills.add("skill number " + i);
+		}
+
+		String joined = StoredMatchResult.join(skills);
+		List<String> stored = StoredMatchResult.split(joined);
+
+		assertTrue(joined.length() <= StoredMatchResult.MAX_LIST_LENGTH);
+		assertTrue(stored.size() > 100);
+		assertEquals(skills.subList(0, stored.size()), stored);
+	}
+}
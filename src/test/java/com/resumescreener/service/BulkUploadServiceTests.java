@@ -0,0 +1,104 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.Resume;
+import com.resumescreener.repository.ResumeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BulkUploadServiceTests {
+
+	private static final String CV = "Jane Doe\njane.doe@example.com | +1 555-123-4567\n"
+			+ "Experience\nSenior Engineer at Acme Corp from 2019 to 2024. Built payment services in Java "
+			+ "and Spring Boot on AWS, led a team of five engineers, migrated the ledger to PostgreSQL "
+			+ "and cut settlement latency by forty percent.\nEducation\nB.Tech in Computer Science, 2015\n"
+			+ "Skills\nJava, Spring Boot, AWS, PostgreSQL, Kafka, Docker, Kubernetes";
+
+	private final List<Resume> saved = new ArrayList<>();
+
+	@Test
+	void nearDuplicatesInOneUploadAreGrouped() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ParseCacheService cache = new ParseCacheService(null, registry, 10, "");
+		Map<String, List<String>> dictionary = new LinkedHashMap<>();
+		dictionary.put("java", Collections.emptyList());
+		PDFParserService parser = new PDFParserService(new SkillExtractor(dictionary), cache, registry,
+				PDFParserService.DEFAULT_MEMORY_BUDGET, PDFParserService.DEFAULT_MAX_TEXT_CHARS);
+		DuplicateDetectionService duplicates = new DuplicateDetectionService(null, 0.85, "reject");
+		BulkUploadService service = new BulkUploadService(parser, new EmbeddingService(), new SkillIndexService(null),
+				duplicates, repository(), registry, 2, 50, DataSize.ofMegabytes(1), false);
+
+		// Cached parses stand in for the PDFs, so PDFBox is never reached
+		List<MultipartFile> files = List.of(
+				upload(cache, parser, "jane.pdf", CV),
+				upload(cache, parser, "jane-new-phone.pdf", CV.replace("+1 555-123-4567", "+1 555-987-6543")),
+				upload(cache, parser, "priya.pdf", "Priya Patel\nExperience\nFrontend developer building React "
+						+ "and TypeScript dashboards for a logistics startup, with Cypress tests and Storybook."));
+		BulkUploadReport report;
+		try {
+			report = service.upload(files);
+		} finally {
+			service.shutdown();
+		}
+
+		assertEquals(3, report.getSucceeded());
+		// Whichever copy was parsed first is saved first and names the group
+		List<Resume> janes = saved.stream().filter(resume -> resume.getFileName().startsWith("jane"))
+				.sorted(Comparator.comparing(Resume::getId)).toList();
+		assertNull(janes.get(0).getDuplicateGroupId());
+		assertEquals(janes.get(0).getId(), janes.get(1).getDuplicateGroupId());
+		assertNull(savedAs("priya.pdf").getDuplicateGroupId());
+	}
+
+	private static MultipartFile upload(ParseCacheService cache, PDFParserService parser, String fileName,
+			String text) throws Exception {
+		byte[] bytes = ("pdf of " + fileName).getBytes(StandardCharsets.UTF_8);
+		Path pdf = Files.createTempFile("resume-", ".pdf");
+		try {
+			Files.write(pdf, bytes);
+			cache.put(cache.hash(pdf), PDFParserService.DEFAULT_MAX_TEXT_CHARS, parser.parseText(fileName, text));
+		} finally {
+			Files.deleteIfExists(pdf);
+		}
+		return new MockMultipartFile("files", fileName, "application/pdf", bytes);
+	}
+
+	private Resume savedAs(String fileName) {
+		return saved.stream().filter(resume -> fileName.equals(resume.getFileName())).findFirst().orElseThrow();
+	}
+
+	@SuppressWarnings("unchecked")
+	private ResumeRepository repository() {
+		return (ResumeRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] {ResumeRepository.class}, (proxy, method, args) -> {
+					switch (method.getName()) {
+						case "saveAll":
+							List<Resume> batch = new ArrayList<>();
+							for (Resume resume : (Iterable<Resume>) args[0]) {
+								resume.setId((long) saved.size() + batch.size() + 1);
+								batch.add(resume);
+							}
+							saved.addAll(batch);
+							return batch;
+						default:
+							throw new UnsupportedOperationException(method.getName());
+					}
+				});
+	}
+}
@@ -0,0 +1,102 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.Resume;
+import com.resumescreener.repository.ResumeRepository;
+import com.resumescreener.repository.ResumeVector;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CandidateSelectionServiceTests {
+
+	private static final String JOB = "Java developer with Spring Boot and Kafka";
+
+	private final EmbeddingService embeddingService = new EmbeddingService();
+	private final List<ResumeVector> stored = new ArrayList<>();
+	private final List<String> calls = new ArrayList<>();
+
+	@Test
+	void readsThePoolInChunksAndKeepsTheTopKOfEachDuplicateGroup() {
+		store(1, null, "python django");
+		store(2, null, "java spring boot kafka");
+		store(3, 2L, "java spring boot kafka developer");
+		store(4, null, "react css");
+		store(5, null, "java spring");
+		store(6, null, "go kubernetes");
+		store(7, null, "java");
+
+		CandidateSelection selection = service(3).select(JOB, null, 2);
+
+		assertEquals(List.of(2L, 5L), selection.getCandidates().stream().map(Resume::getId).toList());
+		assertEquals(7, selection.getPoolSize());
+		assertEquals(Map.of("duplicates", 1, "embeddingPrefilter", 4), selection.getRemovedByStage());
+		assertEquals(List.of("findVectorsAfter", "findVectorsAfter", "findVectorsAfter", "findForMatchingByIdIn"), calls);
+	}
+
+	@Test
+	void withoutTopKEveryGroupIsKeptInIdOrder() {
+		store(1, null, "python");
+		store(2, 1L, "python");
+		store(3, null, "java");
+
+		CandidateSelection selection = service(2).select(JOB, null, 0);
+
+		assertEquals(List.of(1L, 3L), selection.getCandidates().stream().map(Resume::getId).toList());
+		assertEquals(Integer.valueOf(1), selection.getRemovedByStage().get("duplicates"));
+	}
+
+	@Test
+	void deltaSelectionSkipsResumesScoredUnchangedAndKeepsTheRunsCutoff() {
+		store(1, null, "java spring boot kafka");
+		store(2, null, "java spring");
+		store(3, null, "react css");
+		store(4, null, "java spring boot kafka developer");
+		double cutoff = EmbeddingService.cosine(embeddingService.embed(JOB), embeddingService.embed("java spring"));
+
+		// 1 was scored as is, 2 was re-parsed since; 3 and 4 are new
+		CandidateSelection selection = service(2).selectChanged(JOB, null, 2, cutoff,
+				Map.of(1L, "java spring boot kafka", 2L, "old text"));
+
+		assertEquals(List.of(4L, 2L), selection.getCandidates().stream().map(Resume::getId).toList());
+		assertEquals(Map.of("duplicates", 0, "unchanged", 1, "embeddingPrefilter", 1), selection.getRemovedByStage());
+	}
+
+	private void store(long id, Long group, String text) {
+		byte[] embedding = embeddingService.encode(embeddingService.embed(text));
+		stored.add(new ResumeVector() {
+			public Long getId() { return id; }
+			public Long getDuplicateGroupId() { return group; }
+			// The text stands in for its hash
+			public String getContentHash() { return text; }
+			public byte[] getEmbedding() { return embedding; }
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private CandidateSelectionService service(int chunkSize) {
+		ResumeRepository repository = (ResumeRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] {ResumeRepository.class}, (proxy, method, args) -> {
+					calls.add(method.getName());
+					switch (method.getName()) {
+						case "findVectorsAfter":
+							long afterId = (Long) args[0];
+							int size = ((Pageable) args[1]).getPageSize();
+							return stored.stream().filter(vector -> vector.getId() > afterId).limit(size).toList();
+						case "findForMatchingByIdIn":
+							return ((Collection<Long>) args[0]).stream()
+									.map(id -> new Resume(id, "Candidate " + id, null, null, null, null, null, null))
+									.toList();
+						default:
+							throw new UnsupportedOperationException(method.getName());
+					}
+				});
+		return new CandidateSelectionService(repository, null, embeddingService, 50, chunkSize);
+	}
+}
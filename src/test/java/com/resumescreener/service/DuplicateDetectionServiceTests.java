@@ -0,0 +1,113 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.Resume;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateDetectionServiceTests {
+
+	private static final String CV = "Jane Doe\njane.doe@example.com | +1 555-123-4567\n"
+			+ "Experience\nSenior Engineer at Acme Corp from 2019 to 2024. Built payment services in Java "
+			+ "and Spring Boot on AWS, led a team of five engineers, migrated the ledger to PostgreSQL "
+			+ "and cut settlement latency by forty percent.\nEducation\nB.Tech in Computer Science, 2015\n"
+			+ "Skills\nJava, Spring Boot, AWS, PostgreSQL, Kafka, Docker, Kubernetes";
+
+	private DuplicateDetectionService duplicates;
+
+	@BeforeEach
+	void setUp() {
+		duplicates = new DuplicateDetectionService(null, 0.85, "reject");
+		duplicates.add(stored(1L, CV));
+		duplicates.add(stored(2L, "John Smith\nExperience\nData scientist working on recommendation "
+				+ "models in Python with pandas and scikit-learn for an online retailer since 2018."));
+	}
+
+	@Test
+	void exactCopyIsFoundRegardlessOfWhitespaceAndCase() {
+		Resume copy = parsed(CV.toUpperCase().replace("\n", "\n\n  "));
+
+		assertEquals(Long.valueOf(1L), duplicates.exactDuplicateOf(copy.getContentHash()));
+	}
+
+	@Test
+	void sameCvWithNewPhoneNumberJoinsTheGroup() {
+		Resume updated = parsed(CV.replace("+1 555-123-4567", "+1 555-987-6543"));
+
+		assertNull(duplicates.exactDuplicateOf(updated.getContentHash()));
+		assertEquals(Long.valueOf(1L), duplicates.assignGroup(updated));
+	}
+
+	@Test
+	void differentCandidateIsNotGrouped() {
+		Resume other = parsed("Priya Patel\nExperience\nFrontend developer building React and TypeScript "
+				+ "dashboards for a logistics startup, with Cypress tests and Storybook.");
+
+		assertNull(duplicates.assignGroup(other));
+	}
+
+	@Test
+	void representativesKeepOneResumePerGroup() {
+		Resume member = stored(3L, CV + "\nReferences available on request.");
+		member.setDuplicateGroupId(1L);
+		List<Resume> pool = Arrays.asList(stored(1L, CV), stored(2L, "x y z"), member);
+
+		List<Resume> representatives = duplicates.representatives(pool);
+
+		assertEquals(Arrays.asList(1L, 2L), representatives.stream().map(Resume::getId).toList());
+	}
+
+	@Test
+	void removedResumeIsNoLongerADuplicateTarget() {
+		duplicates.remove(1L);
+
+		assertNull(duplicates.exactDuplicateOf(parsed(CV).getContentHash()));
+		assertNull(duplicates.assignGroup(parsed(CV)));
+	}
+
+	@Test
+	void onlyOneConcurrentUploadOfNewContentGetsToStoreIt() {
+		Resume upload = parsed("Priya Patel\nExperience\nFrontend developer building React dashboards.");
+		String hash = upload.getContentHash();
+
+		assertTrue(duplicates.reserve(hash));
+		assertFalse(duplicates.reserve(hash));
+		assertFalse(duplicates.reserve(parsed(CV).getContentHash()));
+
+		upload.setId(3L);
+		duplicates.add(upload);
+		duplicates.release(hash);
+		assertFalse(duplicates.reserve(hash));
+		assertEquals(Long.valueOf(3L), duplicates.exactDuplicateOf(hash));
+	}
+
+	@Test
+	void releasedReservationCanBeTakenAgain() {
+		String hash = parsed("Priya Patel\nExperience\nFrontend developer building React dashboards.").getContentHash();
+
+		assertTrue(duplicates.reserve(hash));
+		duplicates.release(hash);
+
+		assertTrue(duplicates.reserve(hash));
+	}
+
+	private Resume parsed(String text) {
+		Resume resume = new Resume();
+		resume.setExtractedText(text);
+		duplicates.fingerprint(resume);
+		return resume;
+	}
+
+	private Resume stored(long id, String text) {
+		Resume resume = parsed(text);
+		resume.setId(id);
+		return resume;
+	}
+}
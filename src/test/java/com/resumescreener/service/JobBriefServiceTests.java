@@ -0,0 +1,75 @@
+package com.resumescreener.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobBriefServiceTests {
+
+	private static final String JOB = """
+			Senior Java Developer
+
+			About Us:
+			Acme Corp is a fast-growing fintech company with offices in 12 countries.
+
+			Responsibilities:
+			- Design and build payment services
+			- Mentor junior engineers
+
+			Requirements:
+			- 5+ years of Java
+			- Spring Boot and microservices
+			- Strong Kafka skills
+			- Kubernetes experience is a plus
+
+			Nice to have:
+			* AWS certification
+
+			Benefits:
+			- Unlimited PTO
+
+			Acme is an equal opportunity employer.
+			""";
+
+	private final JobBriefService service = new JobBriefService(8);
+
+	@Test
+	void condensesIntoRequirementListsAndDropsBoilerplate() {
+		JobBrief brief = service.brief(JOB);
+
+		assertEquals("Senior Java Developer", brief.getRole());
+		assertEquals(List.of("5+ years of Java", "Spring Boot and microservices", "Strong Kafka skills"),
+				brief.getMustHaves());
+		assertEquals(List.of("Kubernetes experience is a plus", "AWS certification"), brief.getNiceToHaves());
+		assertEquals(List.of("Design and build payment services", "Mentor junior engineers"), brief.getContext());
+		assertFalse(brief.getText().contains("Acme"));
+		assertFalse(brief.getText().contains("PTO"));
+		assertTrue(brief.getCondensedTokens() < brief.getRawTokens());
+		assertTrue(brief.getPromptPrefix().contains(brief.getText()));
+	}
+
+	@Test
+	void unstructuredDescriptionIsKeptWhole() {
+		String job = "We need a backend engineer who knows Java and Spring Boot. You will own our billing service.";
+		JobBrief brief = service.brief(job);
+
+		assertNull(brief.getRole());
+		assertEquals(job, brief.getText());
+	}
+
+	@Test
+	void briefIsBuiltOncePerNormalizedDescription() {
+		JobBrief brief = service.brief(JOB);
+
+		assertSame(brief, service.brief(JOB));
+		assertSame(brief, service.brief("  " + JOB.replace("\n", "\r\n") + "\n"));
+		assertEquals(1L, service.getStats().get("built"));
+		assertEquals(3L, service.getStats().get("lookups"));
+	}
+}
@@ -0,0 +1,90 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.Resume;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalScoringEngineTests {
+
+	private static final String JOB = "Senior backend engineer. Java, Spring Boot and Kafka on AWS. "
+			+ "You will design payment services and mentor engineers. Bachelor's degree in computer science.";
+
+	private LocalScoringEngine engine;
+	private LocalScoringEngine.JobProfile profile;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		String dictionary = """
+				java
+				spring boot: springboot
+				kafka
+				aws: amazon web services
+				python
+				react
+				""";
+		engine = new LocalScoringEngine(new SkillExtractor(SkillExtractor.parseDictionary(new StringReader(dictionary))));
+		profile = engine.profile(JOB);
+	}
+
+	@Test
+	void profileSeparatesSkillsKeywordsAndDegree() {
+		assertEquals(4, profile.getSkillCount());
+		assertEquals("bachelor", profile.getRequiredEducation());
+		assertTrue(profile.getKeywordCount() > 0);
+	}
+
+	@Test
+	void strongCandidateOutranksWeakOne() {
+		MatchResult strong = engine.score(resume(1L, "Java, Spring  boot, KAFKA, AWS, Docker",
+				"Designed payment services in Java, mentored backend engineers", "B.Tech Computer Science"), profile);
+		MatchResult weak = engine.score(resume(2L, "Python, React",
+				"Built dashboards for marketing", "Diploma in Design"), profile);
+
+		assertTrue(strong.getMatchScore() >= 8.0, "strong score " + strong.getMatchScore());
+		assertTrue(strong.getJustification().startsWith("Local score. Skills: 4/4 required skills matched"),
+				strong.getJustification());
+		assertTrue(weak.getMatchScore() < 4.0, "weak score " + weak.getMatchScore());
+		assertEquals(LocalScoringEngine.NAME, strong.getEngine());
+		assertTrue(weak.getJustification().contains("missing: java, spring boot, kafka, aws"),
+				weak.getJustification());
+	}
+
+	@Test
+	void sameInputAlwaysGetsTheSameScore() {
+		Resume resume = resume(3L, "Java, AWS", "Payment services", null);
+
+		MatchResult first = engine.score(resume, profile);
+		MatchResult second = engine.score(resume, engine.profile(JOB));
+
+		assertEquals(first.getMatchScore(), second.getMatchScore());
+		assertEquals(first.getJustification(), second.getJustification());
+	}
+
+	@Test
+	void bareTwoLetterAbbreviationsAreNotDegrees() {
+		LocalScoringEngine.JobProfile officeJob = engine.profile("Office manager. MS Office and BS 5750 audits.");
+		assertEquals("none", officeJob.getRequiredEducation());
+		assertEquals("master", engine.profile("Data analyst with an M.S. or MBA.").getRequiredEducation());
+
+		MatchResult result = engine.score(resume(4L, "Java", "Payment services", "MS Office, BA (Hons) pending"), profile);
+		assertTrue(result.getJustification().contains("Education: none"), result.getJustification());
+		result = engine.score(resume(5L, "Java", "Payment services", "B.S. Computer Science"), profile);
+		assertTrue(result.getJustification().contains("Education: bachelor"), result.getJustification());
+	}
+
+	private static Resume resume(long id, String skills, String experience, String education) {
+		Resume resume = new Resume();
+		resume.setId(id);
+		resume.setSkills(skills);
+		resume.setExperience(experience);
+		resume.setEducation(education);
+		return resume;
+	}
+}
@@ -0,0 +1,190 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.MatchRun;
+import com.resumescreener.model.Resume;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchJobServiceTests {
+
+	private final List<String> calls = new ArrayList<>();
+
+	@Test
+	void resultsAreSavedInChunksAsTheyArrive() {
+		MatchJobService service = service(false);
+		List<Resume> candidates = new ArrayList<>();
+		for (long id = 1; id <= 1200; id++) {
+			Resume resume = new Resume();
+			resume.setId(id);
+			resume.setContentHash("hash-" + id);
+			candidates.add(resume);
+		}
+		MatchJobService.RunWriter writer = service.writer(newRun(), new CandidateSelection(1200, candidates, Map.of()));
+
+		for (int i = 0; i < MatchJobService.STORE_CHUNK; i++) {
+			writer.accept(result(i + 1));
+		}
+		// The first chunk is written by the result that fills it
+		assertEquals(List.of("run", "results 500 hash-1"), calls);
+
+		for (int i = MatchJobService.STORE_CHUNK; i < 1200; i++) {
+			writer.accept(result(i + 1));
+		}
+		assertTrue(writer.close());
+		assertEquals(List.of("run", "results 500 hash-1", "results 500 hash-501", "results 200 hash-1001"), calls);
+		service.shutdown();
+	}
+
+	@Test
+	void runWithoutResultsIsStillSavedAndAFailedWriteIsReported() {
+		MatchJobService service = service(false);
+		assertTrue(service.writer(newRun(), new CandidateSelection(0, List.of(), Map.of())).close());
+		assertEquals(List.of("run"), calls);
+		service.shutdown();
+
+		MatchJobService failing = service(true);
+		MatchJobService.RunWriter writer = failing.writer(newRun(), new CandidateSelection(1, List.of(), Map.of()));
+		writer.accept(result(1));
+		assertFalse(writer.close());
+		failing.shutdown();
+	}
+
+	@Test
+	void otherWorkersKeepAddingResultsWhileAChunkIsSaved() throws Exception {
+		CountDownLatch saving = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		MatchRunService slowRunService = new MatchRunService(null, null, null) {
+			@Override
+			public void saveRun(MatchRun run, CandidateSelection selection) {
+			}
+
+			@Override
+			public void recordResults(String runId, boolean replace, Map<Long, String> contentHashes,
+					List<MatchResult> results) {
+				saving.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				calls.add("results " + results.size());
+			}
+		};
+		MatchJobService service = new MatchJobService(null, slowRunService, new SimpleMeterRegistry(), 1,
+				Duration.ofMinutes(30), Duration.ofMinutes(30), false);
+		MatchJobService.RunWriter writer = service.writer(newRun(), new CandidateSelection(600, List.of(), Map.of()));
+
+		Thread filler = new Thread(() -> {
+			for (int i = 0; i < MatchJobService.STORE_CHUNK; i++) {
+				writer.accept(result(i + 1));
+			}
+		});
+		filler.start();
+		assertTrue(saving.await(5, TimeUnit.SECONDS));
+		// The first chunk is still being saved, yet these go straight into the next one
+		for (int i = MatchJobService.STORE_CHUNK; i < 600; i++) {
+			writer.accept(result(i + 1));
+		}
+		release.countDown();
+		filler.join();
+		assertTrue(writer.close());
+		assertEquals(List.of("results 500", "results 100"), calls);
+		service.shutdown();
+	}
+
+	@Test
+	void jobSavesResultsWhileScoringAndReportsAFailedSave() throws Exception {
+		MatchJobService service = service(false);
+		MatchJob job = runJob(service);
+		assertEquals(MatchJob.Status.COMPLETED, job.getStatus());
+		assertEquals(List.of("run", "results 3 hash-1"), calls);
+		assertEquals(true, service.summary(job).get("stored"));
+		assertEquals("run-1", service.summary(job).get("runId"));
+		service.shutdown();
+
+		MatchJobService failing = service(true);
+		Map<String, Object> summary = failing.summary(runJob(failing));
+		assertEquals(MatchJob.Status.COMPLETED, summary.get("status"));
+		assertEquals(false, summary.get("stored"));
+		// The run was never saved, so there is no run id to read it back by
+		assertFalse(summary.containsKey("runId"));
+		assertTrue(summary.containsKey("error"));
+		failing.shutdown();
+	}
+
+	private static MatchJob runJob(MatchJobService service) throws Exception {
+		List<Resume> candidates = new ArrayList<>();
+		for (long id = 1; id <= 3; id++) {
+			Resume resume = new Resume();
+			resume.setId(id);
+			resume.setContentHash("hash-" + id);
+			candidates.add(resume);
+		}
+		MatchJob job = service.submit(newRun(), new CandidateSelection(3, candidates, Map.of()));
+		job.getTask().get(5, TimeUnit.SECONDS);
+		return job;
+	}
+
+	private MatchJobService service(boolean failWrites) {
+		MatchRunService matchRunService = new MatchRunService(null, null, null) {
+			@Override
+			public void saveRun(MatchRun run, CandidateSelection selection) {
+				calls.add("run");
+			}
+
+			@Override
+			public void recordResults(String runId, boolean replace, Map<Long, String> contentHashes,
+					List<MatchResult> results) {
+				if (failWrites) {
+					throw new IllegalStateException("database is down");
+				}
+				calls.add("results " + results.size() + " " + contentHashes.get(results.get(0).getResumeId()));
+			}
+		};
+		ScoringEngine engine = new ScoringEngine() {
+			@Override
+			public String getName() {
+				return "llm";
+			}
+
+			@Override
+			public List<MatchResult> scoreAll(List<Resume> resumes, String jobDescription, double threshold,
+					Consumer<MatchResult> onResult) {
+				List<MatchResult> results = new ArrayList<>();
+				for (Resume resume : resumes) {
+					MatchResult result = result(resume.getId());
+					onResult.accept(result);
+					results.add(result);
+				}
+				return results;
+			}
+		};
+		return new MatchJobService(new ScoringService(List.of(engine), "llm"), matchRunService,
+				new SimpleMeterRegistry(), 1, Duration.ofMinutes(30), Duration.ofMinutes(30), false);
+	}
+
+	private static MatchRun newRun() {
+		return new MatchRun("run-1", "job-hash", "Senior Java Developer", "llm", MatchRanker.DEFAULT_THRESHOLD,
+				null, null);
+	}
+
+	private static MatchResult result(long resumeId) {
+		MatchResult result = new MatchResult();
+		result.setResumeId(resumeId);
+		result.setMatchScore(7.0);
+		return result;
+	}
+}
@@ -0,0 +1,94 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.MatchStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchRankerTests {
+
+	@Test
+	void pagesMatchAFullStableSortAndRejectedAreOnlyCounted() {
+		Random random = new Random(7);
+		List<MatchResult> results = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			MatchResult result = new MatchResult();
+			result.setResumeId((long) i);
+			if (i % 50 == 0) {
+				result.setStatus(MatchStatus.TIMED_OUT);
+			} else if (i % 50 == 25) {
+				result.setStatus(MatchStatus.FAILED);
+			} else {
+				result.setMatchScore(1 + random.nextInt(19) * 0.5);
+			}
+			results.add(result);
+		}
+		// What the ranking used to be: filter, then a stable sort of everything that is left
+		List<MatchResult> expected = results.stream()
+				.filter(r -> r.getStatus() == MatchStatus.SCORED)
+				.filter(r -> r.getMatchScore() >= MatchRanker.DEFAULT_THRESHOLD)
+				.sorted(Comparator.comparing(MatchResult::getMatchScore).reversed())
+				.collect(Collectors.toList());
+
+		assertEquals(expected, MatchRanker.shortlist(results, MatchRanker.DEFAULT_THRESHOLD));
+
+		MatchRanker.Ranking page = MatchRanker.rank(results, MatchRanker.DEFAULT_THRESHOLD, 20, 15);
+		assertEquals(expected.subList(20, 35), page.getResults());
+		assertEquals(expected.size(), page.getShortlistedCount());
+		assertEquals(10, page.getTimedOutCount());
+		assertEquals(List.of(0L, 50L, 100L, 150L, 200L, 250L, 300L, 350L, 400L, 450L), page.getTimedOutIds());
+		// Failed results have no score: listed by id, neither rejected nor counted as scored
+		assertEquals(List.of(25L, 75L, 125L, 175L, 225L, 275L, 325L, 375L, 425L, 475L), page.getFailedIds());
+		assertEquals(480 - expected.size(), page.getRejectedCount());
+		assertEquals(480, page.getScoredCount());
+
+		MatchRanker.Ranking countOnly = MatchRanker.rank(results, MatchRanker.DEFAULT_THRESHOLD, 0, 0);
+		assertTrue(countOnly.getResults().isEmpty());
+		assertEquals(expected.size(), countOnly.getShortlistedCount());
+		assertTrue(MatchRanker.rank(results, MatchRanker.DEFAULT_THRESHOLD, 1000, 10).getResults().isEmpty());
+	}
+
+	@Test
+	void resultsRankedAsTheyArriveFromManyThreadsMakeTheSamePage() throws Exception {
+		List<MatchResult> results = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			MatchResult result = new MatchResult();
+			result.setResumeId((long) i);
+			// Distinct scores, so the page does not depend on arrival order
+			result.setMatchScore(i * 0.005);
+			result.setFromCache(i % 4 == 0);
+			results.add(result);
+		}
+		MatchRanker.Ranking expected = MatchRanker.rank(results, MatchRanker.DEFAULT_THRESHOLD, 10, 25);
+
+		MatchRanker.Accumulator accumulator = new MatchRanker.Accumulator(MatchRanker.DEFAULT_THRESHOLD, 10, 25);
+		ExecutorService workers = Executors.newFixedThreadPool(4);
+		try {
+			for (int t = 0; t < 4; t++) {
+				List<MatchResult> share = results.subList(t * 500, (t + 1) * 500);
+				workers.submit(() -> share.forEach(accumulator));
+			}
+		} finally {
+			workers.shutdown();
+			assertTrue(workers.awaitTermination(10, TimeUnit.SECONDS));
+		}
+		MatchRanker.Ranking ranking = accumulator.ranking();
+
+		assertEquals(expected.getResults(), ranking.getResults());
+		assertEquals(2000, ranking.getScoredCount());
+		assertEquals(expected.getShortlistedCount(), ranking.getShortlistedCount());
+		assertEquals(expected.getRejectedCount(), ranking.getRejectedCount());
+		assertEquals(500, ranking.getCachedCount());
+	}
+}
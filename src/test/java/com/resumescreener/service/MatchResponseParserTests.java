@@ -0,0 +1,66 @@
+package com.resumescreener.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MatchResponseParserTests {
+
+	private static final String RESPONSE = "{\"score\": 7.5, \"skillMatches\": [\"Java\", \"Spring Boot\"], "
+			+ "\"gaps\": [\"AWS\"], \"justification\": \"Solid backend experience, no cloud work.\"}";
+
+	private final MatchResponseParser parser = new MatchResponseParser();
+
+	@Test
+	void readsScoreAsSoonAsItsTokenIsComplete() {
+		MatchResponseParser.Reader reader = parser.single();
+
+		reader.feed("```json\n{\"score\": 7");
+		assertNull(reader.score(), "7 may still become 7.5");
+		reader.feed(".5, \"skillMatches\": [\"Ja");
+		assertEquals(Double.valueOf(7.5), reader.score());
+
+		reader.feed(RESPONSE.substring(RESPONSE.indexOf("va\"")) + "\n```");
+		MatchResponseParser.ParsedMatch match = reader.finish();
+
+		assertEquals(List.of("Java", "Spring Boot"), match.getSkillMatches());
+		assertEquals(List.of("AWS"), match.getGaps());
+		assertEquals("Solid backend experience, no cloud work.", match.getJustification());
+		assertEquals(MatchResponseParser.Path.JSON, match.getPath());
+	}
+
+	@Test
+	void fallsBackToScoreLinesAndCountsIt() {
+		MatchResponseParser.ParsedMatch match = parser.parse("Score: 6\nJustification: Decent fit.");
+
+		assertEquals(Double.valueOf(6.0), match.getScore());
+		assertEquals("Decent fit.", match.getJustification());
+		assertEquals(MatchResponseParser.Path.REGEX, match.getPath());
+		assertEquals(1L, parser.getStats().get("regexFallback"));
+	}
+
+	@Test
+	void responseWithoutScoreIsNotGivenADefault() {
+		assertNull(parser.parse("I would rate this candidate highly, maybe 8/10."));
+		assertNull(parser.parse("{\"score\": 85, \"justification\": \"out of range\"}"));
+
+		assertEquals(2L, parser.getStats().get("unparseable"));
+	}
+
+	@Test
+	void batchResponseIsSplitByCandidateId() {
+		Map<String, MatchResponseParser.ParsedMatch> matches = parser.parseBatch("{\"candidates\": ["
+				+ "{\"candidateId\": \"R1\", \"score\": 8, \"details\": {\"score\": 1}, \"justification\": \"Strong\"},"
+				+ "{\"candidateId\": \"R2\", \"score\": \"4\", \"gaps\": [\"Kafka\"], \"justification\": \"Weak\"}]}");
+
+		assertEquals(Double.valueOf(8.0), matches.get("R1").getScore());
+		assertEquals("Strong", matches.get("R1").getJustification());
+		assertEquals(Double.valueOf(4.0), matches.get("R2").getScore());
+		assertEquals(List.of("Kafka"), matches.get("R2").getGaps());
+		assertEquals(2L, parser.getStats().get("json"));
+	}
+}
@@ -0,0 +1,197 @@
+package com.resumescreener.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumescreener.model.MatchResult;
+import com.resumescreener.model.MatchStatus;
+import com.resumescreener.model.Resume;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelMatchingServiceTests {
+
+	private static final String JOB = "Senior Java Developer";
+
+	private final StubMatcher llm = new StubMatcher();
+	private ParallelMatchingService service;
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void noMoreCallsInFlightThanTheConcurrencyLimit() throws Exception {
+		service = service(3, 60, 240, false);
+		List<Resume> resumes = resumes(12, id -> 50);
+
+		List<MatchResult> results = service.matchAll(resumes, JOB);
+
+		assertEquals(3, llm.peakInFlight.get());
+		assertTrue(results.stream().allMatch(result -> result.getStatus() == MatchStatus.SCORED));
+	}
+
+	@Test
+	void concurrencyIsCappedAtWhatTheQuotaCanServe() throws Exception {
+		llm.quotaConcurrency = 2;
+		service = service(4, 60, 240, false);
+
+		service.matchAll(resumes(8, id -> 50), JOB);
+
+		assertEquals(2, llm.peakInFlight.get());
+	}
+
+	@Test
+	void timeWaitingForTheQuotaDoesNotCountAgainstTheCallTimeout() throws Exception {
+		service = service(1, 1, 240, false);
+		List<Resume> resumes = resumes(1, id -> 300);
+		llm.quotaWaitMillis = 1500;
+
+		List<MatchResult> results = service.matchAll(resumes, JOB);
+
+		assertEquals(MatchStatus.SCORED, results.get(0).getStatus());
+	}
+
+	@Test
+	void slowCallTimesOutWithoutHoldingUpTheOthers() throws Exception {
+		service = service(2, 1, 240, false);
+		List<Resume> resumes = resumes(2, id -> id == 1 ? 10_000 : 10);
+		List<MatchResult> emitted = new CopyOnWriteArrayList<>();
+
+		List<MatchResult> results = service.matchAll(resumes, JOB, emitted::add);
+
+		assertEquals(MatchStatus.TIMED_OUT, results.get(0).getStatus());
+		assertEquals(MatchStatus.SCORED, results.get(1).getStatus());
+		assertEquals(2, emitted.size());
+	}
+
+	@Test
+	void resumesNotScoredByTheDeadlineAreEmittedOnceAsTimedOut() throws Exception {
+		service = service(1, 60, 1, false);
+		List<Resume> resumes = resumes(4, id -> 600);
+		Map<Long, AtomicInteger> emitted = new ConcurrentHashMap<>();
+
+		List<MatchResult> results = service.matchAll(resumes, JOB,
+				result -> emitted.computeIfAbsent(result.getResumeId(), id -> new AtomicInteger()).incrementAndGet());
+
+		assertEquals(MatchStatus.SCORED, results.get(0).getStatus());
+		assertEquals(MatchStatus.TIMED_OUT, results.get(3).getStatus());
+		assertEquals(4, emitted.size());
+		assertTrue(emitted.values().stream().allMatch(count -> count.get() == 1));
+	}
+
+	@Test
+	void resultCallbackIsNotInterruptedWhenTheDeadlinePassesDuringIt() throws Exception {
+		service = service(1, 60, 1, false);
+		List<Resume> resumes = resumes(1, id -> 800);
+		List<String> callbacks = new CopyOnWriteArrayList<>();
+
+		// The call returns before the deadline and the callback, standing in for a database
+		// write, is still running when it passes
+		List<MatchResult> results = service.matchAll(resumes, JOB, result -> {
+			try {
+				Thread.sleep(500);
+				callbacks.add("saved");
+			} catch (InterruptedException e) {
+				callbacks.add("interrupted");
+			}
+		});
+
+		assertEquals(List.of("saved"), callbacks);
+		assertEquals(MatchStatus.SCORED, results.get(0).getStatus());
+	}
+
+	@Test
+	void resultsKeepInputOrderAndStreamingGetsTheThreshold() throws Exception {
+		service = service(4, 60, 240, true);
+		// Later resumes finish first
+		List<Resume> resumes = resumes(4, id -> (int) (5 - id) * 40);
+
+		List<MatchResult> results = service.matchAll(resumes, JOB, 70.0, result -> { });
+
+		assertEquals(List.of(1L, 2L, 3L, 4L), results.stream().map(result -> result.getResumeId()).toList());
+		assertEquals(List.of(70.0), llm.streamingThresholds.stream().distinct().toList());
+		assertEquals(List.of(1L, 3L), MatchRanker.shortlist(results, 70.0).stream()
+				.map(result -> result.getResumeId()).sorted().toList());
+	}
+
+	private ParallelMatchingService service(int concurrency, long callTimeoutSeconds, long deadlineSeconds,
+			boolean streaming) {
+		MatchCacheService cache = new MatchCacheService(new ObjectMapper(), new SimpleMeterRegistry(), "stub", 0,
+				Duration.ofHours(1), "");
+		return new ParallelMatchingService(llm, cache, concurrency, callTimeoutSeconds, deadlineSeconds, false, 5,
+				streaming, false);
+	}
+
+	private List<Resume> resumes(int count, LongToIntFunction latencyMillis) {
+		List<Resume> resumes = new ArrayList<>(count);
+		for (long id = 1; id <= count; id++) {
+			Resume resume = new Resume();
+			resume.setId(id);
+			resume.setCandidateName("Candidate " + id);
+			llm.latencies.put(id, latencyMillis.applyAsInt(id));
+			resumes.add(resume);
+		}
+		return resumes;
+	}
+
+	/**
+	 * Sleeps for each resume's latency, after waiting for the quota the way RateLimitedChatClient
+	 * reports it, and scores odd ids 80, even ids 40; interrupted calls fail like the real one.
+	 */
+	private static final class StubMatcher extends LLMMatchingService {
+		private final Map<Long, Integer> latencies = new ConcurrentHashMap<>();
+		private volatile int quotaConcurrency = Integer.MAX_VALUE;
+		private volatile int quotaWaitMillis;
+		private final List<Double> streamingThresholds = new CopyOnWriteArrayList<>();
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final AtomicInteger peakInFlight = new AtomicInteger();
+
+		StubMatcher() {
+			super(null, null, null, new SimpleMeterRegistry());
+		}
+
+		@Override
+		public int quotaConcurrency(Duration callTimeout) {
+			return quotaConcurrency;
+		}
+
+		@Override
+		public MatchResult matchResumeWithJob(Resume resume, String jobDescription) {
+			peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			try {
+				if (quotaWaitMillis > 0) {
+					RateLimitedChatClient.notifyWaiting();
+					Thread.sleep(quotaWaitMillis);
+					RateLimitedChatClient.notifyResumed();
+				}
+				Thread.sleep(latencies.get(resume.getId()));
+				return new MatchResult(resume, resume.getId() % 2 == 1 ? 80.0 : 40.0, "stub");
+			} catch (InterruptedException e) {
+				MatchResult failed = new MatchResult(resume, null, "Error during matching: interrupted");
+				failed.setStatus(MatchStatus.FAILED);
+				return failed;
+			} finally {
+				inFlight.decrementAndGet();
+			}
+		}
+
+		@Override
+		public MatchResult matchResumeStreaming(Resume resume, String jobDescription, double threshold) {
+			streamingThresholds.add(threshold);
+			return matchResumeWithJob(resume, jobDescription);
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.Resume;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParseCacheServiceTests {
+
+	private static final String TEXT = String.join("\n",
+			"Jane Doe",
+			"jane.doe@example.com",
+			"Experience",
+			"Built Java services.");
+
+	@Test
+	void repeatUploadsSkipThePdfAndStaleEntriesReuseTheirText() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ParseCacheService cache = new ParseCacheService(null, registry, 10, "");
+		Map<String, List<String>> dictionary = new LinkedHashMap<>();
+		dictionary.put("java", Collections.emptyList());
+		PDFParserService parser = new PDFParserService(new SkillExtractor(dictionary), cache, registry,
+				PDFParserService.DEFAULT_MEMORY_BUDGET, PDFParserService.DEFAULT_MAX_TEXT_CHARS);
+
+		// Not a PDF at all: a hit must never reach PDFBox
+		Path upload = Files.createTempFile("resume-", ".pdf");
+		try {
+			Files.writeString(upload, "same bytes as an earlier upload");
+			String fileHash = cache.hash(upload);
+			cache.put(fileHash, PDFParserService.DEFAULT_MAX_TEXT_CHARS, parser.parseText("first.pdf", TEXT));
+
+			Resume again = parser.parseResume("again.pdf", upload);
+			assertEquals("again.pdf", again.getFileName());
+			assertEquals("Jane Doe", again.getCandidateName());
+			assertEquals(0, registry.find("resume.parse.load").timer().count());
+
+			// Written by an older parser: the fields are extracted again from the cached text
+			ParseCacheService.CachedParse cached = cache.get(fileHash, PDFParserService.DEFAULT_MAX_TEXT_CHARS);
+			cached.setParserVersion(PDFParserService.PARSER_VERSION - 1);
+			cached.setCandidateName("Old Name");
+			assertEquals("Jane Doe", parser.parseResume("again.pdf", upload).getCandidateName());
+			assertEquals(PDFParserService.PARSER_VERSION,
+					cache.get(fileHash, PDFParserService.DEFAULT_MAX_TEXT_CHARS).getParserVersion());
+			assertEquals(0, registry.find("resume.parse.load").timer().count());
+			assertEquals(1.0, registry.find("resume.parse.cache").tag("result", "stale").counter().count());
+		} finally {
+			Files.deleteIfExists(upload);
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.resumescreener.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitedChatClientTests {
+
+	private final long[] now = {0};
+
+	@Test
+	void bucketQueuesCallersBehindEachOther() {
+		TokenBucket bucket = new TokenBucket(60, () -> now[0]);
+
+		assertEquals(0, bucket.reserve(60));
+		// One permit per second: the next two callers wait one and two seconds
+		assertEquals(TimeUnit.SECONDS.toNanos(1), bucket.reserve(1));
+		assertEquals(TimeUnit.SECONDS.toNanos(2), bucket.reserve(1));
+
+		now[0] += TimeUnit.SECONDS.toNanos(10);
+		assertEquals(8, bucket.available());
+	}
+
+	@Test
+	void bucketNeverHoldsMoreThanOneMinute() {
+		TokenBucket bucket = new TokenBucket(600, () -> now[0]);
+		bucket.reserve(100);
+		bucket.refund(500);
+
+		now[0] += TimeUnit.MINUTES.toNanos(5);
+		assertEquals(600, bucket.available());
+	}
+
+	@Test
+	void circuitOpensAfterConsecutiveFailuresAndProbesOnce() {
+		CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(30), () -> now[0]);
+		for (int i = 0; i < 3; i++) {
+			assertTrue(breaker.tryAcquire());
+			breaker.onFailure();
+		}
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertFalse(breaker.tryAcquire());
+
+		now[0] += TimeUnit.SECONDS.toNanos(30);
+		assertTrue(breaker.tryAcquire());
+		assertFalse(breaker.tryAcquire(), "only one probe while half-open");
+		breaker.onSuccess();
+
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		assertTrue(breaker.tryAcquire());
+	}
+
+	@Test
+	void failedProbeReopensTheCircuit() {
+		CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(10), () -> now[0]);
+		breaker.tryAcquire();
+		breaker.onFailure();
+		now[0] += TimeUnit.SECONDS.toNanos(10);
+
+		assertTrue(breaker.tryAcquire());
+		breaker.onFailure();
+
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertEquals(Duration.ofSeconds(10), breaker.remainingOpen());
+	}
+
+	@Test
+	void concurrencyWorthRunningFollowsTheTighterLimit() {
+		Duration minute = Duration.ofMinutes(1);
+		// 12000 tokens a minute at 1900 a call: six calls, although 30 requests would be allowed
+		assertEquals(6, RateLimitedChatClient.callsWithin(30, 12_000, 1900, minute));
+		assertEquals(15, RateLimitedChatClient.callsWithin(30, 0, 1900, Duration.ofSeconds(30)));
+		assertEquals(1, RateLimitedChatClient.callsWithin(0, 1000, 1900, Duration.ofSeconds(10)));
+		assertEquals(Integer.MAX_VALUE, RateLimitedChatClient.callsWithin(0, 0, 1900, minute));
+	}
+
+	@Test
+	void readsRetryHintsAndStatusFromProviderErrors() {
+		RuntimeException throttled = new RuntimeException("429 - {\"error\":{\"message\":\"Rate limit reached for model "
+				+ "on tokens per minute (TPM): Limit 6000, Used 5800. Please try again in 7.5s.\"}}");
+
+		assertEquals(429, RateLimitedChatClient.statusOf(new IllegalStateException("wrapped", throttled)));
+		assertEquals(Duration.ofMillis(7500), RateLimitedChatClient.retryAfterOf(throttled));
+		assertEquals(Duration.ofMillis(62_500), RateLimitedChatClient.parseTryAgainIn("try again in 1m2.5s"));
+		assertEquals(Duration.ofMillis(350), RateLimitedChatClient.parseTryAgainIn("try again in 350ms"));
+		assertEquals(Duration.ofSeconds(12), RateLimitedChatClient.parseRetryAfter("12"));
+		assertNull(RateLimitedChatClient.retryAfterOf(new RuntimeException("503 - upstream unavailable")));
+		assertEquals(-1, RateLimitedChatClient.statusOf(new RuntimeException("Connection reset")));
+	}
+}
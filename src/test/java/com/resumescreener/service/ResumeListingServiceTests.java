@@ -0,0 +1,36 @@
+package com.resumescreener.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResumeListingServiceTests {
+
+	@Test
+	void cursorRoundTripsTheLastRowPosition() {
+		String cursor = ResumeListingService.encodeCursor(ResumeListingService.Sort.NAME, 42, "O'Brien, Ann\nB");
+
+		assertArrayEquals(new String[] {"NAME", "42", "O'Brien, Ann\nB"},
+				ResumeListingService.decodeCursor(ResumeListingService.Sort.NAME, cursor));
+	}
+
+	@Test
+	void cursorOfAnotherSortOrderIsRejected() {
+		String cursor = ResumeListingService.encodeCursor(ResumeListingService.Sort.NEWEST, 7, "2024-05-01T10:15:30");
+
+		assertThrows(IllegalArgumentException.class,
+				() -> ResumeListingService.decodeCursor(ResumeListingService.Sort.NAME, cursor));
+		assertThrows(IllegalArgumentException.class,
+				() -> ResumeListingService.decodeCursor(ResumeListingService.Sort.NEWEST, "not a cursor!"));
+	}
+
+	@Test
+	void filterWildcardsAreEscaped() {
+		assertEquals("%100\\% remote\\_ok%", ResumeListingService.containsPattern(" 100% Remote_OK "));
+		assertNull(ResumeListingService.containsPattern(" "));
+		assertEquals(ResumeListingService.Sort.NEWEST, ResumeListingService.parseSort(null));
+	}
+}
@@ -0,0 +1,111 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.Resume;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResumeSectionsTests {
+
+	private static final String RESUME = String.join("\n",
+			"Jane Doe",
+			"jane.doe@example.com | +1 555-123-4567",
+			"",
+			"Summary",
+			"Backend engineer with 8 years of experience in payments.",
+			"Work Experience",
+			"  Senior Engineer, Acme Corp (2019 - 2024)  ",
+			"Built Java services on AWS.",
+			"EDUCATION",
+			"B.Tech in Computer Science, 2015",
+			"Technical Skills",
+			"Java, Spring Boot, Docker",
+			"Projects",
+			"Payment gateway rewrite");
+
+	@Test
+	void splitsTextIntoSectionsAtHeadings() {
+		ResumeSections sections = ResumeSections.segment(RESUME);
+
+		List<ResumeSections.Section> order = sections.spans().stream()
+				.map(ResumeSections.Span::getSection)
+				.toList();
+		assertEquals(Arrays.asList(ResumeSections.Section.HEADER, ResumeSections.Section.OTHER,
+				ResumeSections.Section.EXPERIENCE, ResumeSections.Section.EDUCATION,
+				ResumeSections.Section.SKILLS, ResumeSections.Section.PROJECTS), order);
+
+		ResumeSections.Span experience = sections.spans(ResumeSections.Section.EXPERIENCE).get(0);
+		assertTrue(sections.isHeading(experience.getFirstLine()));
+		assertEquals("Senior Engineer, Acme Corp (2019 - 2024)", sections.line(experience.getFirstLine() + 1));
+		assertEquals(RESUME.indexOf("Work Experience"), experience.getStart());
+		assertEquals(RESUME.indexOf("EDUCATION"), experience.getEnd());
+	}
+
+	@Test
+	void longLinesMentioningKeywordsAreNotHeadings() {
+		ResumeSections sections = ResumeSections.segment(RESUME);
+
+		assertFalse(sections.isHeading(4));
+		assertEquals(ResumeSections.Section.OTHER, sections.sectionOf(4));
+	}
+
+	@Test
+	void parserReadsFieldsFromSections() {
+		Map<String, List<String>> dictionary = new LinkedHashMap<>();
+		dictionary.put("java", Collections.emptyList());
+		PDFParserService parser = new PDFParserService(new SkillExtractor(dictionary));
+
+		Resume resume = parser.parseText("jane.pdf", RESUME);
+
+		assertEquals("Jane Doe", resume.getCandidateName());
+		assertEquals("jane.doe@example.com", resume.getEmail());
+		assertEquals("+1 555-123-4567", resume.getPhone());
+		assertEquals("Senior Engineer, Acme Corp (2019 - 2024) Built Java services on AWS.", resume.getExperience());
+		assertEquals("B.Tech in Computer Science, 2015", resume.getEducation());
+	}
+
+	@Test
+	void parserTimesEveryFieldExtractor() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		PDFParserService parser = new PDFParserService(new SkillExtractor(new LinkedHashMap<>()),
+				ParseCacheService.disabled(), registry, PDFParserService.DEFAULT_MEMORY_BUDGET,
+				PDFParserService.DEFAULT_MAX_TEXT_CHARS);
+
+		parser.parseText("jane.pdf", RESUME);
+		parser.parseText("jane.pdf", RESUME);
+
+		for (String field : List.of("name", "email", "phone", "skills", "experience", "education")) {
+			assertEquals(2L, registry.find("resume.parse.field").tag("field", field).timer().count(), field);
+		}
+		assertEquals(2L, registry.find("resume.parse.segment").timer().count());
+	}
+
+	@Test
+	void skillsOfAKeywordStuffedResumeFitTheirColumn() throws IOException {
+		Map<String, List<String>> dictionary;
+		try (Reader reader = new InputStreamReader(getClass().getResourceAsStream("/skills.txt"), StandardCharsets.UTF_8)) {
+			dictionary = SkillExtractor.parseDictionary(reader);
+		}
+		String everySkill = String.join("\n", dictionary.keySet());
+		assertTrue(String.join(", ", dictionary.keySet()).length() > PDFParserService.MAX_SKILLS_CHARS);
+
+		Resume resume = new PDFParserService(new SkillExtractor(dictionary)).parseText("stuffed.pdf", everySkill);
+
+		assertTrue(resume.getSkills().length() <= PDFParserService.MAX_SKILLS_CHARS);
+		assertTrue(resume.getSkills().length() > PDFParserService.MAX_SKILLS_CHARS - 100);
+		assertFalse(resume.getSkills().endsWith(", "));
+	}
+}
@@ -0,0 +1,68 @@
+package com.resumescreener.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkillExtractorTests {
+
+	private SkillExtractor extractor;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		String dictionary = """
+				# test dictionary
+				java: core java
+				javascript: js
+				git
+				spring
+				spring boot: springboot
+				c++: cpp
+				.net: dotnet
+				rest api: restful api
+				""";
+		extractor = new SkillExtractor(SkillExtractor.parseDictionary(new StringReader(dictionary)));
+	}
+
+	@Test
+	void respectsWordBoundaries() {
+		Map<String, Integer> skills = extractor.extract("Digital marketing with JavaScript");
+		assertEquals(List.of("javascript"), List.copyOf(skills.keySet()));
+	}
+
+	@Test
+	void mapsSynonymsToCanonicalNamesWithCounts() {
+		Map<String, Integer> skills = extractor.extract("Core Java, Java 17 and JS. Also CPP and dotnet; more java.");
+		assertEquals(3, (int) skills.get("java"));
+		assertEquals(1, (int) skills.get("javascript"));
+		assertEquals(1, (int) skills.get("c++"));
+		assertEquals(1, (int) skills.get(".net"));
+		assertEquals("java", skills.keySet().iterator().next());
+	}
+
+	@Test
+	void prefersLongestMatchAndToleratesLineBreaks() {
+		Map<String, Integer> skills = extractor.extract("Spring  Boot services exposing a RESTful\nAPI; git for versioning");
+		assertEquals(List.of("spring boot", "rest api", "git"), List.copyOf(skills.keySet()));
+	}
+
+	@Test
+	void bundledDictionaryLoads() throws IOException {
+		try (Reader reader = new InputStreamReader(getClass().getResourceAsStream("/skills.txt"), StandardCharsets.UTF_8)) {
+			SkillExtractor bundled = new SkillExtractor(SkillExtractor.parseDictionary(reader));
+			assertTrue(bundled.size() > 250);
+			assertTrue(bundled.extract("Kubernetes (k8s) and Docker on AWS").containsKey("kubernetes"));
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.resumescreener.service;
+
+import com.resumescreener.model.Resume;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SkillIndexServiceTests {
+
+	private SkillIndexService index;
+
+	@BeforeEach
+	void setUp() {
+		index = new SkillIndexService(null);
+		index.add(resume(1L, "java, aws, machine learning", "Built Java services on AWS."));
+		index.add(resume(2L, "java, azure, .net", "Migrated .NET apps to Azure."));
+		index.add(resume(3L, "python, aws", "Python data pipelines."));
+		index.add(resume(4L, "javascript, react", "Frontend work in JavaScript."));
+	}
+
+	@Test
+	void booleanQueryWithNotAndParentheses() {
+		assertArrayEquals(new long[] {1L}, index.query("java AND (aws OR azure) AND NOT .net"));
+	}
+
+	@Test
+	void adjacentTermsAreImplicitlyAnded() {
+		assertArrayEquals(new long[] {1L}, index.query("java aws"));
+	}
+
+	@Test
+	void termsDoNotMatchInsideLongerWords() {
+		assertArrayEquals(new long[] {1L, 2L}, index.query("JAVA"));
+	}
+
+	@Test
+	void quotedPhraseMatchesMultiWordSkill() {
+		assertArrayEquals(new long[] {1L}, index.query("\"Machine  Learning\""));
+	}
+
+	@Test
+	void removedResumesDisappearFromPostings() {
+		index.remove(1L);
+		assertArrayEquals(new long[] {2L}, index.query("java"));
+		assertArrayEquals(new long[] {2L, 3L, 4L}, index.query("NOT machine"));
+	}
+
+	@Test
+	void termsOnlyTheRemovedResumeHadAreDropped() {
+		int terms = index.termCount();
+		index.remove(4L);
+
+		// javascript, react, frontend, work, in
+		assertEquals(terms - 5, index.termCount());
+		assertEquals(3, index.size());
+	}
+
+	@Test
+	void reAddingAResumeReplacesItsTerms() {
+		index.add(resume(3L, "python, gcp", "Python pipelines on GCP."));
+
+		assertArrayEquals(new long[] {1L}, index.query("aws"));
+		assertArrayEquals(new long[] {3L}, index.query("gcp"));
+		assertArrayEquals(new long[0], index.query("data"));
+	}
+
+	@Test
+	void malformedQueriesAreRejected() {
+		assertThrows(IllegalArgumentException.class, () -> index.query("java AND (aws"));
+		assertThrows(IllegalArgumentException.class, () -> index.query("OR java"));
+		assertThrows(IllegalArgumentException.class, () -> index.query("   "));
+	}
+
+	private static Resume resume(Long id, String skills, String text) {
+		Resume resume = new Resume();
+		resume.setId(id);
+		resume.setSkills(skills);
+		resume.setExtractedText(text);
+		return resume;
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.resumescreener.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StubLlmServerTests {
+
+	private static final String BATCH_PROMPT = """
+			JOB REQUIREMENTS:
+			Must have:
+			- Java
+
+			CANDIDATES:
+
+			Candidate ID: R1
+			Candidate Name: Jane Doe
+			Skills: Java, Spring Boot
+
+			Candidate ID: R2
+			Candidate Name: John Roe
+			Skills: Python
+			""";
+
+	private final StubLlmServer server = new StubLlmServer(new ObjectMapper(), new SimpleMeterRegistry(), 0,
+			Duration.ZERO, Duration.ZERO, 0.0, 0.0, Duration.ofSeconds(1), "lines", Duration.ZERO, 1);
+
+	@Test
+	void cannedAnswersParseAndKeepEachCandidatesScore() {
+		MatchResponseParser parser = new MatchResponseParser();
+		Map<String, MatchResponseParser.ParsedMatch> matches = parser.parseBatch(server.respond(BATCH_PROMPT));
+
+		assertEquals(List.of("R1", "R2"), List.copyOf(matches.keySet()));
+		// The same resume keeps its score whoever else is in the batch
+		String alone = BATCH_PROMPT.substring(0, BATCH_PROMPT.indexOf("Candidate ID: R2"));
+		assertEquals(matches.get("R1").getScore(), parser.parseBatch(server.respond(alone)).get("R1").getScore());
+
+		MatchResponseParser.ParsedMatch match = parser.parse(server.respond(
+				"JOB REQUIREMENTS:\n- Java\n\nCANDIDATE:\nName: Jane Doe\nSkills: Java, Spring Boot\n\nNow analyze and respond:\n"));
+		assertEquals(MatchResponseParser.Path.REGEX, match.getPath());
+	}
+}
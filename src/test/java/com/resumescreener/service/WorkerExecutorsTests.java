@@ -0,0 +1,41 @@
+package com.resumescreener.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkerExecutorsTests {
+
+	@Test
+	void virtualModeRunsEveryTaskButNeverMoreThanTheLimitAtOnce() throws Exception {
+		// On Java 21 the tasks get virtual threads behind a semaphore; before that a fixed pool
+		ExecutorService executor = WorkerExecutors.newExecutor("test-", 3, true);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+		List<Future<Integer>> futures = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			int task = i;
+			futures.add(executor.submit(() -> {
+				peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+				Thread.sleep(5);
+				running.decrementAndGet();
+				return task;
+			}));
+		}
+		for (int i = 0; i < futures.size(); i++) {
+			assertEquals(Integer.valueOf(i), futures.get(i).get(5, TimeUnit.SECONDS));
+		}
+		assertTrue(peak.get() <= 3, "peak " + peak.get());
+
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+	}
+}